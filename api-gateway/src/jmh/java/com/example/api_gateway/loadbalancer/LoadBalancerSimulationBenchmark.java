@@ -0,0 +1,150 @@
+package com.example.api_gateway.loadbalancer;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a service of ten instances, some of them ten times slower than the others, and compares round robin
+ * with the {@link PeakEwmaLoadBalancer}.
+ * <p>
+ * Time is simulated: each operation is one request arriving 100µs after the previous one, whose latency is drawn
+ * from the instance it is sent to (5ms for a fast instance, 50ms for a slow one, ±50%). Completions are fed back to
+ * the {@link InstanceLatencyStats} as the {@link PeakEwmaLoadBalancerLifecycle} would. The measured time is the cost
+ * of one simulated request; the outcome is reported by the {@code slowRequests} counter: the requests sent to a
+ * slow instance, out of {@code requests}.
+ * </p>
+ * <p>
+ * Round robin sends each slow instance its full share. Peak-EWMA starves a slow instance down to the requests for
+ * which both random candidates are slow, plus the probes made as its average decays.
+ * </p>
+ * <p>
+ * Built only with the {@code benchmarks} profile, which adds {@code src/jmh/java} and JMH to the test classpath:
+ * </p>
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LoadBalancerSimulationBenchmark {
+
+    private static final int INSTANCES = 10;
+    private static final long ARRIVAL_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long FAST_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Param({"roundRobin", "peakEwma"})
+    public String strategy;
+
+    @Param({"1", "3"})
+    public int slowInstances;
+
+    private List<ServiceInstance> instances;
+    private Set<ServiceInstance> slow;
+    private InstanceLatencyStats stats;
+    private PeakEwmaLoadBalancer loadBalancer;
+    private PriorityQueue<Completion> completions;
+    private SplittableRandom random;
+    private long now;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instances = new ArrayList<>(INSTANCES);
+        for (int i = 0; i < INSTANCES; i++) {
+            instances.add(new DefaultServiceInstance("instance-" + i, "simulated-service", "10.0.0." + i, 8080, false));
+        }
+        slow = Set.copyOf(instances.subList(0, slowInstances));
+
+        stats = new InstanceLatencyStats(Duration.ofSeconds(10), Duration.ofMillis(20), Duration.ofSeconds(1));
+        loadBalancer = new PeakEwmaLoadBalancer(emptyProvider(), "simulated-service", stats);
+        completions = new PriorityQueue<>();
+        random = new SplittableRandom(42);
+        now = System.nanoTime();
+    }
+
+    @Benchmark
+    public ServiceInstance request(Outcome outcome) {
+        now += ARRIVAL_INTERVAL_NANOS;
+        while (!completions.isEmpty() && completions.peek().at - now <= 0) {
+            Completion completion = completions.poll();
+            stats.of(completion.instance).release();
+            stats.observe(completion.instance, completion.rtt, false, completion.at);
+        }
+
+        ServiceInstance instance = "peakEwma".equals(strategy)
+                ? loadBalancer.choose(instances, now)
+                : instances.get(next++ % INSTANCES);
+
+        boolean slowInstance = slow.contains(instance);
+        long base = slowInstance ? SLOW_LATENCY_NANOS : FAST_LATENCY_NANOS;
+        long rtt = base / 2 + random.nextLong(base);
+        stats.of(instance).start();
+        completions.add(new Completion(now + rtt, instance, rtt));
+
+        outcome.requests++;
+        if (slowInstance) outcome.slowRequests++;
+        return instance;
+    }
+
+    /**
+     * The outcome of the simulated requests of one iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long requests;
+        public long slowRequests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            slowRequests = 0;
+        }
+    }
+
+    private record Completion(long at, ServiceInstance instance, long rtt) implements Comparable<Completion> {
+        @Override
+        public int compareTo(Completion other) {
+            return Long.compare(at, other.at);
+        }
+    }
+
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return new ObjectProvider<>() {
+            @Override
+            public T getObject(Object... args) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public T getIfAvailable() {
+                return null;
+            }
+
+            @Override
+            public T getIfUnique() {
+                return null;
+            }
+
+            @Override
+            public T getObject() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
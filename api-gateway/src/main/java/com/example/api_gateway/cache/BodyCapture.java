@@ -0,0 +1,104 @@
+package com.example.api_gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Captures a response body of bounded size while it is written, without holding back larger bodies.
+ * <p>
+ * Buffers are held until the body completes or grows past the limit. A body that fits is handed to the
+ * {@code onCaptured} function as bytes, which returns what to write instead (the same bytes, or nothing for a 304).
+ * A body that grows past the limit is passed through as it arrives: {@code onOverflow} runs, the held buffers are
+ * written, and the rest of the body streams without being held. At most {@code maxBytes} plus one buffer are ever
+ * held, whether or not the response announced its length.
+ * </p>
+ */
+public final class BodyCapture {
+
+    private BodyCapture() {
+    }
+
+    /**
+     * @param body       the body being written
+     * @param maxBytes   the largest body captured
+     * @param onCaptured receives the whole body once it completed within the limit; returns the body to write
+     * @return the body to write in place of the given one
+     */
+    public static Flux<DataBuffer> capture(Publisher<? extends DataBuffer> body, long maxBytes,
+                                           Function<byte[], Publisher<? extends DataBuffer>> onCaptured) {
+        return capture(body, maxBytes, onCaptured, () -> {
+        });
+    }
+
+    /**
+     * @param body       the body being written
+     * @param maxBytes   the largest body captured
+     * @param onCaptured receives the whole body once it completed within the limit; returns the body to write
+     * @param onOverflow runs once if the body grows past the limit
+     * @return the body to write in place of the given one
+     */
+    public static Flux<DataBuffer> capture(Publisher<? extends DataBuffer> body, long maxBytes,
+                                           Function<byte[], Publisher<? extends DataBuffer>> onCaptured,
+                                           Runnable onOverflow) {
+        return Flux.defer(() -> {
+            Held held = new Held();
+            return Flux.<DataBuffer>from(body)
+                    .concatMap(buffer -> held.offer(buffer, maxBytes, onOverflow))
+                    .concatWith(Flux.defer(() -> held.overflowed ? Flux.empty() : Flux.from(onCaptured.apply(held.drainBytes()))))
+                    .doFinally(signal -> held.release())
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    /**
+     * The buffers held for one body; signals of a body are serialized, its cancellation may not be.
+     */
+    private static final class Held {
+        private final List<DataBuffer> buffers = new ArrayList<>();
+        private long size;
+        private boolean overflowed;
+
+        synchronized Flux<DataBuffer> offer(DataBuffer buffer, long maxBytes, Runnable onOverflow) {
+            if (overflowed) {
+                return Flux.just(buffer);
+            }
+
+            buffers.add(buffer);
+            size += buffer.readableByteCount();
+            if (size <= maxBytes) {
+                return Flux.empty();
+            }
+
+            overflowed = true;
+            onOverflow.run();
+            List<DataBuffer> released = new ArrayList<>(buffers);
+            buffers.clear();
+            return Flux.fromIterable(released);
+        }
+
+        synchronized byte[] drainBytes() {
+            byte[] bytes = new byte[(int) size];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+                DataBufferUtils.release(buffer);
+            }
+            buffers.clear();
+            return bytes;
+        }
+
+        synchronized void release() {
+            buffers.forEach(DataBufferUtils::release);
+            buffers.clear();
+        }
+    }
+}
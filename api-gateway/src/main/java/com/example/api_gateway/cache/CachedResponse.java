@@ -0,0 +1,139 @@
+package com.example.api_gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A response stored by the {@link ResponseCacheGlobalFilter}.
+ * <p>
+ * The response is fresh until {@link #freshUntil()} and may then be served stale, while it is being revalidated,
+ * until {@link #staleUntil()} (both in {@link System#nanoTime()} units). The body and headers are never modified
+ * once stored.
+ * </p>
+ * <p>
+ * A response carrying {@code Vary} keeps the values the request had for the headers it names, and is only served
+ * to requests with the same values.
+ * </p>
+ */
+final class CachedResponse {
+
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private final boolean upstreamEtag;
+    private final boolean isPublic;
+    private final Map<String, List<String>> varied;
+    private final long storedAt;
+    private final long freshUntil;
+    private final long staleUntil;
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+
+    CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, boolean upstreamEtag,
+                   boolean isPublic, Map<String, List<String>> varied, long storedAt, long freshUntil, long staleUntil) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.etag = etag;
+        this.upstreamEtag = upstreamEtag;
+        this.isPublic = isPublic;
+        this.varied = varied;
+        this.storedAt = storedAt;
+        this.freshUntil = freshUntil;
+        this.staleUntil = staleUntil;
+    }
+
+    /**
+     * Returns a copy of this response that is fresh again, after the upstream confirmed it has not changed.
+     */
+    CachedResponse refreshed(long storedAt, long freshUntil, long staleUntil) {
+        return new CachedResponse(status, headers, body, etag, upstreamEtag, isPublic, varied, storedAt, freshUntil,
+                staleUntil);
+    }
+
+    boolean isFresh(long now) {
+        return now - freshUntil < 0;
+    }
+
+    boolean isServable(long now) {
+        return now - staleUntil < 0;
+    }
+
+    /**
+     * Claims the revalidation of this response, so that only one request triggers it.
+     *
+     * @return {@code true} if the caller must revalidate the response
+     */
+    boolean startRevalidation() {
+        return revalidating.compareAndSet(false, true);
+    }
+
+    void endRevalidation() {
+        revalidating.set(false);
+    }
+
+    int weight() {
+        return body.length + 256;
+    }
+
+    long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1_000_000_000L);
+    }
+
+    HttpStatusCode status() {
+        return status;
+    }
+
+    HttpHeaders headers() {
+        return headers;
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    String etag() {
+        return etag;
+    }
+
+    /**
+     * @return whether the ETag was sent by the upstream, and can therefore be used to revalidate with it
+     */
+    boolean hasUpstreamEtag() {
+        return upstreamEtag;
+    }
+
+    /**
+     * @return whether the upstream marked the response {@code public}, so that it may be served to credentialed requests
+     */
+    boolean isPublic() {
+        return isPublic;
+    }
+
+    /**
+     * @return the request headers named by the response's {@code Vary}, with the values they had when stored
+     */
+    Map<String, List<String>> varied() {
+        return varied;
+    }
+
+    /**
+     * @return whether the request has the same values as the stored response for the headers it varies on
+     */
+    boolean matchesVary(HttpHeaders requestHeaders) {
+        for (Map.Entry<String, List<String>> header : varied.entrySet()) {
+            if (!header.getValue().equals(requestHeaders.getOrEmpty(header.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long staleUntil() {
+        return staleUntil;
+    }
+}
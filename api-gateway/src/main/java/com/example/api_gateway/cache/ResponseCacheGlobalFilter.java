@@ -0,0 +1,498 @@
+package com.example.api_gateway.cache;
+
+import com.example.api_gateway.security.TokenValidationGlobalFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.rajugowda.jwt.validator.util.TokenExtractor;
+import com.rajugowda.jwt.validator.util.TokenType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the GET responses of the routes that opt in through their Consul metadata, in memory.
+ * <p>
+ * A service opts in by advertising {@code responseCacheTtl} (e.g. {@code 30s}) in its discovery metadata, and
+ * optionally {@code responseCacheStaleTtl}. Responses are keyed by route, path and query; a response carrying
+ * {@code Vary} is only served to requests with the same values for the headers it names, and is otherwise replaced
+ * by the variant fetched for the new request. Only responses the
+ * service explicitly marks as cacheable are stored: a 200 without {@code Set-Cookie}, whose {@code Cache-Control}
+ * carries {@code public}, {@code s-maxage} or {@code max-age}, and none of {@code no-store}, {@code no-cache} or
+ * {@code private}. The TTL of the route is capped by the response's {@code s-maxage} or {@code max-age}, and its
+ * {@code stale-while-revalidate} takes precedence over the route's stale TTL. Bodies larger than
+ * {@code max-entry-bytes} stream through without being held.
+ * </p>
+ * <p>
+ * Requests carrying credentials (an {@code Authorization} header or the access token cookie) are only served
+ * from, and only stored in, the cache when the response is explicitly {@code public}.
+ * </p>
+ * <p>
+ * Cached responses carry an {@code ETag} (the service's own, or a hash of the body), so clients sending a
+ * matching {@code If-None-Match} get a 304. Once a response is no longer fresh, it is still served during its
+ * stale window while a single background request revalidates it with the service, conditionally when the
+ * service sent the ETag. The cache is bounded by the total size of the bodies it holds.
+ * </p>
+ * <p>
+ * Requests sent with {@code Cache-Control: no-cache} or {@code no-store} bypass the cache. Responses served from
+ * the cache, or just stored in it, carry an {@code X-Cache} header: {@code HIT}, {@code STALE} or {@code MISS}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "gateway.response-cache", name = "enabled", matchIfMissing = true)
+@Slf4j
+public class ResponseCacheGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final String TTL_METADATA = "responseCacheTtl";
+    public static final String STALE_TTL_METADATA = "responseCacheStaleTtl";
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+    public static final int ORDER = TokenValidationGlobalFilter.ORDER + 10;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final List<String> UNSTORED_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+            HttpHeaders.DATE, HttpHeaders.AGE, CACHE_STATUS_HEADER);
+
+    private final Cache<String, CachedResponse> cache;
+    private final WebClient webClient;
+    private final WebClient loadBalancedWebClient;
+    private final int maxEntryBytes;
+    private final Duration revalidationTimeout;
+    private final Map<String, Duration> metadataDurations = new ConcurrentHashMap<>();
+
+    public ResponseCacheGlobalFilter(WebClient.Builder webClientBuilder,
+                                     LoadBalancedExchangeFilterFunction loadBalancer,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     @Value("${gateway.response-cache.maximum-weight-bytes:67108864}") long maximumWeightBytes,
+                                     @Value("${gateway.response-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+                                     @Value("${gateway.response-cache.revalidation-timeout:5s}") Duration revalidationTimeout) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.revalidationTimeout = revalidationTimeout;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return Math.max(0, response.staleUntil() - System.nanoTime());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, response, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        WebClient.Builder builder = webClientBuilder.clone()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxEntryBytes));
+        this.webClient = builder.clone().build();
+        this.loadBalancedWebClient = builder.clone().filter(loadBalancer).build();
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "gateway.response.cache"));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || bypassesCache(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Policy policy = route != null ? policy(route) : null;
+        if (policy == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = route.getId() + ' ' + request.getURI().getRawPath() + '?' + request.getURI().getRawQuery();
+        boolean credentialed = hasCredentials(request.getHeaders());
+        long now = System.nanoTime();
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && (credentialed && !cached.isPublic() || !cached.matchesVary(request.getHeaders()))) {
+            cached = null;
+        }
+
+        if (cached != null && cached.isFresh(now)) {
+            return write(exchange, cached, now, "HIT");
+        }
+        if (cached != null && cached.isServable(now)) {
+            if (cached.startRevalidation()) {
+                revalidate(route, policy, key, request, cached);
+            }
+            return write(exchange, cached, now, "STALE");
+        }
+        return fetch(exchange, chain, policy, key, credentialed);
+    }
+
+    /**
+     * Forwards the request and stores the response if it is cacheable. Conditional headers are not forwarded, so
+     * that a full response is received and stored; the client's {@code If-None-Match} is then answered here.
+     */
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, Policy policy, String key,
+                             boolean credentialed) {
+        final HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        final String ifNoneMatch = requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH);
+
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                Freshness freshness = freshness(policy, getStatusCode(), getHeaders(), credentialed);
+                if (freshness == null || getHeaders().getContentLength() > maxEntryBytes) {
+                    return super.writeWith(body);
+                }
+
+                return super.writeWith(BodyCapture.capture(body, maxEntryBytes, bytes -> {
+                    long now = System.nanoTime();
+                    CachedResponse stored = store(key, requestHeaders, getStatusCode(), getHeaders(), bytes, freshness, now);
+                    getHeaders().setETag(stored.etag());
+                    getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                    if (matches(ifNoneMatch, stored.etag())) {
+                        setNotModified(getDelegate());
+                        return Mono.empty();
+                    }
+                    return Mono.fromSupplier(() -> bufferFactory().wrap(bytes));
+                }));
+            }
+        };
+
+        ServerWebExchange forwarded = exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                }))
+                .response(response)
+                .build();
+        return chain.filter(forwarded);
+    }
+
+    /**
+     * Refreshes a stale response in the background, while it keeps being served. The response stays stale if the
+     * service fails, and is dropped if the service answers with a client error (e.g. the resource was deleted).
+     */
+    private void revalidate(Route route, Policy policy, String key, ServerHttpRequest request, CachedResponse cached) {
+        URI uri = upstreamUri(route, request);
+        boolean loadBalanced = "lb".equals(route.getUri().getScheme());
+
+        // The variant being revalidated is selected by the request headers it was stored with
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.put(HttpHeaders.ACCEPT, request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+        cached.varied().forEach(requestHeaders::put);
+
+        (loadBalanced ? loadBalancedWebClient : webClient).get()
+                .uri(uri)
+                .headers(headers -> {
+                    headers.putAll(requestHeaders);
+                    if (cached.hasUpstreamEtag()) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    long now = System.nanoTime();
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        Freshness freshness = freshness(policy, cached.status(), cached.headers(), false);
+                        if (freshness != null) {
+                            cache.put(key, cached.refreshed(now, now + freshness.ttl().toNanos(),
+                                    now + freshness.ttl().toNanos() + freshness.staleTtl().toNanos()));
+                        }
+                        return response.releaseBody();
+                    }
+                    if (response.statusCode().is4xxClientError()) {
+                        cache.invalidate(key);
+                        return response.releaseBody();
+                    }
+
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    Freshness freshness = freshness(policy, response.statusCode(), headers, false);
+                    if (freshness == null) {
+                        return response.releaseBody();
+                    }
+                    return response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .doOnNext(body -> store(key, requestHeaders, response.statusCode(), headers, body, freshness, now))
+                            .then();
+                })
+                .timeout(revalidationTimeout)
+                .doFinally(signal -> cached.endRevalidation())
+                .subscribe(null, e -> log.warn("Failed to revalidate cached response of {}: {}", uri, e.getMessage()));
+    }
+
+    /**
+     * The routes built from the discovery catalog forward the request path unchanged, so the upstream is addressed
+     * with the path and query of the request.
+     */
+    private static URI upstreamUri(Route route, ServerHttpRequest request) {
+        URI routeUri = route.getUri();
+        return UriComponentsBuilder.fromUri(routeUri)
+                .scheme("lb".equals(routeUri.getScheme()) ? "http" : routeUri.getScheme())
+                .replacePath(request.getURI().getRawPath())
+                .replaceQuery(request.getURI().getRawQuery())
+                .build(true)
+                .toUri();
+    }
+
+    private CachedResponse store(String key, HttpHeaders requestHeaders, HttpStatusCode status,
+                                 HttpHeaders responseHeaders, byte[] body, Freshness freshness, long now) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(responseHeaders);
+        UNSTORED_HEADERS.forEach(headers::remove);
+        headers.setContentLength(body.length);
+
+        String upstreamEtag = responseHeaders.getETag();
+        String etag = upstreamEtag != null ? upstreamEtag : etagOf(body);
+        headers.setETag(etag);
+
+        long freshUntil = now + freshness.ttl().toNanos();
+        CachedResponse response = new CachedResponse(status, headers, body, etag, upstreamEtag != null,
+                freshness.isPublic(), varied(responseHeaders, requestHeaders), now, freshUntil, freshUntil + freshness.staleTtl().toNanos());
+        cache.put(key, response);
+        return response;
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, long now, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            setNotModified(response);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static void setNotModified(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+    }
+
+    /**
+     * Decides whether a response may be stored, and for how long. A response without an explicit {@code public},
+     * {@code s-maxage} or {@code max-age} is not stored, nor is a non-public response to a credentialed request.
+     *
+     * @return the freshness of the response, or {@code null} if it must not be stored
+     */
+    private static Freshness freshness(Policy policy, HttpStatusCode status, HttpHeaders headers, boolean credentialed) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        for (String vary : headers.getVary()) {
+            if (vary.equals("*") || vary.equalsIgnoreCase(HttpHeaders.COOKIE) || vary.equalsIgnoreCase(HttpHeaders.AUTHORIZATION)) {
+                return null;
+            }
+        }
+
+        CacheControl cacheControl = CacheControl.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl.noStore() || cacheControl.noCache() || cacheControl.isPrivate()) {
+            return null;
+        }
+
+        long maxAge = cacheControl.sharedMaxAge() >= 0 ? cacheControl.sharedMaxAge() : cacheControl.maxAge();
+        if (!cacheControl.isPublic() && (maxAge < 0 || credentialed)) {
+            return null;
+        }
+
+        Duration ttl = policy.ttl();
+        if (maxAge >= 0 && maxAge < ttl.toSeconds()) {
+            ttl = Duration.ofSeconds(maxAge);
+        }
+        if (ttl.isZero() || ttl.isNegative()) {
+            return null;
+        }
+
+        Duration staleTtl = cacheControl.staleWhileRevalidate() >= 0
+                ? Duration.ofSeconds(cacheControl.staleWhileRevalidate())
+                : policy.staleTtl();
+        return new Freshness(ttl, staleTtl, cacheControl.isPublic());
+    }
+
+    /**
+     * The values of the request headers named by the response's {@code Vary}, that a cached response is served for.
+     */
+    private static Map<String, List<String>> varied(HttpHeaders responseHeaders, HttpHeaders requestHeaders) {
+        List<String> vary = responseHeaders.getVary();
+        if (vary.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> varied = new HashMap<>();
+        for (String name : vary) {
+            varied.put(name.toLowerCase(), List.copyOf(requestHeaders.getOrEmpty(name)));
+        }
+        return Map.copyOf(varied);
+    }
+
+    /**
+     * @return whether the request carries credentials: an {@code Authorization} header or the access token cookie
+     */
+    public static boolean hasCredentials(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.AUTHORIZATION)
+                || TokenExtractor.findCookie(headers.get(HttpHeaders.COOKIE), TokenType.ACCESS.getAbbreviation()) != null;
+    }
+
+    private static boolean bypassesCache(HttpHeaders headers) {
+        CacheControl cacheControl = CacheControl.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        return cacheControl.noCache() || cacheControl.noStore()
+                || "no-cache".equalsIgnoreCase(headers.getFirst(HttpHeaders.PRAGMA));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + ENCODER.encodeToString(digest).substring(0, 22) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    /**
+     * Reads the cache policy of a route from its metadata; durations are parsed once per distinct value.
+     *
+     * @return the policy, or {@code null} if the route does not opt in
+     */
+    private Policy policy(Route route) {
+        Duration ttl = duration(route.getMetadata().get(TTL_METADATA));
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return null;
+        }
+        Duration staleTtl = duration(route.getMetadata().get(STALE_TTL_METADATA));
+        return new Policy(ttl, staleTtl != null ? staleTtl : Duration.ZERO);
+    }
+
+    private Duration duration(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return metadataDurations.computeIfAbsent(value.toString(), text -> {
+            try {
+                return DurationStyle.detectAndParse(text.trim());
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalid response cache duration '{}'.", text);
+                return Duration.ZERO;
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private record Policy(Duration ttl, Duration staleTtl) {
+    }
+
+    private record Freshness(Duration ttl, Duration staleTtl, boolean isPublic) {
+    }
+
+    /**
+     * The directives of a {@code Cache-Control} header relevant to a shared cache; absent ages are -1.
+     */
+    private record CacheControl(boolean noStore, boolean noCache, boolean isPrivate, boolean isPublic,
+                                long maxAge, long sharedMaxAge, long staleWhileRevalidate) {
+
+        private static final CacheControl NONE = new CacheControl(false, false, false, false, -1, -1, -1);
+
+        static CacheControl parse(List<String> values) {
+            if (values == null || values.isEmpty()) {
+                return NONE;
+            }
+
+            boolean noStore = false, noCache = false, isPrivate = false, isPublic = false;
+            long maxAge = -1, sharedMaxAge = -1, staleWhileRevalidate = -1;
+            for (String value : values) {
+                for (String directive : value.split(",")) {
+                    String name = directive.trim().toLowerCase();
+                    int separator = name.indexOf('=');
+                    String argument = separator < 0 ? null : name.substring(separator + 1).trim();
+                    if (separator >= 0) {
+                        name = name.substring(0, separator).trim();
+                    }
+
+                    switch (name) {
+                        case "no-store" -> noStore = true;
+                        case "no-cache" -> noCache = true;
+                        case "private" -> isPrivate = true;
+                        case "public" -> isPublic = true;
+                        case "max-age" -> maxAge = seconds(argument);
+                        case "s-maxage" -> sharedMaxAge = seconds(argument);
+                        case "stale-while-revalidate" -> staleWhileRevalidate = seconds(argument);
+                        default -> {
+                        }
+                    }
+                }
+            }
+            return new CacheControl(noStore, noCache, isPrivate, isPublic, maxAge, sharedMaxAge, staleWhileRevalidate);
+        }
+
+        private static long seconds(String argument) {
+            if (argument == null) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(argument.replace("\"", ""));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.api_gateway.coalescing;
+
+import com.example.api_gateway.cache.BodyCapture;
+import com.example.api_gateway.cache.ResponseCacheGlobalFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges concurrent identical GET requests into a single upstream call, whose response is fanned out to all of them.
+ * <p>
+ * A route opts in by advertising {@code coalesceRequests=true} in the discovery metadata of its service, which
+ * asserts that its GET responses do not depend on the caller. Requests are identical when they have the same route,
+ * path, query and {@code Accept} header; conditional and range requests are never merged. Nor are requests
+ * carrying credentials (an {@code Authorization} header or the access token cookie): the response to one caller's
+ * credentials is never handed to another caller.
+ * </p>
+ * <p>
+ * The first request (the leader) is forwarded; requests arriving while it is in flight (the followers) wait for its
+ * response. Safeguards:
+ * </p>
+ * <ul>
+ *   <li>At most {@code max-waiters} followers wait on one leader; any more are forwarded on their own.</li>
+ *   <li>Only 2xx responses up to {@code max-response-bytes}, without {@code Set-Cookie} and not marked
+ *   {@code Cache-Control: no-store} or {@code private} are shared; a service marks its live reads {@code no-store}. Otherwise, or
+ *   when the leader fails or is cancelled, the followers are forwarded on their own. A larger body streams through
+ *   to the leader as soon as it crosses the limit, instead of being collected first.</li>
+ * </ul>
+ * <p>
+ * {@code gateway.request.coalescing} counts the requests by {@code role} (leader, follower, overflow, fallback), and
+ * {@code gateway.request.coalescing.saved.bytes} the response bytes served to followers without an upstream call.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "gateway.request-coalescing", name = "enabled", matchIfMissing = true)
+public class RequestCoalescingGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final String COALESCE_METADATA = "coalesceRequests";
+    public static final int ORDER = ResponseCacheGlobalFilter.ORDER + 10;
+
+    private static final SharedResponse FALLBACK = new SharedResponse(null, null, null);
+    private static final List<String> UNSHARED_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION);
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final int maxWaiters;
+    private final int maxResponseBytes;
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    public RequestCoalescingGlobalFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                         @Value("${gateway.request-coalescing.max-waiters:1000}") int maxWaiters,
+                                         @Value("${gateway.request-coalescing.max-response-bytes:1048576}") int maxResponseBytes) {
+        this.maxWaiters = maxWaiters;
+        this.maxResponseBytes = maxResponseBytes;
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (request.getMethod() != HttpMethod.GET || route == null || !coalesces(route)
+                || isConditional(request.getHeaders()) || ResponseCacheGlobalFilter.hasCredentials(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+
+        String key = route.getId() + ' ' + request.getURI().getRawPath() + '?' + request.getURI().getRawQuery()
+                + ' ' + request.getHeaders().getAccept();
+
+        InFlight created = new InFlight();
+        InFlight existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            leaders.increment();
+            return lead(exchange, chain, key, created);
+        }
+
+        if (existing.waiters.incrementAndGet() > maxWaiters) {
+            overflows.increment();
+            return chain.filter(exchange);
+        }
+        followers.increment();
+        return existing.response.asMono().flatMap(shared -> {
+            if (shared == FALLBACK) {
+                fallbacks.increment();
+                return chain.filter(exchange);
+            }
+            savedBytes.add(shared.body().length);
+            return write(exchange.getResponse(), shared);
+        });
+    }
+
+    /**
+     * Forwards the request, capturing its response for the followers. The followers are released as soon as the
+     * response is captured, or fall back once the leader completes in any other way.
+     */
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, InFlight flight) {
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status == null || !status.is2xxSuccessful()
+                        || getHeaders().containsKey(HttpHeaders.SET_COOKIE)
+                        || isUnshareable(getHeaders().getCacheControl())
+                        || getHeaders().getContentLength() > maxResponseBytes) {
+                    release(key, flight, FALLBACK);
+                    return super.writeWith(body);
+                }
+
+                return super.writeWith(BodyCapture.capture(body, maxResponseBytes, bytes -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.putAll(getHeaders());
+                    UNSHARED_HEADERS.forEach(headers::remove);
+                    release(key, flight, new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), bytes));
+                    return Mono.fromSupplier(() -> bufferFactory().wrap(bytes));
+                }, () -> release(key, flight, FALLBACK)));
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> release(key, flight, FALLBACK));
+    }
+
+    /**
+     * Stops new requests from joining the flight, then hands its outcome to the followers already waiting.
+     * Only the first outcome is delivered.
+     */
+    private void release(String key, InFlight flight, SharedResponse outcome) {
+        inFlight.remove(key, flight);
+        flight.response.tryEmitValue(outcome);
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static boolean coalesces(Route route) {
+        Object value = route.getMetadata().get(COALESCE_METADATA);
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    private static boolean isUnshareable(String cacheControl) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String name = directive.trim();
+            if (name.equalsIgnoreCase("no-store") || name.equalsIgnoreCase("private")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConditional(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH)
+                || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)
+                || headers.containsKey(HttpHeaders.RANGE);
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        counter(registry, "leader", leaders);
+        counter(registry, "follower", followers);
+        counter(registry, "overflow", overflows);
+        counter(registry, "fallback", fallbacks);
+        FunctionCounter.builder("gateway.request.coalescing.saved.bytes", savedBytes, LongAdder::sum)
+                .description("Response bytes served to coalesced requests without an upstream call")
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String role, LongAdder count) {
+        FunctionCounter.builder("gateway.request.coalescing", count, LongAdder::sum)
+                .tag("role", role)
+                .register(registry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * An upstream call in flight, and the followers waiting for its response.
+     */
+    private static final class InFlight {
+        private final Sinks.One<SharedResponse> response = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    /**
+     * A response captured from the leader; its body and headers are shared by all followers and never modified.
+     */
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+}
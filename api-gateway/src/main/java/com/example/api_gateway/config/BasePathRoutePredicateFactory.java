@@ -0,0 +1,75 @@
+package com.example.api_gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.handler.predicate.AbstractRoutePredicateFactory;
+import org.springframework.cloud.gateway.handler.predicate.GatewayPredicate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The {@code BasePath} predicate of the routes built by {@link DynamicRouteDefinitionLocator}.
+ * <p>
+ * Instead of each route matching its own {@code Path} pattern against the request, the request path is looked up
+ * once in the {@link BasePathTrie} of all base paths, and the result is kept in the exchange. Every route's
+ * predicate then only compares its base path with that result. Routing therefore costs one trie lookup plus a
+ * string comparison per route, no matter how many base paths are registered.
+ * </p>
+ */
+@Component
+public class BasePathRoutePredicateFactory extends AbstractRoutePredicateFactory<BasePathRoutePredicateFactory.Config> {
+
+    public static final String NAME = "BasePath";
+    private static final String MATCHED_BASE_PATH_ATTRIBUTE = BasePathRoutePredicateFactory.class.getName() + ".match";
+    private static final String NO_MATCH = "";
+
+    private final DynamicRouteDefinitionLocator routeDefinitionLocator;
+
+    public BasePathRoutePredicateFactory(DynamicRouteDefinitionLocator routeDefinitionLocator) {
+        super(Config.class);
+        this.routeDefinitionLocator = routeDefinitionLocator;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("basePath");
+    }
+
+    @Override
+    public Predicate<ServerWebExchange> apply(Config config) {
+        final String basePath = config.getBasePath();
+        return new GatewayPredicate() {
+            @Override
+            public boolean test(ServerWebExchange exchange) {
+                return basePath.equals(matchedBasePath(exchange));
+            }
+
+            @Override
+            public Object getConfig() {
+                return config;
+            }
+
+            @Override
+            public String toString() {
+                return String.format("BasePath: %s", basePath);
+            }
+        };
+    }
+
+    private String matchedBasePath(ServerWebExchange exchange) {
+        return exchange.getAttributes().computeIfAbsent(MATCHED_BASE_PATH_ATTRIBUTE, key -> {
+            String path = exchange.getRequest().getPath().pathWithinApplication().value();
+            String match = routeDefinitionLocator.matchBasePath(path);
+            return match != null ? match : NO_MATCH;
+        }).toString();
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private String basePath;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.api_gateway.config;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable trie of base paths, keyed by path segment, that finds the base path a request path falls under.
+ * <p>
+ * A base path {@code /api/v1/products} matches {@code /api/v1/products} and everything below it, like the
+ * {@code Path=/api/v1/products/**} predicate it replaces. When base paths are nested, the longest one wins.
+ * A lookup walks the segments of the request path once, however many base paths are registered.
+ * </p>
+ */
+public class BasePathTrie {
+
+    public static final BasePathTrie EMPTY = new BasePathTrie(new Node());
+
+    private final Node root;
+
+    private BasePathTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds a trie of the given base paths.
+     *
+     * @param basePaths the base paths, each starting with a slash
+     * @return a new trie
+     */
+    public static BasePathTrie of(Collection<String> basePaths) {
+        Node root = new Node();
+        for (String basePath : basePaths) {
+            Node node = root;
+            int start = 0;
+            int end;
+            while ((end = nextSegment(basePath, start)) >= 0) {
+                int segmentStart = skipSlashes(basePath, start);
+                node = node.children.computeIfAbsent(basePath.substring(segmentStart, end), segment -> new Node());
+                start = end;
+            }
+            node.basePath = basePath;
+        }
+        return new BasePathTrie(root);
+    }
+
+    /**
+     * Finds the longest base path the given request path falls under.
+     *
+     * @param path the request path
+     * @return the matching base path, or {@code null} if none matches
+     */
+    public String match(String path) {
+        Node node = root;
+        String match = node.basePath;
+        int start = 0;
+        int end;
+        while ((end = nextSegment(path, start)) >= 0) {
+            node = node.children.get(path.substring(skipSlashes(path, start), end));
+            if (node == null) {
+                break;
+            }
+            if (node.basePath != null) {
+                match = node.basePath;
+            }
+            start = end;
+        }
+        return match;
+    }
+
+    /**
+     * @return the end of the next non-empty segment starting at or after {@code start}, or -1 if there is none
+     */
+    private static int nextSegment(String path, int start) {
+        int segmentStart = skipSlashes(path, start);
+        if (segmentStart >= path.length()) {
+            return -1;
+        }
+        int end = path.indexOf('/', segmentStart);
+        return end < 0 ? path.length() : end;
+    }
+
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private String basePath;
+    }
+}
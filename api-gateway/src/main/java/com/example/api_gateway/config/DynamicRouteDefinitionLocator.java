@@ -1,73 +1,242 @@
 package com.example.api_gateway.config;
 
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
 import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
-import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteDefinition;
 import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import reactor.core.publisher.Flux;
 
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
+/**
+ * Builds one route per {@code basePath} advertised in the Consul metadata of the services.
+ * <p>
+ * Routes are built once per service and base path, whatever the number of instances, and carry the merged
+ * metadata of the instances. They match requests through the {@link BasePathRoutePredicateFactory BasePath}
+ * predicate, backed by a {@link BasePathTrie} of all base paths.
+ * </p>
+ * <p>
+ * Route definitions are computed once and kept as an immutable snapshot, which {@link #getRouteDefinitions()}
+ * replays without touching the {@link DiscoveryClient}. The snapshot is rebuilt only when Consul's catalog
+ * changes: the Consul catalog watch long-polls the catalog index on its own scheduler thread and publishes a
+ * {@link HeartbeatEvent} carrying the new index, upon which the (blocking) discovery calls are made on that thread.
+ * </p>
+ * <p>
+ * The new definitions are diffed against the snapshot: definitions that did not change keep their identity, and
+ * a {@link RefreshRoutesEvent} is only published when a route was added, removed or changed.
+ * </p>
+ */
 @Configuration
 @Slf4j
-@AllArgsConstructor
 public class DynamicRouteDefinitionLocator implements RouteDefinitionLocator {
 
+    private static final String BASE_PATH_METADATA = "basePath";
+
     private final DiscoveryClient discoveryClient;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Object rebuildLock = new Object();
+    private volatile RouteSnapshot snapshot = RouteSnapshot.EMPTY;
+
+    public DynamicRouteDefinitionLocator(DiscoveryClient discoveryClient, ApplicationEventPublisher eventPublisher) {
+        this.discoveryClient = discoveryClient;
+        this.eventPublisher = eventPublisher;
+    }
 
     @Override
     public Flux<RouteDefinition> getRouteDefinitions() {
+        return Flux.defer(() -> Flux.fromIterable(snapshot.routeDefinitions()));
+    }
+
+    /**
+     * Finds the base path of the current routes that the given request path falls under.
+     *
+     * @param path the request path
+     * @return the longest matching base path, or {@code null} if the path matches no route
+     */
+    public String matchBasePath(String path) {
+        return snapshot.basePaths().match(path);
+    }
+
+    /**
+     * Builds the first snapshot at startup, so that routes are served before the catalog watch first reports.
+     */
+    @PostConstruct
+    void loadInitialRoutes() {
+        rebuild(null);
+    }
+
+    /**
+     * Rebuilds the snapshot when the catalog index reported by the Consul catalog watch has changed.
+     */
+    @EventListener
+    public void onCatalogChange(HeartbeatEvent event) {
+        Object catalogIndex = event.getValue();
+        if (catalogIndex != null && catalogIndex.equals(snapshot.catalogIndex())) {
+            return;
+        }
+
+        if (rebuild(catalogIndex)) {
+            eventPublisher.publishEvent(new RefreshRoutesEvent(this));
+        }
+    }
+
+    /**
+     * @return whether the routes changed
+     */
+    private boolean rebuild(Object catalogIndex) {
+        synchronized (rebuildLock) {
+            RouteSnapshot current = snapshot;
+
+            List<RouteDefinition> discovered;
+            try {
+                discovered = discoverRouteDefinitions();
+            } catch (RuntimeException e) {
+                log.error("Failed to discover routes, keeping the {} current route(s): {}",
+                        current.routeDefinitions().size(), e.getMessage());
+                return false;
+            }
+
+            Map<String, RouteDefinition> previous = new LinkedHashMap<>();
+            current.routeDefinitions().forEach(definition -> previous.put(definition.getId(), definition));
+
+            List<RouteDefinition> next = new ArrayList<>(discovered.size());
+            int added = 0;
+            int changed = 0;
+            for (RouteDefinition definition : discovered) {
+                RouteDefinition existing = previous.remove(definition.getId());
+                if (existing == null) {
+                    added++;
+                    next.add(definition);
+                } else if (existing.equals(definition)) {
+                    next.add(existing);
+                } else {
+                    changed++;
+                    next.add(definition);
+                }
+            }
+            int removed = previous.size();
+
+            snapshot = new RouteSnapshot(catalogIndex, List.copyOf(next), basePathTrie(next));
+            boolean modified = added + changed + removed > 0;
+            if (modified) {
+                log.info("Routes updated (catalog index: {}): {} added, {} changed, {} removed, {} total.",
+                        catalogIndex, added, changed, removed, next.size());
+            }
+            return modified;
+        }
+    }
+
+    /**
+     * Builds the routes of every service once, from the metadata of all its instances merged together.
+     * A base path advertised by several services is routed to the first one, in service id order.
+     */
+    private List<RouteDefinition> discoverRouteDefinitions() {
         List<RouteDefinition> routeDefinitions = new ArrayList<>();
+        Map<String, String> serviceByBasePath = new HashMap<>();
 
-        discoveryClient.getServices().forEach(serviceId -> {
+        List<String> serviceIds = new ArrayList<>(discoveryClient.getServices());
+        Collections.sort(serviceIds);
+
+        for (String serviceId : serviceIds) {
             log.debug("Found Service with ID: {}", serviceId);
             List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
-            if (instances.isEmpty()) return;
+            if (instances.isEmpty()) continue;
 
-            instances.forEach(instance -> {
-                Map<String, String> metadata = instance.getMetadata();
-                String basePath = metadata != null ? metadata.get("basePath") : null;
+            MergedService service = merge(serviceId, instances);
+            for (String path : service.basePaths()) {
+                String owner = serviceByBasePath.putIfAbsent(path, serviceId);
+                if (owner != null) {
+                    log.warn("Base path '{}' is advertised by both '{}' and '{}'; routing it to '{}'.",
+                            path, owner, serviceId, owner);
+                    continue;
+                }
+                routeDefinitions.add(buildRouteDefinition(serviceId, path, service.metadata()));
+            }
+            log.debug("Registered {} route(s) for service '{}': {}", service.basePaths().size(), serviceId, service.basePaths());
+        }
 
-                buildRouteDefinition(serviceId, basePath, routeDefinitions);
+        return routeDefinitions;
+    }
+
+    /**
+     * Merges the metadata of the instances of a service.
+     * <p>
+     * Instances normally agree; they may not during a rolling deployment. Differing base paths are reported and
+     * their union is routed. Any other differing metadata is reported and the value held by most instances is kept.
+     * </p>
+     */
+    private static MergedService merge(String serviceId, List<ServiceInstance> instances) {
+        Map<Set<String>, Integer> basePathVariants = new LinkedHashMap<>();
+        Map<String, Map<String, Integer>> metadataValues = new TreeMap<>();
+
+        for (ServiceInstance instance : instances) {
+            Map<String, String> metadata = instance.getMetadata() != null ? instance.getMetadata() : Map.of();
+            basePathVariants.merge(parseBasePaths(metadata.get(BASE_PATH_METADATA)), 1, Integer::sum);
+            metadata.forEach((key, value) -> {
+                if (!BASE_PATH_METADATA.equals(key) && value != null) {
+                    metadataValues.computeIfAbsent(key, k -> new TreeMap<>()).merge(value, 1, Integer::sum);
+                }
             });
+        }
+
+        Set<String> basePaths = new TreeSet<>();
+        basePathVariants.keySet().forEach(basePaths::addAll);
+        if (basePathVariants.size() > 1) {
+            log.warn("Instances of '{}' advertise different base paths (base paths=instances: {}); routing all of {}.",
+                    serviceId, basePathVariants, basePaths);
+        }
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadataValues.forEach((key, values) -> {
+            String value = Collections.max(values.entrySet(), Map.Entry.comparingByValue()).getKey();
+            if (values.size() > 1) {
+                log.warn("Instances of '{}' disagree on metadata '{}' (value=instances: {}); using '{}'.",
+                        serviceId, key, values, value);
+            }
+            metadata.put(key, value);
         });
 
-        return Flux.fromIterable(routeDefinitions);
+        return new MergedService(basePaths, metadata);
     }
 
-    private static void buildRouteDefinition(String serviceId, String basePath, List<RouteDefinition> routeDefinitions) {
+    private static Set<String> parseBasePaths(String basePath) {
+        Set<String> paths = new TreeSet<>();
         if (basePath != null && !basePath.isBlank()) {
-            String[] paths = basePath.split(";");
-
-            for (String rawPath : paths) {
+            for (String rawPath : basePath.split(";")) {
                 var path = sanitize(rawPath);
-
-                if (path == null) continue;
-
-                var routeDefinition = buildRouteDefinition(serviceId, path);
-                routeDefinitions.add(routeDefinition);
+                if (path != null) paths.add(path);
             }
-            log.debug("Registered {} route(s) for service '{}': {}", paths.length, serviceId, Arrays.toString(paths));
         }
+        return paths;
     }
 
-    private static RouteDefinition buildRouteDefinition(String serviceId, String path) {
+    private static RouteDefinition buildRouteDefinition(String serviceId, String path, Map<String, Object> metadata) {
         RouteDefinition routeDefinition = new RouteDefinition();
         routeDefinition.setId(serviceId + "-" + path.replaceAll("[^a-zA-Z0-9\\-]", "_"));
         routeDefinition.setUri(URI.create("lb://" + serviceId));
+        routeDefinition.setMetadata(metadata);
 
         PredicateDefinition predicate = new PredicateDefinition();
-        predicate.setName("Path");
-        predicate.addArg("_genkey_0", path + "/**");
+        predicate.setName(BasePathRoutePredicateFactory.NAME);
+        predicate.addArg("_genkey_0", path);
 
         routeDefinition.setPredicates(List.of(predicate));
         log.debug("Route Definition built for {} at base path {}", serviceId, path);
@@ -76,10 +245,29 @@ public class DynamicRouteDefinitionLocator implements RouteDefinitionLocator {
 
     private static String sanitize(String rawPath) {
         String path = rawPath.trim();
+        if (path.endsWith("/**")) path = path.substring(0, path.length() - 3);
+        while (path.endsWith("/")) path = path.substring(0, path.length() - 1);
         if (path.isEmpty()) return null;
 
         if (!path.startsWith("/")) path = "/" + path; // Ensure slash prefix
         return path;
     }
 
+    private static BasePathTrie basePathTrie(List<RouteDefinition> routeDefinitions) {
+        return BasePathTrie.of(routeDefinitions.stream()
+                .flatMap(definition -> definition.getPredicates().stream())
+                .filter(predicate -> BasePathRoutePredicateFactory.NAME.equals(predicate.getName()))
+                .map(predicate -> predicate.getArgs().get("_genkey_0"))
+                .toList());
+    }
+
+    /**
+     * The route definitions built from the catalog at the given index, and the trie of their base paths.
+     */
+    private record RouteSnapshot(Object catalogIndex, List<RouteDefinition> routeDefinitions, BasePathTrie basePaths) {
+        static final RouteSnapshot EMPTY = new RouteSnapshot(null, List.of(), BasePathTrie.EMPTY);
+    }
+
+    private record MergedService(Set<String> basePaths, Map<String, Object> metadata) {
+    }
 }
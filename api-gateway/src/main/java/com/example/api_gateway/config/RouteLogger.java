@@ -54,8 +54,10 @@ public class RouteLogger {
 
     private static String getPath(RouteDefinition def) {
         return def.getPredicates().stream()
-                .filter(p -> p.getName().equals("Path"))
-                .map(p -> p.getArgs().getOrDefault("_genkey_0", "N/A"))
+                .filter(p -> p.getName().equals("Path") || p.getName().equals(BasePathRoutePredicateFactory.NAME))
+                .map(p -> p.getName().equals("Path")
+                        ? p.getArgs().getOrDefault("_genkey_0", "N/A")
+                        : p.getArgs().getOrDefault("_genkey_0", "N/A") + "/**")
                 .findFirst()
                 .orElse("N/A");
     }
@@ -0,0 +1,53 @@
+package com.example.api_gateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+
+/**
+ * The {@link PeakEwma} of every service instance the gateway forwards to, shared by the load balancers of all
+ * services and fed by the {@link PeakEwmaLoadBalancerLifecycle}.
+ * <p>
+ * Instances that have not been picked for a while, typically because they were deregistered, are forgotten.
+ * </p>
+ */
+public class InstanceLatencyStats {
+
+    private final Cache<String, PeakEwma> stats;
+    private final long decayNanos;
+    private final long defaultRttNanos;
+    private final long failurePenaltyNanos;
+
+    /**
+     * @param decay          time constant of the latency averages
+     * @param defaultRtt     latency assumed for an instance until its first response
+     * @param failurePenalty latency recorded, at least, for a failed request or a 5xx response
+     */
+    public InstanceLatencyStats(Duration decay, Duration defaultRtt, Duration failurePenalty) {
+        this.decayNanos = decay.toNanos();
+        this.defaultRttNanos = defaultRtt.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.stats = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public PeakEwma of(ServiceInstance instance) {
+        return stats.get(key(instance), key -> new PeakEwma(decayNanos, defaultRttNanos));
+    }
+
+    /**
+     * Records the latency of a request; failures count as at least the failure penalty, so that an instance
+     * failing fast does not attract more traffic.
+     */
+    public void observe(ServiceInstance instance, long rttNanos, boolean failed, long nowNanos) {
+        of(instance).observe(failed ? Math.max(rttNanos, failurePenaltyNanos) : rttNanos, nowNanos);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + '/'
+                + (instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ':' + instance.getPort());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.api_gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Replaces the default round-robin load balancing of {@code lb://} routes with the latency-aware
+ * {@link PeakEwmaLoadBalancer}, for every service.
+ * <p>
+ * Disable with {@code gateway.load-balancer.peak-ewma.enabled=false} to fall back to round robin.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.load-balancer.peak-ewma", name = "enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerClientConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    InstanceLatencyStats instanceLatencyStats(
+            @Value("${gateway.load-balancer.peak-ewma.decay:10s}") Duration decay,
+            @Value("${gateway.load-balancer.peak-ewma.default-rtt:20ms}") Duration defaultRtt,
+            @Value("${gateway.load-balancer.peak-ewma.failure-penalty:1s}") Duration failurePenalty) {
+        return new InstanceLatencyStats(decay, defaultRtt, failurePenalty);
+    }
+
+    @Bean
+    PeakEwmaLoadBalancerLifecycle peakEwmaLoadBalancerLifecycle(
+            InstanceLatencyStats instanceLatencyStats,
+            @Value("${gateway.load-balancer.peak-ewma.in-flight-timeout:60s}") Duration inFlightTimeout) {
+        return new PeakEwmaLoadBalancerLifecycle(instanceLatencyStats, inFlightTimeout);
+    }
+}
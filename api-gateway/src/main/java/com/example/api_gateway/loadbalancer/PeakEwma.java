@@ -0,0 +1,80 @@
+package com.example.api_gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The load of one service instance: a peak-sensitive moving average of its latency, and its in-flight requests.
+ * <p>
+ * A latency above the average replaces it at once, while lower latencies only pull it down gradually, so a
+ * slowing instance is avoided immediately and trusted again slowly. Between observations the average decays
+ * towards zero, so an instance that stopped receiving traffic is probed again after a while.
+ * </p>
+ * <p>
+ * The {@link #cost(long) cost} of an instance is its average latency multiplied by its in-flight requests plus one:
+ * an instance that is twice as slow, or serving twice as many requests, costs twice as much.
+ * </p>
+ */
+public class PeakEwma {
+
+    private final double decayNanos;
+    private final double defaultRttNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /* guarded by this */
+    private double ewmaNanos;
+    private long stampNanos;
+    private boolean observed;
+
+    /**
+     * @param decayNanos      time constant of the moving average, in nanoseconds
+     * @param defaultRttNanos latency assumed for an instance until its first observation, in nanoseconds
+     */
+    public PeakEwma(long decayNanos, long defaultRttNanos) {
+        this.decayNanos = decayNanos;
+        this.defaultRttNanos = defaultRttNanos;
+    }
+
+    public void start() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Ends an in-flight request, without an observation of its latency.
+     * Never brings the in-flight requests below zero, in case a request is released twice.
+     */
+    public void release() {
+        inFlight.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Records the latency of a request into the moving average.
+     *
+     * @param rttNanos  the latency of the request
+     * @param nowNanos  the current {@link System#nanoTime()}
+     */
+    public synchronized void observe(long rttNanos, long nowNanos) {
+        if (!observed || rttNanos > ewmaNanos) {
+            ewmaNanos = rttNanos;
+            observed = true;
+        } else {
+            double weight = Math.exp(-Math.max(0, nowNanos - stampNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+        }
+        stampNanos = nowNanos;
+    }
+
+    /**
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the expected cost of sending one more request to the instance
+     */
+    public synchronized double cost(long nowNanos) {
+        double latency = observed
+                ? ewmaNanos * Math.exp(-Math.max(0, nowNanos - stampNanos) / decayNanos)
+                : defaultRttNanos;
+        return latency * (inFlight.get() + 1);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
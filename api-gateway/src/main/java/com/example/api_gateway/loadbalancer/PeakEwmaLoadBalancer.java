@@ -0,0 +1,78 @@
+package com.example.api_gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks service instances by power of two choices over their {@link PeakEwma} cost.
+ * <p>
+ * Two distinct instances are drawn at random and the cheaper one is picked. Comparing two random instances, rather
+ * than always picking the cheapest one, keeps instances whose stats lag behind from being flooded all at once,
+ * while still steering traffic away from a slow or overloaded instance.
+ * </p>
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplier;
+    private final String serviceId;
+    private final InstanceLatencyStats stats;
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplier,
+                                String serviceId,
+                                InstanceLatencyStats stats) {
+        this.serviceInstanceListSupplier = serviceInstanceListSupplier;
+        this.serviceId = serviceId;
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplier.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            if (instances.isEmpty()) {
+                return new EmptyResponse();
+            }
+            return new DefaultResponse(choose(instances, System.nanoTime()));
+        });
+    }
+
+    /**
+     * Picks the cheaper of two distinct random instances.
+     *
+     * @param instances the available instances, not empty
+     * @param nowNanos  the current {@link System#nanoTime()}
+     * @return the picked instance
+     */
+    public ServiceInstance choose(List<ServiceInstance> instances, long nowNanos) {
+        int size = instances.size();
+        if (size == 1) {
+            return instances.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return stats.of(a).cost(nowNanos) <= stats.of(b).cost(nowNanos) ? a : b;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
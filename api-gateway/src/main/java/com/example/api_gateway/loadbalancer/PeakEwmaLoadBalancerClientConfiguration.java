@@ -0,0 +1,29 @@
+package com.example.api_gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * The load balancer configuration of each service, created in the service's own load balancer context.
+ * <p>
+ * Deliberately not a {@code @Configuration}: it must stay out of component scanning and only be applied through
+ * {@code @LoadBalancerClients(defaultConfiguration = ...)}, see {@link LoadBalancerConfig}.
+ * </p>
+ */
+public class PeakEwmaLoadBalancerClientConfiguration {
+
+    @Bean
+    ReactorLoadBalancer<ServiceInstance> peakEwmaLoadBalancer(Environment environment,
+                                                              LoadBalancerClientFactory loadBalancerClientFactory,
+                                                              InstanceLatencyStats instanceLatencyStats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                instanceLatencyStats);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.api_gateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+import java.time.Duration;
+
+/**
+ * Feeds the {@link InstanceLatencyStats} with the in-flight requests and latencies of every load-balanced call,
+ * whether forwarded by the gateway or sent through a load-balanced {@code WebClient}.
+ * <p>
+ * The start of a request is kept in its {@link TimedRequestContext}, as the Spring Cloud LoadBalancer stats do.
+ * Failed calls and 5xx responses are recorded with at least the failure penalty as their latency.
+ * </p>
+ * <p>
+ * The load balancer filters only complete a request on success or error, never when it is cancelled, for instance
+ * by a client disconnecting. The requests in flight are therefore tracked by identity, weakly, and a request is
+ * released once it has been garbage collected or has been in flight for longer than {@code in-flight-timeout},
+ * so that cancelled requests do not inflate the cost of their instance forever.
+ * </p>
+ */
+public class PeakEwmaLoadBalancerLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceLatencyStats stats;
+    private final Cache<Request<?>, PeakEwma> inFlight;
+
+    /**
+     * @param stats           the stats to feed
+     * @param inFlightTimeout time after which a request that never completed is no longer counted as in flight
+     */
+    public PeakEwmaLoadBalancerLifecycle(InstanceLatencyStats stats, Duration inFlightTimeout) {
+        this(stats, inFlightTimeout, Ticker.systemTicker());
+    }
+
+    PeakEwmaLoadBalancerLifecycle(InstanceLatencyStats stats, Duration inFlightTimeout, Ticker ticker) {
+        this.stats = stats;
+        this.inFlight = Caffeine.newBuilder()
+                .weakKeys()
+                .expireAfterWrite(inFlightTimeout)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .<Request<?>, PeakEwma>evictionListener((request, ewma, cause) -> ewma.release())
+                .build();
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        PeakEwma ewma = stats.of(lbResponse.getServer());
+        ewma.start();
+        inFlight.put(request, ewma);
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.getLoadBalancerRequest() != null) {
+            PeakEwma ewma = inFlight.asMap().remove(completionContext.getLoadBalancerRequest());
+            if (ewma != null) {
+                ewma.release();
+            }
+        }
+
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long start = completionContext.getLoadBalancerRequest() != null
+                && completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext context
+                && context.getRequestStartTime() > 0
+                ? context.getRequestStartTime()
+                : now;
+
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError());
+        stats.observe(lbResponse.getServer(), now - start, failed, now);
+    }
+
+    /**
+     * Releases the requests that timed out; expired entries are otherwise only swept as the cache is used.
+     */
+    void cleanUp() {
+        inFlight.cleanUp();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.api_gateway.ratelimit;
+
+import com.example.api_gateway.security.TokenValidationGlobalFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Rate limits the requests of each user, or of each client IP for anonymous requests, per route, in memory.
+ * <p>
+ * A service opts in by advertising {@code rateLimitRequests} (requests per period) in its discovery metadata, and
+ * optionally {@code rateLimitPeriod} (defaults to {@code 1s}) and {@code rateLimitBurst} (requests allowed at once,
+ * defaults to {@code rateLimitRequests}). Each route then gets one {@link TokenBucketRateLimiter token bucket} per
+ * caller: the username of the access token verified by the {@link TokenValidationGlobalFilter}, or else the
+ * client's IP address.
+ * </p>
+ * <p>
+ * Behind proxies, the client's IP address is read from {@code X-Forwarded-For}, trusting the entries appended by
+ * the {@code trusted-proxies} proxies in front of the gateway; otherwise every anonymous client would share the
+ * bucket of the proxy, and could lock each other out of login and registration. With no trusted proxies (the
+ * default), the header is ignored, as any client may forge it.
+ * </p>
+ * <p>
+ * Unlike Spring Cloud Gateway's {@code RequestRateLimiter}, buckets live in the gateway's memory: a check costs a
+ * cache lookup and a short striped lock, not a Redis round trip. Limits therefore apply per gateway instance.
+ * </p>
+ * <p>
+ * Requests over the limit are answered with a 429 and a {@code Retry-After} header. {@code gateway.rate.limit}
+ * counts the requests of each route by {@code outcome} (allowed, rejected), and {@code gateway.rate.limit.buckets}
+ * gauges the number of buckets held. The counters of a route are removed along with the route.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "enabled", matchIfMissing = true)
+@Slf4j
+public class RateLimitGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final String REQUESTS_METADATA = "rateLimitRequests";
+    public static final String PERIOD_METADATA = "rateLimitPeriod";
+    public static final String BURST_METADATA = "rateLimitBurst";
+    public static final int ORDER = TokenValidationGlobalFilter.ORDER + 5;
+
+    private static final TokenBucketRateLimiter.Limit UNLIMITED = new TokenBucketRateLimiter.Limit(0, 0);
+    private static final byte[] REJECTED_BODY = ("{\"status\":429,\"message\":\"Too Many Requests.\","
+            + "\"error\":\"Rate limit exceeded.\",\"additionalInfo\":\"Please retry after the delay in Retry-After.\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final TokenBucketRateLimiter limiter;
+    private final Cache<Route, TokenBucketRateLimiter.Limit> limits = Caffeine.newBuilder().weakKeys().build();
+    private final Map<String, RouteCounters> counters = new ConcurrentHashMap<>();
+    private final RemoteAddressResolver remoteAddressResolver;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitGlobalFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+                                 @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                                 @Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        this.limiter = new TokenBucketRateLimiter(maxBuckets, idleTimeout);
+        this.remoteAddressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        if (this.meterRegistry != null) {
+            Gauge.builder("gateway.rate.limit.buckets", limiter, TokenBucketRateLimiter::bucketCount)
+                    .description("Token buckets held by the gateway rate limiter")
+                    .register(this.meterRegistry);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        TokenBucketRateLimiter.Limit limit = route != null ? limits.get(route, RateLimitGlobalFilter::limit) : UNLIMITED;
+        if (limit == UNLIMITED) {
+            return chain.filter(exchange);
+        }
+
+        RouteCounters routeCounters = counters.computeIfAbsent(route.getId(), this::routeCounters);
+        long waitNanos = limiter.tryAcquire(route.getId() + ' ' + caller(exchange), limit, System.nanoTime());
+        if (waitNanos == 0) {
+            routeCounters.allowed().increment();
+            return chain.filter(exchange);
+        }
+
+        routeCounters.rejected().increment();
+        return reject(exchange.getResponse(), waitNanos);
+    }
+
+    /**
+     * Removes the counters, and their meters, of the routes that no longer exist once the routes are refreshed.
+     */
+    @EventListener
+    public void onRoutesRefreshed(RefreshRoutesResultEvent event) {
+        if (event.isSuccess() && event.getSource() instanceof RouteLocator routeLocator) {
+            routeLocator.getRoutes()
+                    .map(Route::getId)
+                    .collect(Collectors.toSet())
+                    .subscribe(this::removeCountersExcept);
+        }
+    }
+
+    void removeCountersExcept(Set<String> routeIds) {
+        counters.entrySet().removeIf(entry -> {
+            if (routeIds.contains(entry.getKey())) {
+                return false;
+            }
+            if (meterRegistry != null) {
+                entry.getValue().meters().forEach(meterRegistry::remove);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * The caller a bucket belongs to: the user of the verified access token, or else the client's IP address.
+     */
+    private String caller(ServerWebExchange exchange) {
+        Claims claims = exchange.getAttribute(TokenValidationGlobalFilter.VERIFIED_CLAIMS_ATTRIBUTE);
+        String username = claims != null ? claims.get(ClaimNames.USERNAME, String.class) : null;
+        if (username != null) {
+            return "user:" + username;
+        }
+
+        // Forwarded addresses are unresolved, so the host string (never a reverse lookup) is the IP address
+        InetSocketAddress address = remoteAddressResolver.resolve(exchange);
+        return address != null ? "ip:" + address.getHostString() : "ip:unknown";
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(REJECTED_BODY)));
+    }
+
+    /**
+     * Reads the limit of a route from its metadata, once per route instance; routes without a valid limit are
+     * unlimited.
+     */
+    private static TokenBucketRateLimiter.Limit limit(Route route) {
+        Map<String, Object> metadata = route.getMetadata();
+        Object requests = metadata.get(REQUESTS_METADATA);
+        if (requests == null) {
+            return UNLIMITED;
+        }
+
+        try {
+            int perPeriod = Integer.parseInt(requests.toString().trim());
+            Object period = metadata.get(PERIOD_METADATA);
+            Object burst = metadata.get(BURST_METADATA);
+            return TokenBucketRateLimiter.Limit.of(
+                    perPeriod,
+                    period != null ? DurationStyle.detectAndParse(period.toString().trim()) : Duration.ofSeconds(1),
+                    burst != null ? Integer.parseInt(burst.toString().trim()) : perPeriod);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid rate limit of route '{}' ({}={}, {}={}, {}={}): {}", route.getId(),
+                    REQUESTS_METADATA, requests, PERIOD_METADATA, metadata.get(PERIOD_METADATA),
+                    BURST_METADATA, metadata.get(BURST_METADATA), e.getMessage());
+            return UNLIMITED;
+        }
+    }
+
+    private RouteCounters routeCounters(String routeId) {
+        LongAdder allowed = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        List<Meter> meters = meterRegistry != null
+                ? List.of(counter(routeId, "allowed", allowed), counter(routeId, "rejected", rejected))
+                : List.of();
+        return new RouteCounters(allowed, rejected, meters);
+    }
+
+    private Meter counter(String routeId, String outcome, LongAdder count) {
+        return FunctionCounter.builder("gateway.rate.limit", count, LongAdder::sum)
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * The requests of a route, by outcome, and the meters exposing them.
+     */
+    private record RouteCounters(LongAdder allowed, LongAdder rejected, List<Meter> meters) {
+    }
+}
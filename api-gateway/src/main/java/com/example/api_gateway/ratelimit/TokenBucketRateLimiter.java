@@ -0,0 +1,98 @@
+package com.example.api_gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * In-memory token buckets, one per key.
+ * <p>
+ * A bucket holds up to {@link Limit#capacity()} tokens, refills continuously at {@link Limit#tokensPerNano()}, and
+ * each request takes one token. Buckets are created full on first use.
+ * </p>
+ * <p>
+ * Bucket state is guarded by a fixed set of striped locks rather than one lock per bucket: buckets stay plain
+ * objects, and the locks held by concurrent requests of different keys rarely collide.
+ * </p>
+ * <p>
+ * The buckets are bounded: buckets idle for {@code idleTimeout} are evicted, as are the least recently used ones
+ * beyond {@code maximumBuckets}. An evicted bucket comes back full, which is what it would have refilled to anyway
+ * as long as the idle timeout exceeds the time a bucket takes to refill.
+ * </p>
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Cache<String, Bucket> buckets;
+    private final Object[] locks = new Object[STRIPES];
+
+    public TokenBucketRateLimiter(long maximumBuckets, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of the given key.
+     *
+     * @param key      the key of the bucket
+     * @param limit    the limit of the bucket
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, Limit limit, long nowNanos) {
+        Bucket bucket = buckets.get(key, k -> new Bucket());
+        int hash = key.hashCode();
+        synchronized (locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)]) {
+            if (bucket.refilledAt == 0) {
+                bucket.tokens = limit.capacity();
+            } else {
+                double refill = Math.max(0, nowNanos - bucket.refilledAt) * limit.tokensPerNano();
+                bucket.tokens = Math.min(limit.capacity(), bucket.tokens + refill);
+            }
+            bucket.refilledAt = nowNanos;
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / limit.tokensPerNano());
+        }
+    }
+
+    public long bucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * The limit of a bucket: {@code capacity} requests at once, refilled at {@code tokensPerNano}.
+     */
+    public record Limit(int capacity, double tokensPerNano) {
+
+        /**
+         * @param requests the requests allowed per period, on average
+         * @param period   the period
+         * @param burst    the requests allowed at once
+         */
+        public static Limit of(int requests, Duration period, int burst) {
+            if (requests <= 0 || burst <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Rate limit requests, burst and period must be positive");
+            }
+            return new Limit(burst, (double) requests / period.toNanos());
+        }
+    }
+
+    /**
+     * The state of a bucket, guarded by its stripe lock; {@code refilledAt} is {@code 0} until first used.
+     */
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+    }
+}
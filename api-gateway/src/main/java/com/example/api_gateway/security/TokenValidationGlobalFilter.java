@@ -0,0 +1,233 @@
+package com.example.api_gateway.security;
+
+import com.rajugowda.jwt.validator.auth.EdgeIdentityCodec;
+import com.rajugowda.jwt.validator.auth.TokenParser;
+import com.rajugowda.jwt.validator.exceptions.RevokedTokenException;
+import com.rajugowda.jwt.validator.metrics.AuthMetrics;
+import com.rajugowda.jwt.validator.metrics.FailureReason;
+import com.rajugowda.jwt.validator.revocation.RevocationChecker;
+import com.rajugowda.jwt.validator.secret.Vault;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import com.rajugowda.jwt.validator.util.HeaderNames;
+import com.rajugowda.jwt.validator.util.TokenExtractor;
+import com.rajugowda.jwt.validator.util.TokenType;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates the access token ({@code at} cookie or {@code Authorization} bearer token) at the edge, so that services
+ * only receive tokens the gateway verified.
+ * <p>
+ * Requests without an access token are forwarded untouched; whether they may proceed is up to the downstream
+ * service. Requests whose token fails validation (expired, signed with a retired key, revoked, ...) are forwarded
+ * with the token stripped, i.e. anonymously: public routes such as login, refresh or the catalog keep working with a
+ * stale cookie, while protected routes are answered with a 401 by the service's own security configuration.
+ * </p>
+ * <p>
+ * Validation uses the same {@link TokenParser} and {@link Vault} as the services, through their non-blocking API.
+ * Verifying a token whose key is already pooled is pure CPU work and runs inline. When the key still has to be
+ * loaded, the {@link Vault} loads it off the event loop and the request resumes once it is available.
+ * </p>
+ * <p>
+ * Verified tokens are then checked against the {@link RevocationChecker}. Its in-process check runs inline; the
+ * rare tokens it flags are confirmed against the revocation store off the event loop.
+ * </p>
+ * <p>
+ * On success, the verified claims are exposed to later filters under {@link #VERIFIED_CLAIMS_ATTRIBUTE}.
+ * When the {@link EdgeIdentityCodec} is enabled, the verified identity is also forwarded downstream in the
+ * {@link HeaderNames#EDGE_IDENTITY} header, so services can skip verifying the token again.
+ * Copies of that header sent by clients are always stripped.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "gateway.token-validation", name = "enabled", matchIfMissing = true)
+@Slf4j
+public class TokenValidationGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final String VERIFIED_CLAIMS_ATTRIBUTE = TokenValidationGlobalFilter.class.getName() + ".claims";
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+    private static final String FILTER_NAME = TokenValidationGlobalFilter.class.getSimpleName();
+
+    private final TokenParser tokenParser;
+    private final EdgeIdentityCodec edgeIdentityCodec;
+    private final AuthMetrics authMetrics;
+    private final RevocationChecker revocationChecker;
+
+    public TokenValidationGlobalFilter(TokenParser tokenParser,
+                                       EdgeIdentityCodec edgeIdentityCodec,
+                                       ObjectProvider<AuthMetrics> authMetrics,
+                                       ObjectProvider<RevocationChecker> revocationChecker) {
+        this.tokenParser = tokenParser;
+        this.edgeIdentityCodec = edgeIdentityCodec;
+        this.authMetrics = authMetrics.getIfAvailable(() -> AuthMetrics.NOOP);
+        this.revocationChecker = revocationChecker.getIfAvailable(() -> RevocationChecker.NONE);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerWebExchange stripped = stripEdgeIdentity(exchange);
+
+        String token = extractToken(stripped.getRequest().getHeaders());
+        if (token == null || token.isBlank()) {
+            return chain.filter(stripped);
+        }
+
+        return parse(token)
+                .flatMap(claims -> {
+                    stripped.getAttributes().put(VERIFIED_CLAIMS_ATTRIBUTE, claims);
+                    return chain.filter(forwardEdgeIdentity(stripped, claims));
+                })
+                .onErrorResume(TokenRejection.class, rejection -> {
+                    log.debug("Forwarding request without its rejected access token: {}", rejection.getMessage());
+                    return chain.filter(stripAccessToken(stripped));
+                });
+    }
+
+    /**
+     * Reads the access token from the {@code Authorization} bearer header, or else from the raw {@code Cookie}
+     * headers, without parsing the request's other cookies into {@link org.springframework.http.HttpCookie}s.
+     */
+    private String extractToken(HttpHeaders headers) {
+        String bearer = TokenExtractor.bearerToken(headers.getFirst(HttpHeaders.AUTHORIZATION));
+        if (bearer != null) {
+            return bearer;
+        }
+        return TokenExtractor.findCookie(headers.get(HttpHeaders.COOKIE), TokenType.ACCESS.getAbbreviation());
+    }
+
+    /**
+     * Removes any edge identity sent by the client, so that only identities minted here reach the services.
+     */
+    private ServerWebExchange stripEdgeIdentity(ServerWebExchange exchange) {
+        if (!exchange.getRequest().getHeaders().containsKey(HeaderNames.EDGE_IDENTITY)) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(HeaderNames.EDGE_IDENTITY)))
+                .build();
+    }
+
+    /**
+     * Removes the rejected access token, from the bearer header and from the {@code at} cookie, keeping the other
+     * cookies (such as the refresh token) intact.
+     */
+    private static ServerWebExchange stripAccessToken(ServerWebExchange exchange) {
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    if (TokenExtractor.bearerToken(headers.getFirst(HttpHeaders.AUTHORIZATION)) != null) {
+                        headers.remove(HttpHeaders.AUTHORIZATION);
+                    }
+
+                    List<String> cookieHeaders = headers.get(HttpHeaders.COOKIE);
+                    if (cookieHeaders == null) {
+                        return;
+                    }
+                    List<String> kept = new ArrayList<>(cookieHeaders.size());
+                    for (String cookieHeader : cookieHeaders) {
+                        String remaining = withoutCookie(cookieHeader, TokenType.ACCESS.getAbbreviation());
+                        if (!remaining.isEmpty()) {
+                            kept.add(remaining);
+                        }
+                    }
+                    if (kept.isEmpty()) {
+                        headers.remove(HttpHeaders.COOKIE);
+                    } else {
+                        headers.put(HttpHeaders.COOKIE, kept);
+                    }
+                }))
+                .build();
+    }
+
+    /**
+     * @return the {@code Cookie} header without the pairs of the given cookie name
+     */
+    private static String withoutCookie(String cookieHeader, String name) {
+        StringBuilder remaining = new StringBuilder(cookieHeader.length());
+        for (String pair : cookieHeader.split(";")) {
+            String trimmed = pair.trim();
+            if (trimmed.isEmpty() || (trimmed.startsWith(name) && trimmed.length() > name.length()
+                    && trimmed.charAt(name.length()) == '=')) {
+                continue;
+            }
+            if (!remaining.isEmpty()) {
+                remaining.append("; ");
+            }
+            remaining.append(trimmed);
+        }
+        return remaining.toString();
+    }
+
+    private ServerWebExchange forwardEdgeIdentity(ServerWebExchange exchange, Claims claims) {
+        String username = claims.get(ClaimNames.USERNAME, String.class);
+        String role = claims.get(ClaimNames.ROLE, String.class);
+        if (!edgeIdentityCodec.isEnabled() || username == null || role == null || claims.getExpiration() == null) {
+            return exchange;
+        }
+
+        String identity = edgeIdentityCodec.encode(username, role, claims.getExpiration().getTime() / 1000);
+        return exchange.mutate()
+                .request(request -> request.header(HeaderNames.EDGE_IDENTITY, identity))
+                .build();
+    }
+
+    /**
+     * Parses the token without blocking: tokens whose key is pooled complete inline, others complete once
+     * the key has been loaded asynchronously by the {@link Vault}.
+     */
+    private Mono<Claims> parse(String token) {
+        return Mono.defer(() -> {
+            final long start = authMetrics.isEnabled() ? System.nanoTime() : 0L;
+            return Mono.fromFuture(tokenParser.parseTokenAsync(token))
+                    .flatMap(this::rejectIfRevoked)
+                    .doOnNext(claims -> {
+                        if (authMetrics.isEnabled()) {
+                            authMetrics.recordSuccess(TokenType.ACCESS, FILTER_NAME, start);
+                        }
+                    })
+                    .onErrorMap(e -> {
+                        if (authMetrics.isEnabled()) {
+                            authMetrics.recordFailure(TokenType.ACCESS, FILTER_NAME, start, FailureReason.of(e));
+                        }
+                        return new TokenRejection(e);
+                    });
+        });
+    }
+
+    private Mono<Claims> rejectIfRevoked(Claims claims) {
+        if (!revocationChecker.mightBeRevoked(claims)) {
+            return Mono.just(claims);
+        }
+        return Mono.fromCallable(() -> revocationChecker.isRevoked(claims))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(revoked -> revoked
+                        ? Mono.error(new RevokedTokenException("Token has been revoked"))
+                        : Mono.just(claims));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Marks a validation failure of the token, as opposed to a failure of the downstream chain.
+     */
+    private static final class TokenRejection extends RuntimeException {
+        private TokenRejection(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.api_gateway.security;
+
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolService;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import com.rajugowda.jwt.validator.util.CacheName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Supplies the shared token validation lib with public keys from the {@code public-key-pool} cache.
+ * <p>
+ * The lookup is blocking (Redis); the {@code Vault} runs it on its key loader executor, off the event loop.
+ * </p>
+ */
+@Configuration
+@Slf4j
+public class ValidationLibConfig {
+
+    @Bean
+    PublicKeysPoolService tokenLocatorService(CacheManager cacheManager) {
+        var cache = cacheManager.getCache(CacheName.PUBLIC_KEY_POOL);
+
+        return keyId -> {
+            if (cache == null) {
+                log.warn("Cache not found for name: {}", CacheName.PUBLIC_KEY_POOL);
+                return null;
+            }
+
+            var publicKeyMetaData = cache.get(keyId, PublicKeyMetaData.class);
+
+            if (publicKeyMetaData != null) {
+                log.info("Found public key in cache for Identifier: {}", keyId);
+            } else {
+                log.warn("Public Key not found for Identifier: {}", keyId);
+            }
+
+            return publicKeyMetaData;
+        };
+    }
+}
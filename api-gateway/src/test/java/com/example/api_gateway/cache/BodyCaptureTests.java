@@ -0,0 +1,124 @@
+package com.example.api_gateway.cache;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodyCaptureTests {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+    @Test
+    void capturesABodyWithinTheLimit() {
+        AtomicReference<byte[]> captured = new AtomicReference<>();
+        AtomicInteger overflows = new AtomicInteger();
+
+        Flux<DataBuffer> written = BodyCapture.capture(Flux.just(buffer("hello "), buffer("world")), 11,
+                bytes -> {
+                    captured.set(bytes);
+                    return Mono.just(bufferFactory.wrap(bytes));
+                }, overflows::incrementAndGet);
+
+        assertThat(text(written)).isEqualTo("hello world");
+        assertThat(new String(captured.get(), StandardCharsets.UTF_8)).isEqualTo("hello world");
+        assertThat(overflows).hasValue(0);
+    }
+
+    @Test
+    void capturesAnEmptyBody() {
+        AtomicReference<byte[]> captured = new AtomicReference<>();
+
+        Flux<DataBuffer> written = BodyCapture.capture(Flux.<DataBuffer>empty(), 10, bytes -> {
+            captured.set(bytes);
+            return Mono.empty();
+        });
+
+        assertThat(text(written)).isEmpty();
+        assertThat(captured.get()).isEmpty();
+    }
+
+    @Test
+    void streamsTheRestOfTheBodyOnceItGrowsPastTheLimit() {
+        Sinks.Many<DataBuffer> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicInteger captures = new AtomicInteger();
+        AtomicInteger overflows = new AtomicInteger();
+        List<String> received = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        BodyCapture.capture(upstream.asFlux(), 8, bytes -> {
+            captures.incrementAndGet();
+            return Mono.empty();
+        }, overflows::incrementAndGet).map(this::release).subscribe(received::add, null, () -> completed.set(true));
+
+        upstream.tryEmitNext(buffer("1234"));
+        upstream.tryEmitNext(buffer("5678"));
+        assertThat(received).isEmpty();
+
+        upstream.tryEmitNext(buffer("9"));
+        assertThat(received).containsExactly("1234", "5678", "9");
+
+        upstream.tryEmitNext(buffer("10"));
+        assertThat(received).containsExactly("1234", "5678", "9", "10");
+
+        upstream.tryEmitComplete();
+        assertThat(completed).isTrue();
+        assertThat(overflows).hasValue(1);
+        assertThat(captures).hasValue(0);
+    }
+
+    @Test
+    void releasesHeldBuffersWhenCancelled() {
+        Sinks.Many<DataBuffer> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        NettyDataBuffer held = buffer("held");
+
+        Disposable subscription = BodyCapture.capture(upstream.asFlux(), 100, bytes -> Mono.just(bufferFactory.wrap(bytes))).subscribe();
+        upstream.tryEmitNext(held);
+        assertThat(held.getNativeBuffer().refCnt()).isOne();
+
+        subscription.dispose();
+        assertThat(held.getNativeBuffer().refCnt()).isZero();
+    }
+
+    @Test
+    void releasesTheCapturedBuffers() {
+        NettyDataBuffer first = buffer("ab");
+        NettyDataBuffer second = buffer("cd");
+
+        assertThat(text(BodyCapture.capture(Flux.just(first, second), 10, bytes -> Mono.just(bufferFactory.wrap(bytes)))))
+                .isEqualTo("abcd");
+        assertThat(first.getNativeBuffer().refCnt()).isZero();
+        assertThat(second.getNativeBuffer().refCnt()).isZero();
+    }
+
+    private NettyDataBuffer buffer(String text) {
+        NettyDataBuffer buffer = bufferFactory.allocateBuffer(text.length());
+        buffer.write(text, StandardCharsets.UTF_8);
+        return buffer;
+    }
+
+    private String release(DataBuffer buffer) {
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return text;
+    }
+
+    private String text(Flux<DataBuffer> body) {
+        return String.join("", body.map(this::release).collectList().block());
+    }
+}
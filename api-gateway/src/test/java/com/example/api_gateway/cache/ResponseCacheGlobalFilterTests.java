@@ -0,0 +1,80 @@
+package com.example.api_gateway.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGlobalFilterTests {
+
+    private final ResponseCacheGlobalFilter filter = new ResponseCacheGlobalFilter(
+            WebClient.builder(),
+            (request, next) -> next.exchange(request),
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+            1 << 20, 1024, Duration.ofSeconds(5));
+
+    private final Route route = Route.async()
+            .id("product-service")
+            .uri("lb://product-service")
+            .predicate(exchange -> true)
+            .metadata(ResponseCacheGlobalFilter.TTL_METADATA, "30s")
+            .build();
+
+    /** Answers with the language requested, varying on it. */
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        upstreamCalls.incrementAndGet();
+        String language = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setCacheControl("public, max-age=60");
+        response.getHeaders().setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+        byte[] body = ("greeting in " + language).getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    };
+
+    @Test
+    void servesAVariantOnlyToRequestsWithTheSameVaryingHeaders() {
+        assertThat(get("en")).isEqualTo("greeting in en");
+        assertThat(get("fr")).isEqualTo("greeting in fr");
+        assertThat(upstreamCalls).hasValue(2);
+
+        assertThat(get("fr")).isEqualTo("greeting in fr");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void aNewVariantReplacesTheStoredOne() {
+        get("en");
+        get("fr");
+
+        assertThat(get("en")).isEqualTo("greeting in en");
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    private String get(String language) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/42")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, language));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        filter.filter(exchange, chain).block();
+        MockServerHttpResponse response = exchange.getResponse();
+        return response.getBodyAsString().block();
+    }
+}
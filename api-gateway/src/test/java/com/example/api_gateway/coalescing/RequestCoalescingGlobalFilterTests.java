@@ -0,0 +1,73 @@
+package com.example.api_gateway.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingGlobalFilterTests {
+
+    private final RequestCoalescingGlobalFilter filter = new RequestCoalescingGlobalFilter(
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), 1000, 1024);
+
+    private final Route route = Route.async()
+            .id("product-service")
+            .uri("lb://product-service")
+            .predicate(exchange -> true)
+            .metadata(RequestCoalescingGlobalFilter.COALESCE_METADATA, "true")
+            .build();
+
+    /** Upstream calls, which stay in flight until the test completes them. */
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> upstream = Sinks.empty();
+    private final GatewayFilterChain chain = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return upstream.asMono();
+    };
+
+    @Test
+    void anonymousCallersShareOneFlight() {
+        filter.filter(exchange(null, null), chain).subscribe();
+        filter.filter(exchange(null, null), chain).subscribe();
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void credentialedAndAnonymousCallersDoNotShareAFlight() {
+        filter.filter(exchange(null, null), chain).subscribe();
+        filter.filter(exchange(HttpHeaders.AUTHORIZATION, "Bearer token"), chain).subscribe();
+        filter.filter(exchange(HttpHeaders.COOKIE, "theme=dark; at=token"), chain).subscribe();
+
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void credentialedCallerDoesNotLeadAFlight() {
+        filter.filter(exchange(HttpHeaders.AUTHORIZATION, "Bearer token"), chain).subscribe();
+        filter.filter(exchange(null, null), chain).subscribe();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private ServerWebExchange exchange(String header, String value) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/products/42");
+        if (header != null) {
+            request.header(header, value);
+        }
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.api_gateway.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BasePathTrieTests {
+
+    private final BasePathTrie trie = BasePathTrie.of(List.of(
+            "/api/v1/products",
+            "/api/v1/products/reviews",
+            "/api/v1/orders",
+            "/a"));
+
+    @Test
+    void matchesTheBasePathAndEverythingBelowIt() {
+        assertThat(trie.match("/api/v1/products")).isEqualTo("/api/v1/products");
+        assertThat(trie.match("/api/v1/products/")).isEqualTo("/api/v1/products");
+        assertThat(trie.match("/api/v1/products/42")).isEqualTo("/api/v1/products");
+        assertThat(trie.match("/api/v1/orders/42/items")).isEqualTo("/api/v1/orders");
+    }
+
+    @Test
+    void longestBasePathWins() {
+        assertThat(trie.match("/api/v1/products/reviews")).isEqualTo("/api/v1/products/reviews");
+        assertThat(trie.match("/api/v1/products/reviews/7")).isEqualTo("/api/v1/products/reviews");
+        assertThat(trie.match("/api/v1/products/reviewsx")).isEqualTo("/api/v1/products");
+    }
+
+    @Test
+    void matchesWholeSegmentsOnly() {
+        assertThat(trie.match("/a")).isEqualTo("/a");
+        assertThat(trie.match("/a/b")).isEqualTo("/a");
+        assertThat(trie.match("/ab")).isNull();
+        assertThat(trie.match("/api/v1/productsx")).isNull();
+        assertThat(trie.match("/api/v1/order")).isNull();
+    }
+
+    @Test
+    void pathsAboveOrOutsideEveryBasePathDoNotMatch() {
+        assertThat(trie.match("/api/v1")).isNull();
+        assertThat(trie.match("/")).isNull();
+        assertThat(trie.match("")).isNull();
+        assertThat(trie.match("/users/1")).isNull();
+    }
+
+    @Test
+    void repeatedSlashesAreIgnored() {
+        assertThat(trie.match("//api//v1/products")).isEqualTo("/api/v1/products");
+        assertThat(BasePathTrie.of(List.of("/api/v1/orders/")).match("/api/v1/orders/1")).isEqualTo("/api/v1/orders/");
+    }
+
+    @Test
+    void rootBasePathMatchesEverything() {
+        BasePathTrie withRoot = BasePathTrie.of(List.of("/", "/a"));
+
+        assertThat(withRoot.match("/anything")).isEqualTo("/");
+        assertThat(withRoot.match("/a/b")).isEqualTo("/a");
+    }
+
+    @Test
+    void emptyTrieMatchesNothing() {
+        assertThat(BasePathTrie.EMPTY.match("/api/v1/products")).isNull();
+        assertThat(BasePathTrie.of(List.of()).match("/")).isNull();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.api_gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpStatus;
+
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeakEwmaLoadBalancerLifecycleTests {
+
+    private static final Duration IN_FLIGHT_TIMEOUT = Duration.ofSeconds(60);
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final InstanceLatencyStats stats =
+            new InstanceLatencyStats(Duration.ofSeconds(10), Duration.ofMillis(20), Duration.ofSeconds(1));
+    private final PeakEwmaLoadBalancerLifecycle lifecycle =
+            new PeakEwmaLoadBalancerLifecycle(stats, IN_FLIGHT_TIMEOUT, ticker::get);
+
+    private final ServiceInstance instance =
+            new DefaultServiceInstance("product-1", "product-service", "product-1.local", 8080, false);
+    private final Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+
+    @Test
+    void completionEndsTheRequestInFlight() {
+        Request<Object> request = request();
+        lifecycle.onStartRequest(request, lbResponse);
+        assertThat(stats.of(instance).getInFlight()).isEqualTo(1);
+
+        lifecycle.onComplete(completion(CompletionContext.Status.SUCCESS, request, null));
+
+        assertThat(stats.of(instance).getInFlight()).isZero();
+    }
+
+    @Test
+    void cancelledRequestIsReleasedAfterTheTimeout() {
+        // A cancelled request is started but never completed
+        Request<Object> cancelled = request();
+        lifecycle.onStartRequest(cancelled, lbResponse);
+
+        ticker.addAndGet(IN_FLIGHT_TIMEOUT.minusSeconds(1).toNanos());
+        lifecycle.cleanUp();
+        assertThat(stats.of(instance).getInFlight()).isEqualTo(1);
+        // Requests are held weakly; keep this one reachable so that only the timeout releases it
+        Reference.reachabilityFence(cancelled);
+
+        ticker.addAndGet(Duration.ofSeconds(2).toNanos());
+        lifecycle.cleanUp();
+        assertThat(stats.of(instance).getInFlight()).isZero();
+    }
+
+    @Test
+    void lateCompletionDoesNotReleaseAnotherRequest() {
+        Request<Object> timedOut = request();
+        lifecycle.onStartRequest(timedOut, lbResponse);
+        ticker.addAndGet(IN_FLIGHT_TIMEOUT.plusSeconds(1).toNanos());
+        lifecycle.cleanUp();
+
+        Request<Object> inFlight = request();
+        lifecycle.onStartRequest(inFlight, lbResponse);
+        lifecycle.onComplete(completion(CompletionContext.Status.SUCCESS, timedOut, null));
+
+        assertThat(stats.of(instance).getInFlight()).isEqualTo(1);
+        Reference.reachabilityFence(inFlight);
+    }
+
+    @Test
+    void serverErrorsAreRecordedWithTheFailurePenalty() {
+        Request<Object> request = request();
+        lifecycle.onStartRequest(request, lbResponse);
+
+        ResponseData response = new ResponseData(HttpStatus.SERVICE_UNAVAILABLE, null, null, null);
+        lifecycle.onComplete(completion(CompletionContext.Status.SUCCESS, request, response));
+
+        assertThat(stats.of(instance).cost(System.nanoTime())).isGreaterThan(Duration.ofMillis(900).toNanos());
+    }
+
+    private static Request<Object> request() {
+        return new DefaultRequest<>(new RequestDataContext());
+    }
+
+    private CompletionContext<Object, ServiceInstance, Object> completion(
+            CompletionContext.Status status, Request<Object> request, Object clientResponse) {
+        return new CompletionContext<>(status, request, lbResponse, clientResponse);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.api_gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeakEwmaLoadBalancerTests {
+
+    private final InstanceLatencyStats stats =
+            new InstanceLatencyStats(Duration.ofSeconds(10), Duration.ofMillis(20), Duration.ofSeconds(1));
+    private final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(null, "product-service", stats);
+
+    private final ServiceInstance fast = instance("fast");
+    private final ServiceInstance slow = instance("slow");
+    private final ServiceInstance busy = instance("busy");
+
+    @Test
+    void picksTheOnlyInstance() {
+        assertThat(loadBalancer.choose(List.of(slow), System.nanoTime())).isSameAs(slow);
+    }
+
+    @Test
+    void alwaysComparesTwoDistinctInstances() {
+        long now = System.nanoTime();
+        stats.observe(fast, Duration.ofMillis(5).toNanos(), false, now);
+        stats.observe(slow, Duration.ofMillis(500).toNanos(), false, now);
+
+        // Drawing the same instance twice would sometimes pick the slow one
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(loadBalancer.choose(List.of(fast, slow), now)).isSameAs(fast);
+            assertThat(loadBalancer.choose(List.of(slow, fast), now)).isSameAs(fast);
+        }
+    }
+
+    @Test
+    void neverPicksTheMostExpensiveInstance() {
+        long now = System.nanoTime();
+        stats.observe(fast, Duration.ofMillis(5).toNanos(), false, now);
+        stats.observe(busy, Duration.ofMillis(5).toNanos(), false, now);
+        stats.observe(slow, Duration.ofMillis(500).toNanos(), false, now);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(loadBalancer.choose(List.of(fast, slow, busy), now)).isNotSameAs(slow);
+        }
+    }
+
+    @Test
+    void avoidsTheInstanceWithMoreRequestsInFlight() {
+        long now = System.nanoTime();
+        stats.observe(fast, Duration.ofMillis(5).toNanos(), false, now);
+        stats.observe(busy, Duration.ofMillis(5).toNanos(), false, now);
+        stats.of(busy).start();
+
+        assertThat(loadBalancer.choose(List.of(fast, busy), now)).isSameAs(fast);
+    }
+
+    @Test
+    void failuresCountAsAtLeastThePenalty() {
+        long now = System.nanoTime();
+        stats.observe(fast, Duration.ofMillis(1).toNanos(), true, now);
+        stats.observe(slow, Duration.ofMillis(500).toNanos(), false, now);
+
+        assertThat(loadBalancer.choose(List.of(fast, slow), now)).isSameAs(slow);
+    }
+
+    private static ServiceInstance instance(String id) {
+        return new DefaultServiceInstance(id, "product-service", id + ".local", 8080, false);
+    }
+}
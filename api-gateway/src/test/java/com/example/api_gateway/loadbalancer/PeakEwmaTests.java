@@ -0,0 +1,72 @@
+package com.example.api_gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PeakEwmaTests {
+
+    private static final long DECAY = TimeUnit.SECONDS.toNanos(10);
+    private static final long DEFAULT_RTT = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final PeakEwma ewma = new PeakEwma(DECAY, DEFAULT_RTT);
+
+    @Test
+    void assumesTheDefaultLatencyUntilTheFirstObservation() {
+        assertThat(ewma.cost(0)).isEqualTo(DEFAULT_RTT);
+    }
+
+    @Test
+    void costGrowsWithTheRequestsInFlight() {
+        ewma.start();
+        ewma.start();
+
+        assertThat(ewma.getInFlight()).isEqualTo(2);
+        assertThat(ewma.cost(0)).isEqualTo(3.0 * DEFAULT_RTT);
+    }
+
+    @Test
+    void aPeakReplacesTheAverageAtOnce() {
+        ewma.observe(10 * MS, 0);
+        ewma.observe(500 * MS, 1);
+
+        assertThat(ewma.cost(1)).isCloseTo(500.0 * MS, within(1.0 * MS));
+    }
+
+    @Test
+    void lowerLatenciesPullTheAverageDownGradually() {
+        long now = 0;
+        ewma.observe(500 * MS, now);
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        ewma.observe(10 * MS, now);
+
+        // One second into a ten second decay only moves the average about a tenth of the way down
+        double expected = 500.0 * MS * Math.exp(-0.1) + 10.0 * MS * (1 - Math.exp(-0.1));
+        assertThat(ewma.cost(now)).isCloseTo(expected, within(1.0 * MS));
+        assertThat(ewma.cost(now)).isGreaterThan(400.0 * MS);
+    }
+
+    @Test
+    void anIdleInstanceDecaysTowardsZero() {
+        ewma.observe(500 * MS, 0);
+
+        assertThat(ewma.cost(DECAY)).isCloseTo(500.0 * MS / Math.E, within(1.0 * MS));
+        assertThat(ewma.cost(10 * DECAY)).isLessThan(1.0 * MS);
+    }
+
+    @Test
+    void releaseNeverGoesBelowZero() {
+        ewma.start();
+        ewma.release();
+        ewma.release();
+
+        assertThat(ewma.getInFlight()).isZero();
+        ewma.start();
+        assertThat(ewma.getInFlight()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.api_gateway.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitGlobalFilterTests {
+
+    private static final String PROXY = "10.0.0.1";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    /** One request per minute, so that a second request of the same caller is rejected. */
+    private final Route route = Route.async()
+            .id("user-service")
+            .uri("lb://user-service")
+            .predicate(exchange -> true)
+            .metadata(RateLimitGlobalFilter.REQUESTS_METADATA, "1")
+            .metadata(RateLimitGlobalFilter.PERIOD_METADATA, "1m")
+            .build();
+
+    @Test
+    void anonymousCallersBehindATrustedProxyGetTheirOwnBucket() {
+        RateLimitGlobalFilter filter = filter(1);
+
+        assertThat(status(filter, login("203.0.113.7"))).isNull();
+        assertThat(status(filter, login("203.0.113.8"))).isNull();
+        assertThat(status(filter, login("203.0.113.7"))).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void ignoresForwardedAddressesWithoutTrustedProxies() {
+        RateLimitGlobalFilter filter = filter(0);
+
+        assertThat(status(filter, login("203.0.113.7"))).isNull();
+        // A client could otherwise pick a fresh bucket by forging the header
+        assertThat(status(filter, login("203.0.113.8"))).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void removesTheCountersOfRemovedRoutes() {
+        RateLimitGlobalFilter filter = filter(0);
+        status(filter, login("203.0.113.7"));
+        assertThat(meterRegistry.find("gateway.rate.limit").tag("route", "user-service").meters()).hasSize(2);
+
+        filter.removeCountersExcept(Set.of("user-service"));
+        assertThat(meterRegistry.find("gateway.rate.limit").tag("route", "user-service").meters()).hasSize(2);
+
+        filter.removeCountersExcept(Set.of("product-service"));
+        assertThat(meterRegistry.find("gateway.rate.limit").tag("route", "user-service").meters()).isEmpty();
+    }
+
+    private RateLimitGlobalFilter filter(int trustedProxies) {
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return new RateLimitGlobalFilter(beanFactory.getBeanProvider(MeterRegistry.class),
+                1_000, Duration.ofMinutes(10), trustedProxies);
+    }
+
+    private ServerWebExchange login(String client) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/login")
+                .remoteAddress(new InetSocketAddress(PROXY, 443))
+                .header("X-Forwarded-For", client));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private HttpStatus status(RateLimitGlobalFilter filter, ServerWebExchange exchange) {
+        filter.filter(exchange, chain).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.api_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketRateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1_000, Duration.ofMinutes(10));
+
+    /** 10 requests per second, 5 at once. */
+    private final TokenBucketRateLimiter.Limit limit = TokenBucketRateLimiter.Limit.of(10, Duration.ofSeconds(1), 5);
+
+    @Test
+    void allowsABurstUpToTheCapacity() {
+        long now = SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user:alice", limit, now)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("user:alice", limit, now)).isCloseTo(SECOND / 10, within(1_000L));
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        long now = SECOND;
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user:alice", limit, now);
+        }
+
+        // A tenth of a second refills one token
+        now += SECOND / 10;
+        assertThat(limiter.tryAcquire("user:alice", limit, now)).isZero();
+        assertThat(limiter.tryAcquire("user:alice", limit, now)).isPositive();
+
+        // Half of the refill time is left to wait
+        now += SECOND / 20;
+        assertThat(limiter.tryAcquire("user:alice", limit, now)).isCloseTo(SECOND / 20, within(1_000L));
+    }
+
+    @Test
+    void refillNeverExceedsTheBurstCapacity() {
+        long now = SECOND;
+        limiter.tryAcquire("user:alice", limit, now);
+
+        // Idle long enough to refill 100 tokens, yet only 5 fit in the bucket
+        now += 10 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user:alice", limit, now)).isZero();
+        }
+        assertThat(limiter.tryAcquire("user:alice", limit, now)).isPositive();
+    }
+
+    @Test
+    void keepsOneBucketPerKey() {
+        long now = SECOND;
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user:alice", limit, now);
+        }
+
+        assertThat(limiter.tryAcquire("user:alice", limit, now)).isPositive();
+        assertThat(limiter.tryAcquire("user:bob", limit, now)).isZero();
+        assertThat(limiter.bucketCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsLimitsThatAreNotPositive() {
+        assertThatThrownBy(() -> TokenBucketRateLimiter.Limit.of(0, Duration.ofSeconds(1), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenBucketRateLimiter.Limit.of(10, Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenBucketRateLimiter.Limit.of(10, Duration.ZERO, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
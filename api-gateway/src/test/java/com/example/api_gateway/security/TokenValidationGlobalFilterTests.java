@@ -0,0 +1,130 @@
+package com.example.api_gateway.security;
+
+import com.rajugowda.jwt.validator.auth.EdgeIdentityCodec;
+import com.rajugowda.jwt.validator.auth.JwtHeaderKeyIdScanner;
+import com.rajugowda.jwt.validator.auth.TokenParser;
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.auth.cache.VerifiedTokenCache;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.metrics.AuthMetrics;
+import com.rajugowda.jwt.validator.revocation.RevocationChecker;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import com.rajugowda.jwt.validator.secret.Vault;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenValidationGlobalFilterTests {
+
+    private static final KeyPair KEY_PAIR = generateKeyPair();
+
+    private final TokenValidationGlobalFilter filter = filter();
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @Test
+    void forwardsValidTokensWithTheirClaims() {
+        String token = token(Instant.now().plusSeconds(60));
+        filter.filter(exchange(HttpHeaders.COOKIE, "at=" + token), chain).block();
+
+        assertThat(forwarded.get().getRequest().getHeaders().getFirst(HttpHeaders.COOKIE)).isEqualTo("at=" + token);
+        assertThat(forwarded.get().<Object>getAttribute(TokenValidationGlobalFilter.VERIFIED_CLAIMS_ATTRIBUTE)).isNotNull();
+    }
+
+    @Test
+    void forwardsRequestsWithAnExpiredCookieAnonymously() {
+        String token = token(Instant.now().minusSeconds(60));
+        ServerWebExchange exchange = exchange(HttpHeaders.COOKIE, "theme=dark; at=" + token + "; rt=refresh");
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(forwarded.get().getRequest().getHeaders().get(HttpHeaders.COOKIE)).containsExactly("theme=dark; rt=refresh");
+        assertThat(forwarded.get().<Object>getAttribute(TokenValidationGlobalFilter.VERIFIED_CLAIMS_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void removesTheCookieHeaderWhenOnlyTheTokenWasSent() {
+        filter.filter(exchange(HttpHeaders.COOKIE, "at=not-a-token"), chain).block();
+
+        assertThat(forwarded.get().getRequest().getHeaders().containsKey(HttpHeaders.COOKIE)).isFalse();
+    }
+
+    @Test
+    void stripsARejectedBearerToken() {
+        ServerWebExchange exchange = exchange(HttpHeaders.AUTHORIZATION, "Bearer not-a-token");
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(forwarded.get().getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+    }
+
+    @Test
+    void forwardsRequestsWithoutTokenUntouched() {
+        ServerWebExchange exchange = exchange(HttpHeaders.COOKIE, "theme=dark; xat=1");
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded.get().getRequest().getHeaders().getFirst(HttpHeaders.COOKIE)).isEqualTo("theme=dark; xat=1");
+    }
+
+    private static ServerWebExchange exchange(String header, String value) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/login").header(header, value));
+    }
+
+    private static TokenValidationGlobalFilter filter() {
+        var properties = new TokenValidatorProperties();
+        var rejectionCache = new RejectionCache(properties);
+        var vault = new Vault(keyId -> PublicKeyMetaData.builder()
+                .id(keyId)
+                .generateAt(System.currentTimeMillis())
+                .publicKey(Base64.getEncoder().encodeToString(KEY_PAIR.getPublic().getEncoded()))
+                .build(), rejectionCache, properties);
+        var tokenParser = new TokenParser(vault, new VerifiedTokenCache(properties), rejectionCache, new JwtHeaderKeyIdScanner());
+        var beanFactory = new StaticListableBeanFactory();
+        return new TokenValidationGlobalFilter(tokenParser, new EdgeIdentityCodec(properties),
+                beanFactory.getBeanProvider(AuthMetrics.class), beanFactory.getBeanProvider(RevocationChecker.class));
+    }
+
+    private static String token(Instant expiration) {
+        return Jwts.builder()
+                .setHeaderParam(ClaimNames.PUB_KEY_ID, "key-1")
+                .claim(ClaimNames.USERNAME, "alice")
+                .claim(ClaimNames.ROLE, "CUSTOMER")
+                .setIssuedAt(Date.from(expiration.minusSeconds(300)))
+                .setExpiration(Date.from(expiration))
+                .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.order.security;
 
 import com.rajugowda.jwt.validator.filters.FilterFactory;
-import com.rajugowda.jwt.validator.filters.JwtFailFastAuthFilter;
+import com.rajugowda.jwt.validator.filters.JwtEdgeIdentityFailFastAuthFilter;
 import com.rajugowda.jwt.validator.util.TokenType;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +13,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -42,7 +43,10 @@ public class SecurityConfig {
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(
-                        filterFactory.createJwtFilter(JwtFailFastAuthFilter.class, TokenType.ACCESS),
+                        filterFactory.createConcurrencyLimitFilter(),
+                        SecurityContextHolderFilter.class)
+                .addFilterBefore(
+                        filterFactory.createJwtFilter(JwtEdgeIdentityFailFastAuthFilter.class, TokenType.ACCESS),
                         UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
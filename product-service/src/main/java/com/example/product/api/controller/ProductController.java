@@ -7,15 +7,26 @@ import com.example.product.shared.CustomPage;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("${app.base-url}")
 @AllArgsConstructor
 public class ProductController {
 
+    /**
+     * Catalog reads are public: shared caches (the gateway's response cache) and browsers may keep them for 30s,
+     * then serve them for another 30s while revalidating.
+     */
+    private static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30))
+            .cachePublic()
+            .staleWhileRevalidate(Duration.ofSeconds(30));
+
     private final ProductService productService;
 
     @PostMapping
@@ -28,14 +39,18 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
         ProductResponse productResponse = productService.getProductById(id);
-        return ResponseEntity.ok(productResponse);
+        return ResponseEntity.ok()
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .body(productResponse);
     }
 
     @GetMapping
     public ResponseEntity<CustomPage<ProductResponse>> getAllProducts(@RequestParam int page, @RequestParam int size) {
         Page<ProductResponse> pageResponse = productService.getAllProducts(page, size);
         CustomPage<ProductResponse> responses = productService.convertToCustomPage(pageResponse);
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .body(responses);
     }
 
     @PutMapping("/{id}")
@@ -55,7 +70,10 @@ public class ProductController {
     @GetMapping("/{id}/availability")
     public ResponseEntity<Boolean> checkProductAvailability(@PathVariable Long id, @RequestParam int quantity) {
         boolean response = productService.checkProductAvailability(id, quantity);
-        return ResponseEntity.ok(response); // Placeholder for actual implementation
+        // Stock is live: neither cached nor shared between concurrent callers by the gateway
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(response); // Placeholder for actual implementation
     }
 
 }
@@ -1,7 +1,7 @@
 package com.example.product.security;
 
 import com.rajugowda.jwt.validator.filters.FilterFactory;
-import com.rajugowda.jwt.validator.filters.JwtAuthFilter;
+import com.rajugowda.jwt.validator.filters.JwtEdgeIdentityAuthFilter;
 import com.rajugowda.jwt.validator.util.TokenType;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +16,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -55,7 +56,10 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .addFilterBefore(
-                        filterFactory.createJwtFilter(JwtAuthFilter.class, TokenType.ACCESS),
+                        filterFactory.createConcurrencyLimitFilter(),
+                        SecurityContextHolderFilter.class)
+                .addFilterBefore(
+                        filterFactory.createJwtFilter(JwtEdgeIdentityAuthFilter.class, TokenType.ACCESS),
                         UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
@@ -0,0 +1,72 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import com.rajugowda.jwt.validator.util.TokenType;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the allocations of the happy path of {@code JwtAuthFilter}: a valid token served from the verified
+ * token cache, through {@code Authenticator.authenticate}, compared with the {@code JwtAuthOrchestrator} path.
+ * <p>
+ * The request is reused, so that only the library's own allocations are measured. Run it with {@code -prof gc}
+ * and compare {@code gc.alloc.rate.norm} (bytes per operation) with and without the shared authentication of
+ * the {@code AuthenticationCache}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthAllocationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean authenticationCache;
+
+    private AuthPipeline pipeline;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        KeyPair keyPair = TokenFixtures.generateKeyPair();
+        String keyId = UUID.randomUUID().toString();
+
+        var publicKeysPoolService = new InMemoryPublicKeysPoolService();
+        publicKeysPoolService.register(keyId, keyPair.getPublic());
+        pipeline = AuthPipeline.withAuthenticationCache(publicKeysPoolService, authenticationCache);
+
+        String validToken = TokenFixtures.issueToken(keyPair, keyId, Duration.ofHours(1));
+        pipeline.tokenParser.parseToken(validToken);
+
+        request = new MockHttpServletRequest();
+        request.setCookies(
+                new Cookie("theme", "dark"),
+                new Cookie(TokenType.ACCESS.getAbbreviation(), validToken));
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        boolean result = pipeline.authenticator.authenticate(request, TokenType.ACCESS, AuthAllocationBenchmark.class);
+        SecurityContextHolder.clearContext();
+        return result;
+    }
+
+    @Benchmark
+    public boolean validTokenThroughOrchestrator() {
+        boolean result = pipeline.authenticator.authenticateForJwt(request)
+                .forTokenType(TokenType.ACCESS)
+                .fromFilter(AuthAllocationBenchmark.class)
+                .orchestrate()
+                .result();
+        SecurityContextHolder.clearContext();
+        return result;
+    }
+}
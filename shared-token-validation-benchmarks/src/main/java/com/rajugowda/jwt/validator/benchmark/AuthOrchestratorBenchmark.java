@@ -0,0 +1,114 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import com.rajugowda.jwt.validator.auth.dto.FailedAuthResponses;
+import com.rajugowda.jwt.validator.util.TokenType;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full per-request authentication path, as run by {@code JwtAuthFilter}: cookie extraction,
+ * {@code JwtAuthOrchestrator.orchestrate} and {@code AuthOrchestrator.updateSecurityContext}.
+ * With {@code metrics}, validations are recorded in a {@code SimpleMeterRegistry}.
+ * The {@code rejected*} benchmarks add the 401 response written by {@code JwtFailFastAuthFilter}, once from the
+ * precomputed body and once from a custom {@code FailedAuthResponse} supplier.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthOrchestratorBenchmark {
+
+    @Param({"false", "true"})
+    public boolean verifiedTokenCache;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private AuthPipeline pipeline;
+    private String validToken;
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        KeyPair keyPair = TokenFixtures.generateKeyPair();
+        String keyId = UUID.randomUUID().toString();
+
+        var publicKeysPoolService = new InMemoryPublicKeysPoolService();
+        publicKeysPoolService.register(keyId, keyPair.getPublic());
+        pipeline = AuthPipeline.create(publicKeysPoolService, verifiedTokenCache, true, metrics);
+
+        validToken = TokenFixtures.issueToken(keyPair, keyId, Duration.ofHours(1));
+        expiredToken = TokenFixtures.issueToken(keyPair, keyId, Duration.ofHours(-1));
+        pipeline.tokenParser.parseToken(validToken);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return orchestrate(validToken);
+    }
+
+    @Benchmark
+    public boolean expiredToken() {
+        return orchestrate(expiredToken);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean contendedValidToken() {
+        return orchestrate(validToken);
+    }
+
+    @Benchmark
+    public boolean rejectedWithPrecomputedResponse() throws IOException {
+        return pipeline.authenticator.authenticateForJwt(requestWith(expiredToken))
+                .forTokenType(TokenType.ACCESS)
+                .fromFilter(AuthOrchestratorBenchmark.class)
+                .orchestrate()
+                .handleUnauthenticated(TokenType.ACCESS)
+                .with(new MockHttpServletResponse())
+                .result();
+    }
+
+    @Benchmark
+    public boolean rejectedWithCustomResponse() throws IOException {
+        return pipeline.authenticator.authenticateForJwt(requestWith(expiredToken))
+                .forTokenType(TokenType.ACCESS)
+                .fromFilter(AuthOrchestratorBenchmark.class)
+                .orchestrate()
+                .handleUnauthenticated(() -> FailedAuthResponses.create(TokenType.ACCESS))
+                .with(new MockHttpServletResponse())
+                .result();
+    }
+
+    private boolean orchestrate(String token) {
+        return pipeline.authenticator.authenticateForJwt(requestWith(token))
+                .forTokenType(TokenType.ACCESS)
+                .fromFilter(AuthOrchestratorBenchmark.class)
+                .orchestrate()
+                .result();
+    }
+
+    private static MockHttpServletRequest requestWith(String token) {
+        var request = new MockHttpServletRequest();
+        request.setCookies(
+                new Cookie("theme", "dark"),
+                new Cookie(TokenType.ACCESS.getAbbreviation(), token));
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import com.rajugowda.jwt.validator.auth.Authenticator;
+import com.rajugowda.jwt.validator.auth.EdgeIdentityCodec;
+import com.rajugowda.jwt.validator.auth.JwtHeaderKeyIdScanner;
+import com.rajugowda.jwt.validator.auth.TokenParser;
+import com.rajugowda.jwt.validator.auth.cache.AuthenticationCache;
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.auth.cache.VerifiedTokenCache;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.metrics.AuthMetrics;
+import com.rajugowda.jwt.validator.metrics.MicrometerAuthMetrics;
+import com.rajugowda.jwt.validator.revocation.RevocationChecker;
+import com.rajugowda.jwt.validator.secret.Vault;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/**
+ * Wires the token validation components by hand, the way the Spring context of a consuming service would.
+ */
+public final class AuthPipeline {
+
+    final TokenValidatorProperties properties;
+    final InMemoryPublicKeysPoolService publicKeysPoolService;
+    final Vault vault;
+    final TokenParser tokenParser;
+    final Authenticator authenticator;
+
+    private AuthPipeline(TokenValidatorProperties properties,
+                         InMemoryPublicKeysPoolService publicKeysPoolService,
+                         boolean metrics) {
+        this.properties = properties;
+        this.publicKeysPoolService = publicKeysPoolService;
+
+        var rejectionCache = new RejectionCache(properties);
+        var verifiedTokenCache = new VerifiedTokenCache(properties);
+        this.vault = new Vault(publicKeysPoolService, rejectionCache, properties);
+        this.tokenParser = new TokenParser(
+                vault,
+                verifiedTokenCache,
+                rejectionCache,
+                new JwtHeaderKeyIdScanner());
+
+        var beanFactory = new StaticListableBeanFactory();
+        if (metrics) {
+            var authMetrics = new MicrometerAuthMetrics(vault, verifiedTokenCache, rejectionCache);
+            authMetrics.bindTo(new SimpleMeterRegistry());
+            beanFactory.addBean("authMetrics", authMetrics);
+        }
+        this.authenticator = new Authenticator(
+                tokenParser,
+                new EdgeIdentityCodec(properties),
+                new AuthenticationCache(properties),
+                beanFactory.getBeanProvider(AuthMetrics.class),
+                beanFactory.getBeanProvider(RevocationChecker.class));
+    }
+
+    /**
+     * @param verifiedTokenCache whether verified tokens are served from the cache
+     * @param negativeCache      whether rejected key ids and tokens are remembered
+     */
+    public static AuthPipeline create(InMemoryPublicKeysPoolService publicKeysPoolService,
+                                      boolean verifiedTokenCache,
+                                      boolean negativeCache) {
+        return create(publicKeysPoolService, verifiedTokenCache, negativeCache, false);
+    }
+
+    /**
+     * @param verifiedTokenCache whether verified tokens are served from the cache
+     * @param negativeCache      whether rejected key ids and tokens are remembered
+     * @param metrics            whether validations are recorded in a Micrometer registry
+     */
+    public static AuthPipeline create(InMemoryPublicKeysPoolService publicKeysPoolService,
+                                      boolean verifiedTokenCache,
+                                      boolean negativeCache,
+                                      boolean metrics) {
+        var properties = new TokenValidatorProperties();
+        properties.getVerifiedTokenCache().setEnabled(verifiedTokenCache);
+        properties.getNegativeCache().setEnabled(negativeCache);
+        return new AuthPipeline(properties, publicKeysPoolService, metrics);
+    }
+
+    /**
+     * @param authenticationCache whether the authentication of each user is shared between requests
+     */
+    public static AuthPipeline withAuthenticationCache(InMemoryPublicKeysPoolService publicKeysPoolService,
+                                                       boolean authenticationCache) {
+        var properties = new TokenValidatorProperties();
+        properties.getAuthenticationCache().setEnabled(authenticationCache);
+        return new AuthPipeline(properties, publicKeysPoolService, false);
+    }
+}
@@ -0,0 +1,40 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolService;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PublicKeysPoolService} holding key metadata in memory, standing in for the Redis backed
+ * {@code public-key-pool} cache so benchmarks measure the library rather than the network.
+ */
+public class InMemoryPublicKeysPoolService implements PublicKeysPoolService {
+
+    private final Map<String, PublicKeyMetaData> metaDataById = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+
+    public PublicKeyMetaData register(String keyId, PublicKey publicKey) {
+        var metaData = PublicKeyMetaData.builder()
+                .id(keyId)
+                .generateAt(System.currentTimeMillis())
+                .publicKey(Base64.getEncoder().encodeToString(publicKey.getEncoded()))
+                .build();
+        metaDataById.put(keyId, metaData);
+        return metaData;
+    }
+
+    @Override
+    public PublicKeyMetaData loadPublicKeyMetaData(String keyId) {
+        lookups.increment();
+        return metaDataById.get(keyId);
+    }
+
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+}
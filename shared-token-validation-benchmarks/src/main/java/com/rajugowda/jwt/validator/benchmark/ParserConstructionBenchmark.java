@@ -0,0 +1,57 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a {@link JwtParser} on every call (the former {@code TokenParser} behaviour)
+ * against reusing the parser the {@code Vault} prebuilds per key id.
+ * <p>
+ * Run with {@code -prof gc} to see the allocation rate per operation next to the latency.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserConstructionBenchmark {
+
+    private KeyPair keyPair;
+    private JwtParser prebuiltParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        keyPair = TokenFixtures.generateKeyPair();
+        prebuiltParser = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+        token = TokenFixtures.issueToken(keyPair, UUID.randomUUID().toString(), Duration.ofHours(1));
+    }
+
+    @Benchmark
+    public Claims perCallBuilder() {
+        return Jwts.parserBuilder()
+                .setSigningKey(keyPair.getPublic())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims prebuiltParser() {
+        return prebuiltParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public JwtParser parserConstructionOnly() {
+        return Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+    }
+}
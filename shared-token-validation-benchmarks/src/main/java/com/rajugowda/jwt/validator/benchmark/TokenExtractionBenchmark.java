@@ -0,0 +1,97 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import com.rajugowda.jwt.validator.util.TokenExtractor;
+import com.rajugowda.jwt.validator.util.TokenType;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of locating the access token of a request.
+ * <p>
+ * {@code cookieArray} emulates {@code request.getCookies()}: every cookie of the {@code Cookie} header is parsed
+ * into a {@link Cookie} before the array is searched, as the container does. {@code rawCookieHeader} scans the
+ * header for the one cookie with {@link TokenExtractor#findCookie(String, String)}, and {@code bearerHeader}
+ * reads an {@code Authorization} header. Run it with {@code -prof gc} to compare the bytes allocated per lookup.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenExtractionBenchmark {
+
+    private static final String TOKEN_COOKIE = TokenType.ACCESS.getAbbreviation();
+
+    /**
+     * Number of cookies sent alongside the token (analytics, consent, session and preference cookies).
+     */
+    @Param({"2", "10", "25"})
+    public int otherCookies;
+
+    /**
+     * Whether the token cookie comes first or last in the header.
+     */
+    @Param({"first", "last"})
+    public String tokenPosition;
+
+    private String cookieHeader;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        KeyPair keyPair = TokenFixtures.generateKeyPair();
+        String token = TokenFixtures.issueToken(keyPair, UUID.randomUUID().toString(), Duration.ofHours(1));
+
+        StringBuilder others = new StringBuilder();
+        for (int i = 0; i < otherCookies; i++) {
+            others.append("; _pref").append(i).append('=').append(UUID.randomUUID());
+        }
+
+        String tokenPair = TOKEN_COOKIE + '=' + token;
+        cookieHeader = tokenPosition.equals("first")
+                ? tokenPair + others
+                : others.substring(2) + "; " + tokenPair;
+        authorizationHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public String cookieArray() {
+        for (Cookie cookie : parseCookies(cookieHeader)) {
+            if (cookie.getName().equals(TOKEN_COOKIE)) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String rawCookieHeader() {
+        return TokenExtractor.findCookie(cookieHeader, TOKEN_COOKIE);
+    }
+
+    @Benchmark
+    public String bearerHeader() {
+        return TokenExtractor.bearerToken(authorizationHeader);
+    }
+
+    /**
+     * Materializes every cookie of the header, the work done by the container behind {@code getCookies()}.
+     */
+    private static Cookie[] parseCookies(String header) {
+        String[] pairs = header.split(";");
+        Cookie[] cookies = new Cookie[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            String pair = pairs[i].trim();
+            int separator = pair.indexOf('=');
+            cookies[i] = new Cookie(pair.substring(0, separator), pair.substring(separator + 1));
+        }
+        return cookies;
+    }
+}
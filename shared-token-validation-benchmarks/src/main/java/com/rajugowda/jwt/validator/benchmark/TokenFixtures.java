@@ -0,0 +1,45 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Issues tokens the same way user-service does (RS256, key id in the {@code pubkid} header),
+ * so benchmarks exercise the library with realistic input.
+ */
+public final class TokenFixtures {
+
+    private TokenFixtures() {
+    }
+
+    public static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String issueToken(KeyPair keyPair, String keyId, Duration validity) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setHeaderParam(ClaimNames.PUB_KEY_ID, keyId)
+                .claim(ClaimNames.USERNAME, "benchmark-user")
+                .claim(ClaimNames.EMAIL, "benchmark-user@example.com")
+                .claim(ClaimNames.ROLE, "CUSTOMER")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(validity)))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+}
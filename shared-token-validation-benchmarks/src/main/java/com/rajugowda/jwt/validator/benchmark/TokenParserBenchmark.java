@@ -0,0 +1,97 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code TokenParser.parseToken} against a warm {@code Vault} for the token shapes seen in production:
+ * valid, expired, signed with an unknown key id, and malformed.
+ * <p>
+ * The caches in front of the signature verification are toggled through parameters, so the raw verification
+ * cost and the cached path can be compared. The {@code contended*} variants run the same work on 8 threads.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenParserBenchmark {
+
+    @Param({"false", "true"})
+    public boolean verifiedTokenCache;
+
+    @Param({"false", "true"})
+    public boolean negativeCache;
+
+    private AuthPipeline pipeline;
+    private String validToken;
+    private String expiredToken;
+    private String unknownKeyIdToken;
+    private String malformedToken;
+
+    @Setup
+    public void setUp() {
+        KeyPair keyPair = TokenFixtures.generateKeyPair();
+        String keyId = UUID.randomUUID().toString();
+
+        var publicKeysPoolService = new InMemoryPublicKeysPoolService();
+        publicKeysPoolService.register(keyId, keyPair.getPublic());
+        pipeline = AuthPipeline.create(publicKeysPoolService, verifiedTokenCache, negativeCache);
+
+        validToken = TokenFixtures.issueToken(keyPair, keyId, Duration.ofHours(1));
+        expiredToken = TokenFixtures.issueToken(keyPair, keyId, Duration.ofHours(-1));
+        unknownKeyIdToken = TokenFixtures.issueToken(keyPair, UUID.randomUUID().toString(), Duration.ofHours(1));
+        malformedToken = validToken.substring(0, validToken.lastIndexOf('.') + 1) + "bm90LWEtc2lnbmF0dXJl";
+
+        // Warm the Vault, so the key load is not part of the measurement
+        pipeline.tokenParser.parseToken(validToken);
+    }
+
+    @Benchmark
+    public Claims validToken() {
+        return pipeline.tokenParser.parseToken(validToken);
+    }
+
+    @Benchmark
+    public void expiredToken(Blackhole blackhole) {
+        parseExpectingFailure(expiredToken, blackhole);
+    }
+
+    @Benchmark
+    public void unknownKeyId(Blackhole blackhole) {
+        parseExpectingFailure(unknownKeyIdToken, blackhole);
+    }
+
+    @Benchmark
+    public void malformedSignature(Blackhole blackhole) {
+        parseExpectingFailure(malformedToken, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Claims contendedValidToken() {
+        return pipeline.tokenParser.parseToken(validToken);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void contendedUnknownKeyId(Blackhole blackhole) {
+        parseExpectingFailure(unknownKeyIdToken, blackhole);
+    }
+
+    private void parseExpectingFailure(String token, Blackhole blackhole) {
+        try {
+            blackhole.consume(pipeline.tokenParser.parseToken(token));
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.rajugowda.jwt.validator.benchmark;
+
+import io.jsonwebtoken.JwtParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code Vault} lookups when the key is already pooled (warm) against the first lookup of a key
+ * on a fresh Vault (cold), which pays the metadata load, the X.509 decode and the parser construction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VaultBenchmark {
+
+    private InMemoryPublicKeysPoolService publicKeysPoolService;
+    private String keyId;
+    private AuthPipeline warmPipeline;
+
+    @Setup
+    public void setUp() {
+        KeyPair keyPair = TokenFixtures.generateKeyPair();
+        keyId = UUID.randomUUID().toString();
+
+        publicKeysPoolService = new InMemoryPublicKeysPoolService();
+        publicKeysPoolService.register(keyId, keyPair.getPublic());
+
+        warmPipeline = AuthPipeline.create(publicKeysPoolService, true, true);
+        warmPipeline.vault.getParser(keyId);
+    }
+
+    @State(Scope.Thread)
+    public static class ColdVault {
+        AuthPipeline pipeline;
+
+        @Setup(Level.Invocation)
+        public void setUp(VaultBenchmark benchmark) {
+            pipeline = AuthPipeline.create(benchmark.publicKeysPoolService, true, true);
+        }
+    }
+
+    @Benchmark
+    public JwtParser warmLookup() {
+        return warmPipeline.vault.getParser(keyId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JwtParser contendedWarmLookup() {
+        return warmPipeline.vault.getParser(keyId);
+    }
+
+    @Benchmark
+    public JwtParser coldLoad(ColdVault coldVault) {
+        return coldVault.pipeline.vault.getParser(keyId);
+    }
+}
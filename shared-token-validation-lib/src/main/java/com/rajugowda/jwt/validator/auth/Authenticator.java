@@ -1,9 +1,19 @@
 package com.rajugowda.jwt.validator.auth;
 
+import com.rajugowda.jwt.validator.auth.cache.AuthenticationCache;
+import com.rajugowda.jwt.validator.auth.orchestrate.EdgeIdentityAuthOrchestrator;
 import com.rajugowda.jwt.validator.auth.orchestrate.JwtAuthOrchestrator;
+import com.rajugowda.jwt.validator.metrics.AuthMetrics;
+import com.rajugowda.jwt.validator.revocation.RevocationChecker;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import com.rajugowda.jwt.validator.util.TokenExtractor;
+import com.rajugowda.jwt.validator.util.TokenType;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,13 +24,29 @@ import org.springframework.stereotype.Component;
  *                                      .forTokenType(TokenType.ACCESS)
  *                                      .orchestrate();
  * </pre>
+ * The library's filters use {@link #authenticate(HttpServletRequest, TokenType, Class)} and
+ * {@link #authenticateWithEdgeIdentity(HttpServletRequest, TokenType, Class)} instead, which do the same without
+ * creating an orchestrator per request.
+ * Only registered in servlet applications; reactive applications use the {@link TokenParser} directly.
  */
 @Component
-@AllArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class Authenticator {
 
-    private final TokenParser tokenParser;
+    private final TokenVerifier tokenVerifier;
+    private final AuthenticationCache authenticationCache;
+
+    public Authenticator(TokenParser tokenParser,
+                         EdgeIdentityCodec edgeIdentityCodec,
+                         AuthenticationCache authenticationCache,
+                         ObjectProvider<AuthMetrics> authMetrics,
+                         ObjectProvider<RevocationChecker> revocationChecker) {
+        this.tokenVerifier = new TokenVerifier(tokenParser, edgeIdentityCodec,
+                authMetrics.getIfAvailable(() -> AuthMetrics.NOOP),
+                revocationChecker.getIfAvailable(() -> RevocationChecker.NONE));
+        this.authenticationCache = authenticationCache;
+    }
 
     /**
      * The method is used to authenticate a JWT token from the request.
@@ -28,6 +54,66 @@ public class Authenticator {
      * @return a {@link JwtAuthOrchestrator} instance to further configure the authentication process.
      */
     public JwtAuthOrchestrator authenticateForJwt(HttpServletRequest request) {
-        return new JwtAuthOrchestrator(tokenParser, request);
+        return new JwtAuthOrchestrator(tokenVerifier, request, authenticationCache);
+    }
+
+    /**
+     * The method is used to authenticate a request from the identity forwarded by the gateway,
+     * falling back to its JWT token when no valid identity is forwarded.
+     * @param request the HTTP request that has to be authenticated.
+     * @return a {@link EdgeIdentityAuthOrchestrator} instance to further configure the authentication process.
+     */
+    public EdgeIdentityAuthOrchestrator authenticateForEdgeIdentity(HttpServletRequest request) {
+        return new EdgeIdentityAuthOrchestrator(tokenVerifier, request, authenticationCache);
+    }
+
+    /**
+     * Authenticates the request from its token of the given type, like
+     * {@code authenticateForJwt(request).forTokenType(type).fromFilter(filterClass).orchestrate().result()}
+     * but without creating an orchestrator.
+     * @param request     the HTTP request that has to be authenticated.
+     * @param type        the type of the token to validate.
+     * @param filterClass the calling filter, used to tag the recorded metrics.
+     * @return {@code true} if the request was authenticated and the security context updated.
+     */
+    public boolean authenticate(HttpServletRequest request, TokenType type, Class<?> filterClass) {
+        String token = TokenExtractor.extract(request, type);
+        if (token == null || token.isEmpty()) {
+            log.warn("Token not found in request.");
+            return false;
+        }
+
+        Claims claims = tokenVerifier.verify(token, type, filterClass.getSimpleName());
+        if (claims == null) {
+            log.debug("Token is invalid. Authentication failed.");
+            return false;
+        }
+
+        updateSecurityContext(claims.get(ClaimNames.USERNAME, String.class), claims.get(ClaimNames.ROLE, String.class));
+        return true;
+    }
+
+    /**
+     * Authenticates the request from the identity forwarded by the gateway, falling back to its token of the given
+     * type, like {@link #authenticateForEdgeIdentity(HttpServletRequest)} but without creating an orchestrator.
+     * @param request     the HTTP request that has to be authenticated.
+     * @param type        the type of the token to validate when no valid identity is forwarded.
+     * @param filterClass the calling filter, used to tag the recorded metrics.
+     * @return {@code true} if the request was authenticated and the security context updated.
+     */
+    public boolean authenticateWithEdgeIdentity(HttpServletRequest request, TokenType type, Class<?> filterClass) {
+        EdgeIdentityCodec.Identity identity = tokenVerifier.verifyEdgeIdentity(request, type);
+        if (identity == null) {
+            return authenticate(request, type, filterClass);
+        }
+
+        log.debug("Edge identity is valid. Updating security context.");
+        updateSecurityContext(identity.username(), identity.role());
+        return true;
+    }
+
+    private void updateSecurityContext(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(authenticationCache.get(username, role));
+        log.debug("Security context updated with username: {}", username);
     }
 }
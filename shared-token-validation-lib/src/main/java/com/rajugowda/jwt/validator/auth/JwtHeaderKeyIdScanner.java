@@ -0,0 +1,269 @@
+package com.rajugowda.jwt.validator.auth;
+
+import com.rajugowda.jwt.validator.exceptions.InvalidJwtException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyIdentifierException;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Extracts the public key ID ({@link ClaimNames#PUB_KEY_ID}) from the header of a compact JWT
+ * without splitting the token, building intermediate strings, or creating an {@code ObjectMapper}.
+ * <p>
+ * Only the characters before the first {@code '.'} are looked at. Since every token signed with the same key
+ * carries the very same header segment, recently seen header segments are remembered in a small direct-mapped
+ * cache, making repeat headers a hash plus a region compare. On a cache miss, only the header is Base64-decoded
+ * and the resulting JSON bytes are scanned by a minimal streaming parser.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JwtHeaderKeyIdScanner {
+
+    private static final int CACHE_SLOTS = 64;
+    private static final byte[] PUB_KEY_ID = ClaimNames.PUB_KEY_ID.getBytes(StandardCharsets.US_ASCII);
+
+    private final HeaderEntry[] recentHeaders = new HeaderEntry[CACHE_SLOTS];
+
+    /**
+     * Extracts the public key ID from the token's header.
+     *
+     * @param token the JWT token string
+     * @return the public key ID found in the header, never null or empty
+     * @throws InvalidJwtException                 if the token has no header segment or the header is not valid JSON
+     * @throws InvalidPublicKeyException           if the header can't be Base64-decoded
+     * @throws InvalidPublicKeyIdentifierException if the token header lacks a valid public key ID
+     */
+    public String extractPublicKeyId(String token)
+            throws InvalidJwtException, InvalidPublicKeyException, InvalidPublicKeyIdentifierException {
+        // JWT tokens should contain header, payload, and signature
+        final int headerEnd = token.indexOf('.');
+        if (headerEnd <= 0) {
+            log.debug("Invalid JWT token format.");
+            throw new InvalidJwtException("Invalid JWT token format");
+        }
+
+        final int hash = hashHeader(token, headerEnd);
+        final int slot = hash & (CACHE_SLOTS - 1);
+        final HeaderEntry cached = recentHeaders[slot];
+        if (cached != null && cached.matches(token, headerEnd, hash)) {
+            return cached.publicKeyId();
+        }
+
+        final String header = token.substring(0, headerEnd);
+        final String publicKeyId = scanPublicKeyId(decodeHeader(header));
+        recentHeaders[slot] = new HeaderEntry(header, hash, publicKeyId);
+
+        log.debug("Public Key ID extracted: {}", publicKeyId);
+        return publicKeyId;
+    }
+
+    private static int hashHeader(String token, int headerEnd) {
+        int hash = 0;
+        for (int i = 0; i < headerEnd; i++) {
+            hash = 31 * hash + token.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static byte[] decodeHeader(String header) throws InvalidPublicKeyException {
+        try {
+            return Base64.getUrlDecoder().decode(header);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPublicKeyException("Failed to decode token header", e);
+        }
+    }
+
+    /**
+     * Scans the top-level members of the header JSON object for the public key ID.
+     * Values of other members are skipped without being materialized.
+     */
+    private static String scanPublicKeyId(byte[] json) throws InvalidJwtException, InvalidPublicKeyIdentifierException {
+        final Cursor cursor = new Cursor(json);
+        cursor.expect('{');
+
+        cursor.skipWhitespace();
+        if (cursor.peek() == '}') {
+            throw new InvalidPublicKeyIdentifierException("Public Key ID not found in token header");
+        }
+
+        while (true) {
+            cursor.skipWhitespace();
+            boolean isPublicKeyId = cursor.readKeyEquals(PUB_KEY_ID);
+            cursor.expect(':');
+            cursor.skipWhitespace();
+
+            if (isPublicKeyId) {
+                if (cursor.peek() != '"') break;
+                String publicKeyId = cursor.readString();
+                if (publicKeyId.isEmpty()) break;
+                return publicKeyId;
+            }
+
+            cursor.skipValue();
+            cursor.skipWhitespace();
+            byte next = cursor.next();
+            if (next == '}') break;
+            if (next != ',') throw cursor.malformed();
+        }
+
+        throw new InvalidPublicKeyIdentifierException("Public Key ID not found in token header");
+    }
+
+    /**
+     * A previously scanned header segment along with the public key ID it carries.
+     */
+    private record HeaderEntry(String header, int hash, String publicKeyId) {
+
+        boolean matches(String token, int headerEnd, int tokenHash) {
+            return hash == tokenHash
+                    && header.length() == headerEnd
+                    && token.regionMatches(0, header, 0, headerEnd);
+        }
+    }
+
+    /**
+     * Minimal forward-only JSON reader over the decoded header bytes.
+     */
+    private static final class Cursor {
+        private final byte[] json;
+        private int position;
+
+        private Cursor(byte[] json) {
+            this.json = json;
+        }
+
+        byte peek() {
+            if (position >= json.length) throw malformed();
+            return json[position];
+        }
+
+        byte next() {
+            byte b = peek();
+            position++;
+            return b;
+        }
+
+        void expect(char expected) {
+            skipWhitespace();
+            if (next() != expected) throw malformed();
+        }
+
+        void skipWhitespace() {
+            while (position < json.length) {
+                byte b = json[position];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') return;
+                position++;
+            }
+        }
+
+        /**
+         * Reads a member name and compares it to the expected bytes, without allocating when it has no escapes.
+         */
+        boolean readKeyEquals(byte[] expected) {
+            if (peek() != '"') throw malformed();
+            int start = position + 1;
+            int end = start;
+            while (end < json.length && json[end] != '"' && json[end] != '\\') end++;
+
+            if (end < json.length && json[end] == '"') {
+                position = end + 1;
+                return equalsRegion(start, end, expected);
+            }
+
+            // Escaped member names are rare; decode them the slow way
+            return readString().equals(new String(expected, StandardCharsets.US_ASCII));
+        }
+
+        private boolean equalsRegion(int start, int end, byte[] expected) {
+            if (end - start != expected.length) return false;
+            for (int i = 0; i < expected.length; i++) {
+                if (json[start + i] != expected[i]) return false;
+            }
+            return true;
+        }
+
+        String readString() {
+            if (next() != '"') throw malformed();
+            StringBuilder value = null;
+            int start = position;
+
+            while (true) {
+                byte b = next();
+                if (b == '"') {
+                    if (value == null) return new String(json, start, position - start - 1, StandardCharsets.UTF_8);
+                    return value.append(new String(json, start, position - start - 1, StandardCharsets.UTF_8)).toString();
+                }
+                if (b == '\\') {
+                    if (value == null) value = new StringBuilder();
+                    value.append(new String(json, start, position - start - 1, StandardCharsets.UTF_8));
+                    value.append(unescape());
+                    start = position;
+                }
+            }
+        }
+
+        private char unescape() {
+            byte escaped = next();
+            return switch (escaped) {
+                case '"', '\\', '/' -> (char) escaped;
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'u' -> {
+                    if (position + 4 > json.length) throw malformed();
+                    String hex = new String(json, position, 4, StandardCharsets.US_ASCII);
+                    position += 4;
+                    try {
+                        yield (char) Integer.parseInt(hex, 16);
+                    } catch (NumberFormatException e) {
+                        throw malformed();
+                    }
+                }
+                default -> throw malformed();
+            };
+        }
+
+        /**
+         * Skips a single JSON value of any type, including nested objects and arrays.
+         */
+        void skipValue() {
+            byte first = peek();
+            if (first == '"') {
+                readString();
+                return;
+            }
+            if (first == '{' || first == '[') {
+                int depth = 0;
+                do {
+                    byte b = peek();
+                    if (b == '"') {
+                        readString();
+                        continue;
+                    }
+                    position++;
+                    if (b == '{' || b == '[') depth++;
+                    else if (b == '}' || b == ']') depth--;
+                } while (depth > 0);
+                return;
+            }
+            // numbers, true, false and null
+            while (position < json.length) {
+                byte b = json[position];
+                if (b == ',' || b == '}' || b == ' ' || b == '\t' || b == '\n' || b == '\r') return;
+                position++;
+            }
+        }
+
+        InvalidJwtException malformed() {
+            log.debug("Failed to decode token header.");
+            return new InvalidJwtException("Error parsing token header");
+        }
+    }
+}
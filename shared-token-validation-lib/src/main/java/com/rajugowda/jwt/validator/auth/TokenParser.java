@@ -1,28 +1,35 @@
 
 package com.rajugowda.jwt.validator.auth;
 
+import com.rajugowda.jwt.validator.auth.cache.ReadOnlyClaims;
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.auth.cache.VerifiedTokenCache;
 import com.rajugowda.jwt.validator.exceptions.InvalidJwtException;
 import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyException;
 import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyIdentifierException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyMetaDataException;
 import com.rajugowda.jwt.validator.exceptions.PublicKeyForTokenNotFoundException;
+import com.rajugowda.jwt.validator.exceptions.PublicKeyLoadException;
+import com.rajugowda.jwt.validator.exceptions.RejectedTokenException;
+import com.rajugowda.jwt.validator.exceptions.RetiredPublicKeyException;
 import com.rajugowda.jwt.validator.secret.Vault;
-import com.rajugowda.jwt.validator.util.ClaimNames;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rajugowda.jwt.validator.util.TokenDigests;
 import io.jsonwebtoken.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.PublicKey;
-import java.util.Base64;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Responsible for parsing JWT tokens and extracting their claims using a provided {@link Vault}.
  * This parser retrieves the corresponding public key from the Vault using the token's key ID,
  * then attempts to parse and validate the token's claims.
+ * <p>
+ * Tokens that were verified recently are served from the {@link VerifiedTokenCache}, skipping the signature verification.
+ * Tokens that were rejected recently are refused through the {@link RejectionCache} without being parsed again.
+ * </p>
  */
 @Component
 @AllArgsConstructor
@@ -30,6 +37,9 @@ import java.util.Map;
 public class TokenParser {
 
     private final Vault vault;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RejectionCache rejectionCache;
+    private final JwtHeaderKeyIdScanner headerKeyIdScanner;
 
     /**
      * Parses the provided JWT token to extract claims using the public key retrieved from the {@link Vault}.
@@ -39,6 +49,9 @@ public class TokenParser {
      * @throws IllegalArgumentException             if the token is null or has invalid format
      * @throws PublicKeyForTokenNotFoundException   if a matching public key is not found
      * @throws InvalidPublicKeyIdentifierException  if the key ID in the token header is missing or invalid
+     * @throws InvalidPublicKeyMetaDataException    if the key ID is unknown to the key source, or was rejected recently
+     * @throws RetiredPublicKeyException            if the key ID is retired
+     * @throws PublicKeyLoadException               if the key source failed or timed out loading the public key
      * @throws InvalidJwtException                  if parsing fails due to token expiration or corruption
      */
     public Claims parseToken(String token) throws IllegalArgumentException,
@@ -49,100 +62,133 @@ public class TokenParser {
             throw new IllegalArgumentException("Token cannot be null");
         }
 
-        log.info("Parsing token...");
+        log.debug("Parsing token...");
 
-        // Extract the public key ID from the token header
-        final String publicKeyId = extractPublicKeyId(token);
-        // Retrieve the public key from the Vault
-        final PublicKey publicKey = vault.getPublicKey(publicKeyId);
+        // Serve recently verified tokens without verifying the signature again
+        final String tokenDigest = TokenDigests.sha256(token);
+        final Claims cachedClaims = verifiedTokenCache.get(tokenDigest);
+        if (cachedClaims != null) {
+            log.debug("Token found in verified token cache.");
+            return cachedClaims;
+        }
 
-        if (publicKey == null) {
-            throw new PublicKeyForTokenNotFoundException("Public key not found for token.");
+        if (rejectionCache.isTokenRejected(tokenDigest)) {
+            log.debug("Token was rejected recently; refusing it again.");
+            throw new RejectedTokenException("Token rejected");
         }
 
-        // Parse token with the retrieved public key
-        return parseTokenWithKey(token, publicKey);
+        try {
+            final Claims claims = verify(token);
+            verifiedTokenCache.put(tokenDigest, claims);
+            return claims;
+        } catch (RuntimeException e) {
+            rejectIfDeterministic(tokenDigest, e);
+            throw e;
+        }
     }
 
     /**
-     * Parses the token using the provided public key object.
+     * The non-blocking variant of {@link #parseToken(String)}, for reactive callers.
+     * <p>
+     * Tokens whose public key is pooled (or that are served from the caches) complete immediately on the calling
+     * thread. Otherwise, the key is loaded through {@link Vault#getParserAsync(String)} and the signature is verified
+     * on the thread completing the load.
+     * </p>
      *
-     * @param token     the JWT token string
-     * @param publicKey the public key to be used for verification
-     * @return the valid claims if parsing was successful
-     * @throws InvalidJwtException if the token is expired, malformed, or unsupported
+     * @param token the JWT token string
+     * @return a future completed with the verified claims, or failed with the exception {@link #parseToken(String)}
+     * would throw
      */
-    private Claims parseTokenWithKey(String token, PublicKey publicKey) throws InvalidJwtException {
+    public CompletableFuture<Claims> parseTokenAsync(String token) {
+        if (token == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Token cannot be null"));
+        }
+
+        final String tokenDigest = TokenDigests.sha256(token);
+        final Claims cachedClaims = verifiedTokenCache.get(tokenDigest);
+        if (cachedClaims != null) {
+            return CompletableFuture.completedFuture(cachedClaims);
+        }
+
+        if (rejectionCache.isTokenRejected(tokenDigest)) {
+            return CompletableFuture.failedFuture(new RejectedTokenException("Token rejected"));
+        }
+
+        final CompletableFuture<JwtParser> parser;
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(publicKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (ExpiredJwtException e) {
-            log.warn("Token expired: {}", e.getMessage());
-            throw new InvalidJwtException("Token expired", e);
-        } catch (MalformedJwtException | UnsupportedJwtException e) {
-            log.warn("Malformed or unsupported token: {}", e.getMessage());
-            throw new InvalidJwtException("Invalid token", e);
-        } catch (JwtException e) {
-            log.warn("General JWT error: {}", e.getMessage());
-            throw new InvalidJwtException("Token parsing error", e);
+            parser = vault.getParserAsync(headerKeyIdScanner.extractPublicKeyId(token));
+        } catch (RuntimeException e) {
+            rejectIfDeterministic(tokenDigest, e);
+            return CompletableFuture.failedFuture(e);
         }
+
+        return parser
+                .thenApply(keyParser -> parseTokenWithParser(token, keyParser))
+                .whenComplete((claims, error) -> {
+                    if (claims != null) {
+                        verifiedTokenCache.put(tokenDigest, claims);
+                    } else {
+                        rejectIfDeterministic(tokenDigest,
+                                error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                    }
+                });
     }
 
     /**
-     * Extracts the public key ID from the token's header.
-     *
-     * @param token the JWT token string
-     * @return the public key ID found in the header
-     * @throws IllegalArgumentException if the token header is not in Base64 format
-     * @throws InvalidPublicKeyException if the header can't be decoded properly
-     * @throws InvalidPublicKeyIdentifierException if the token header lacks a valid public key ID
+     * Remembers only deterministic rejections; failures of the key source are worth retrying.
+     * <p>
+     * An unknown key id is not remembered per token: the key may be published moments later, upon which the
+     * {@link Vault} forgets the key id in the {@link RejectionCache}, and the token must then be accepted.
+     * </p>
      */
-    private String extractPublicKeyId(String token) throws IllegalArgumentException, InvalidPublicKeyException, InvalidPublicKeyIdentifierException {
-        // JWT tokens should contain header, payload, and signature
-        final String[] tokenParts = token.split("\\.");
-        if (tokenParts.length < 2) {
-            log.error("Invalid JWT token format.");
-            throw new InvalidJwtException("Invalid JWT token format");
+    private void rejectIfDeterministic(String tokenDigest, Throwable e) {
+        if (e instanceof InvalidJwtException || e instanceof InvalidPublicKeyIdentifierException
+                || e instanceof InvalidPublicKeyException || e instanceof RetiredPublicKeyException) {
+            rejectionCache.rejectToken(tokenDigest);
         }
+    }
 
-        // Decode the header (Base64 URL decoding)
-        try {
-            byte[] decodedHeaderBytes = Base64.getUrlDecoder().decode(tokenParts[0]);
-            String headerJson = new String(decodedHeaderBytes, StandardCharsets.UTF_8);
+    /**
+     * Verifies the token's signature with the public key referenced by its header.
+     *
+     * @param token the JWT token string
+     * @return the verified claims of the token
+     */
+    private Claims verify(String token) {
+        // Extract the public key ID from the token header
+        final String publicKeyId = headerKeyIdScanner.extractPublicKeyId(token);
+        // Retrieve the parser prebuilt for the public key from the Vault
+        final JwtParser parser = vault.getParser(publicKeyId);
 
-            return retrievePublicKeyIdFromHeader(headerJson);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidPublicKeyException("Failed to decode token header", e);
+        if (parser == null) {
+            throw new PublicKeyForTokenNotFoundException("Public key not found for token.");
         }
+
+        // Parse token with the parser bound to the retrieved public key
+        return parseTokenWithParser(token, parser);
     }
 
     /**
-     * Attempts to parse the token header JSON to retrieve the public key ID using {@link ClaimNames#PUB_KEY_ID}.
+     * Parses the token using the parser bound to the token's public key.
      *
-     * @param headerJson the token header in JSON format
-     * @return the public key ID found in the header, never null or empty
-     * @throws InvalidPublicKeyIdentifierException if the token header lacks a valid public key ID
-     * @throws InvalidJwtException if parsing the JSON fails
+     * @param token  the JWT token string
+     * @param parser the prebuilt parser holding the public key to be used for verification
+     * @return the valid claims if parsing was successful, as a {@link ReadOnlyClaims} view since they are cached
+     * @throws InvalidJwtException if the token is expired, malformed, or unsupported
      */
-    private String retrievePublicKeyIdFromHeader(String headerJson)
-            throws InvalidPublicKeyIdentifierException, InvalidJwtException {
+    private Claims parseTokenWithParser(String token, JwtParser parser) throws InvalidJwtException {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            Map<String, Object> headerMap = mapper.readValue(headerJson, new TypeReference<>() {});
-
-            String publicKeyId = (String) headerMap.get(ClaimNames.PUB_KEY_ID);
-            if (publicKeyId == null || publicKeyId.isEmpty()) {
-                throw new InvalidPublicKeyIdentifierException("Public Key ID not found in token header");
-            }
-
-            log.info("Public Key ID extracted: {}", publicKeyId);
-            return publicKeyId;
-        } catch (Exception e) {
-            log.error("Failed to decode token header.");
-            throw new InvalidJwtException("Error parsing token header", e);
+            return ReadOnlyClaims.of(parser.parseClaimsJws(token)
+                    .getBody());
+        } catch (ExpiredJwtException e) {
+            log.warn("Token expired: {}", e.getMessage());
+            throw new InvalidJwtException("Token expired", e);
+        } catch (MalformedJwtException | UnsupportedJwtException e) {
+            log.warn("Malformed or unsupported token: {}", e.getMessage());
+            throw new InvalidJwtException("Invalid token", e);
+        } catch (JwtException e) {
+            log.warn("General JWT error: {}", e.getMessage());
+            throw new InvalidJwtException("Token parsing error", e);
         }
     }
 }
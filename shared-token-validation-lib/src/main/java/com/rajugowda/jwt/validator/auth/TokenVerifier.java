@@ -0,0 +1,120 @@
+package com.rajugowda.jwt.validator.auth;
+
+import com.rajugowda.jwt.validator.exceptions.InvalidEdgeIdentityException;
+import com.rajugowda.jwt.validator.exceptions.RevokedTokenException;
+import com.rajugowda.jwt.validator.metrics.AuthMetrics;
+import com.rajugowda.jwt.validator.metrics.FailureReason;
+import com.rajugowda.jwt.validator.revocation.RevocationChecker;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import com.rajugowda.jwt.validator.util.HeaderNames;
+import com.rajugowda.jwt.validator.util.TokenType;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The stateless verification steps of an authentication, shared by the orchestrators and the
+ * {@link Authenticator}. A single instance is thread-safe and serves every request.
+ * <p>
+ * Tokens are parsed with the {@link TokenParser}, checked against the {@link RevocationChecker}, and only
+ * accepted when they carry a username and a role. Each verification is recorded in the {@link AuthMetrics}.
+ * </p>
+ */
+@Slf4j
+public class TokenVerifier {
+
+    private final TokenParser parser;
+    private final EdgeIdentityCodec edgeIdentityCodec;
+    private final AuthMetrics metrics;
+    private final RevocationChecker revocations;
+
+    /**
+     * @param parser            the {@link TokenParser} responsible for parsing JWT tokens.
+     * @param edgeIdentityCodec the {@link EdgeIdentityCodec} verifying the forwarded identity, or {@code null}
+     *                          if forwarded identities are never trusted.
+     * @param metrics           the {@link AuthMetrics} recording the validation latency and failure reasons.
+     * @param revocations       the {@link RevocationChecker} consulted once a token is verified.
+     */
+    public TokenVerifier(TokenParser parser, EdgeIdentityCodec edgeIdentityCodec,
+                         AuthMetrics metrics, RevocationChecker revocations) {
+        this.parser = parser;
+        this.edgeIdentityCodec = edgeIdentityCodec;
+        this.metrics = metrics;
+        this.revocations = revocations;
+    }
+
+    /**
+     * Verifies a token and makes sure it is not revoked and names a user and a role.
+     *
+     * @param token  the JWT token string.
+     * @param type   the {@link TokenType} of the token, used to tag the metrics.
+     * @param filter the simple name of the calling filter, used to tag the metrics.
+     * @return the verified claims, or {@code null} if the token is not valid.
+     */
+    public Claims verify(String token, TokenType type, String filter) {
+        final long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+        try {
+            Claims claims = parser.parseToken(token);
+            if (revocations.isRevoked(claims)) {
+                throw new RevokedTokenException("Token has been revoked");
+            }
+
+            String username = claims.get(ClaimNames.USERNAME, String.class);
+            String role = claims.get(ClaimNames.ROLE, String.class);
+            boolean isValid = (username != null && !username.isBlank()) && (role != null && !role.isBlank());
+            log.debug("Token validated successfully. Username: {}, Role: {}", username, role);
+            if (metrics.isEnabled()) {
+                metrics.recordSuccess(type, filter, start);
+            }
+            return isValid ? claims : null;
+        } catch (Exception e) {
+            FailureReason reason = FailureReason.of(e);
+            logFailure(reason, e);
+            if (metrics.isEnabled()) {
+                metrics.recordFailure(type, filter, start, reason);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Refused tokens are routine, and repeats of bad tokens must stay cheap: known refusals are logged at debug
+     * without a stack trace, and are counted by the failure metrics. Key source failures are logged at warn, only
+     * unexpected exceptions at error.
+     */
+    private static void logFailure(FailureReason reason, Exception e) {
+        switch (reason) {
+            case OTHER -> log.error("Failed to validate token", e);
+            case KEY_LOAD_FAILED -> log.warn("Failed to validate token: {}", e.getMessage());
+            default -> log.debug("Token refused ({}): {}", reason.getTag(), e.getMessage());
+        }
+    }
+
+    /**
+     * Verifies the identity forwarded by the gateway in the {@link HeaderNames#EDGE_IDENTITY} header.
+     * The gateway only forwards the identity of access tokens, so other token types never use it.
+     *
+     * @param request the {@link HttpServletRequest} carrying the header.
+     * @param type    the {@link TokenType} being authenticated.
+     * @return the verified identity naming a user and a role, or {@code null} if the request must be
+     * authenticated from its token instead.
+     */
+    public EdgeIdentityCodec.Identity verifyEdgeIdentity(HttpServletRequest request, TokenType type) {
+        if (type != TokenType.ACCESS || edgeIdentityCodec == null || !edgeIdentityCodec.isEnabled()) {
+            return null;
+        }
+
+        String headerValue = request.getHeader(HeaderNames.EDGE_IDENTITY);
+        if (headerValue == null) {
+            return null;
+        }
+
+        try {
+            EdgeIdentityCodec.Identity identity = edgeIdentityCodec.decode(headerValue);
+            return !identity.username().isBlank() && !identity.role().isBlank() ? identity : null;
+        } catch (InvalidEdgeIdentityException e) {
+            log.warn("Edge identity rejected, validating the token instead: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.rajugowda.jwt.validator.auth;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable {@link Authentication} of a user whose token was verified.
+ * <p>
+ * Instances carry no request-specific state (no credentials, no details), so the same instance can be placed in
+ * the security context of every request of that user (see {@link com.rajugowda.jwt.validator.auth.cache.AuthenticationCache}).
+ * The granted authorities are interned per role and shared as well. Unlike the
+ * {@code UsernamePasswordAuthenticationToken} placed in the context before, {@link #getDetails()} is always
+ * {@code null} rather than the request.
+ * </p>
+ */
+public final class VerifiedAuthentication implements Authentication {
+
+    /**
+     * Roles come from verified tokens only, but the number of interned authority lists is still bounded.
+     */
+    private static final int MAX_INTERNED_ROLES = 64;
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private final String username;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+
+    public VerifiedAuthentication(String username, String role) {
+        this.username = username;
+        this.role = role;
+        this.authorities = authorities(role);
+    }
+
+    /**
+     * Returns the shared, immutable authority list of a role.
+     *
+     * @param role the role claim of a token
+     * @return a singleton list holding the authority of the role
+     */
+    public static List<GrantedAuthority> authorities(String role) {
+        List<GrantedAuthority> authorities = AUTHORITIES.get(role);
+        if (authorities != null) {
+            return authorities;
+        }
+
+        authorities = List.of(new SimpleGrantedAuthority(role));
+        if (AUTHORITIES.size() < MAX_INTERNED_ROLES) {
+            List<GrantedAuthority> interned = AUTHORITIES.putIfAbsent(role, authorities);
+            return interned != null ? interned : authorities;
+        }
+        return authorities;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    /**
+     * @throws IllegalArgumentException when attempting to unauthenticate, since the instance is shared between requests
+     */
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (!isAuthenticated) {
+            throw new IllegalArgumentException("A VerifiedAuthentication is shared between requests and can't be unauthenticated");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof VerifiedAuthentication other && username.equals(other.username) && role.equals(other.role);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * username.hashCode() + role.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedAuthentication[username=" + username + ", role=" + role + "]";
+    }
+}
@@ -0,0 +1,59 @@
+package com.rajugowda.jwt.validator.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rajugowda.jwt.validator.auth.VerifiedAuthentication;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * A bounded cache of the {@link VerifiedAuthentication} of each recently authenticated user, so that successful
+ * authentications place a shared instance in the security context instead of building a new one per request.
+ * <p>
+ * Entries are keyed by username and are only reused while the role of the verified token matches; a role change
+ * simply replaces the entry. Lookups don't allocate.
+ * </p>
+ * Only registered in servlet applications, alongside the {@link com.rajugowda.jwt.validator.auth.Authenticator};
+ * reactive applications such as the gateway have no Spring Security on their classpath.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class AuthenticationCache {
+
+    private final boolean enabled;
+    private final Cache<String, VerifiedAuthentication> cache;
+
+    public AuthenticationCache(TokenValidatorProperties properties) {
+        var config = properties.getAuthenticationCache();
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .build();
+
+        log.info("Authentication cache {} (maximum-size: {}).", enabled ? "enabled" : "disabled", config.getMaximumSize());
+    }
+
+    /**
+     * Returns the authentication of a user whose token was just verified.
+     *
+     * @param username the username claim of the token
+     * @param role     the role claim of the token
+     * @return the shared authentication of the user
+     */
+    public Authentication get(String username, String role) {
+        if (!enabled) {
+            return new VerifiedAuthentication(username, role);
+        }
+
+        VerifiedAuthentication authentication = cache.getIfPresent(username);
+        if (authentication == null || !authentication.getRole().equals(role)) {
+            authentication = new VerifiedAuthentication(username, role);
+            cache.put(username, authentication);
+        }
+        return authentication;
+    }
+}
@@ -0,0 +1,196 @@
+package com.rajugowda.jwt.validator.auth.cache;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only view of verified {@link Claims}.
+ * <p>
+ * jjwt's claims are a mutable map; the claims served from the {@link VerifiedTokenCache} are shared by every
+ * request presenting the same token, so they are handed out through this view. Reads, including the typed
+ * {@link #get(String, Class)}, go to the verified claims; every setter and map mutator throws
+ * {@link UnsupportedOperationException}.
+ * </p>
+ */
+public final class ReadOnlyClaims implements Claims {
+
+    private final Claims claims;
+    private final Map<String, Object> view;
+
+    private ReadOnlyClaims(Claims claims) {
+        this.claims = claims;
+        this.view = Collections.unmodifiableMap(claims);
+    }
+
+    /**
+     * @param claims the verified claims, no longer modified by the caller
+     * @return a read-only view of the claims, or the claims themselves if already read-only
+     */
+    public static Claims of(Claims claims) {
+        return claims == null || claims instanceof ReadOnlyClaims ? claims : new ReadOnlyClaims(claims);
+    }
+
+    @Override
+    public String getIssuer() {
+        return claims.getIssuer();
+    }
+
+    @Override
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    @Override
+    public String getAudience() {
+        return claims.getAudience();
+    }
+
+    @Override
+    public Date getExpiration() {
+        return copy(claims.getExpiration());
+    }
+
+    @Override
+    public Date getNotBefore() {
+        return copy(claims.getNotBefore());
+    }
+
+    @Override
+    public Date getIssuedAt() {
+        return copy(claims.getIssuedAt());
+    }
+
+    @Override
+    public String getId() {
+        return claims.getId();
+    }
+
+    @Override
+    public <T> T get(String claimName, Class<T> requiredType) {
+        T value = claims.get(claimName, requiredType);
+        return value instanceof Date date ? requiredType.cast(copy(date)) : value;
+    }
+
+    @Override
+    public Claims setIssuer(String iss) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setSubject(String sub) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setAudience(String aud) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setExpiration(Date exp) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setNotBefore(Date nbf) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setIssuedAt(Date iat) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setId(String jti) {
+        throw readOnly();
+    }
+
+    @Override
+    public int size() {
+        return view.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return view.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return view.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return view.containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return view.get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        throw readOnly();
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw readOnly();
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return view.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return view.values();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return view.entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || view.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return view.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return view.toString();
+    }
+
+    private static Date copy(Date date) {
+        return date != null ? new Date(date.getTime()) : null;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Verified claims are read-only");
+    }
+}
@@ -0,0 +1,139 @@
+package com.rajugowda.jwt.validator.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A short-lived negative cache of key ids and tokens that were recently rejected.
+ * <p>
+ * Without it, every request carrying a bogus {@code pubkid} reaches the {@code PublicKeysPoolService} (a Redis
+ * round trip), and every replay of a broken token is parsed and verified again. Remembering rejections for a short
+ * TTL lets repeats be refused in-process, so garbage traffic cannot be amplified onto Redis.
+ * </p>
+ * <p>
+ * Tokens are remembered by their digest (see {@link com.rajugowda.jwt.validator.util.TokenDigests}).
+ * </p>
+ */
+@Component
+@Slf4j
+public class RejectionCache {
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> rejectedKeyIds;
+    private final Cache<String, Boolean> rejectedTokens;
+
+    private final LongAdder keyIdRejections = new LongAdder();
+    private final LongAdder tokenRejections = new LongAdder();
+    private final LongAdder refusedByKeyId = new LongAdder();
+    private final LongAdder refusedByToken = new LongAdder();
+
+    public RejectionCache(TokenValidatorProperties properties) {
+        var config = properties.getNegativeCache();
+        this.enabled = config.isEnabled();
+        this.rejectedKeyIds = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .build();
+        this.rejectedTokens = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .build();
+
+        log.info("Negative cache {} (ttl: {}, maximum-size: {}).",
+                enabled ? "enabled" : "disabled", config.getTtl(), config.getMaximumSize());
+    }
+
+    /**
+     * Checks whether the key id was rejected recently, counting the check as a refusal if so.
+     *
+     * @param keyId the public key id carried by the token
+     * @return {@code true} if the key id is known to be unresolvable
+     */
+    public boolean isKeyIdRejected(String keyId) {
+        if (enabled && rejectedKeyIds.getIfPresent(keyId) != null) {
+            refusedByKeyId.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers a key id that could not be resolved to a public key.
+     *
+     * @param keyId the public key id that was rejected
+     */
+    public void rejectKeyId(String keyId) {
+        if (enabled) {
+            keyIdRejections.increment();
+            rejectedKeyIds.put(keyId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Forgets a rejected key id, e.g. once the key was published after all.
+     *
+     * @param keyId the public key id that became resolvable
+     */
+    public void forgetKeyId(String keyId) {
+        rejectedKeyIds.invalidate(keyId);
+    }
+
+    /**
+     * Checks whether the token was rejected recently, counting the check as a refusal if so.
+     *
+     * @param tokenDigest the digest of the raw token
+     * @return {@code true} if the token is known to be invalid
+     */
+    public boolean isTokenRejected(String tokenDigest) {
+        if (enabled && rejectedTokens.getIfPresent(tokenDigest) != null) {
+            refusedByToken.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers a token that failed validation.
+     *
+     * @param tokenDigest the digest of the raw token that was rejected
+     */
+    public void rejectToken(String tokenDigest) {
+        if (enabled) {
+            tokenRejections.increment();
+            rejectedTokens.put(tokenDigest, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return the number of key ids that were added to the negative cache.
+     */
+    public long getKeyIdRejectionCount() {
+        return keyIdRejections.sum();
+    }
+
+    /**
+     * @return the number of tokens that were added to the negative cache.
+     */
+    public long getTokenRejectionCount() {
+        return tokenRejections.sum();
+    }
+
+    /**
+     * @return the number of lookups refused in-process because their key id was rejected recently.
+     */
+    public long getRefusedByKeyIdCount() {
+        return refusedByKeyId.sum();
+    }
+
+    /**
+     * @return the number of tokens refused in-process because they were rejected recently.
+     */
+    public long getRefusedByTokenCount() {
+        return refusedByToken.sum();
+    }
+}
@@ -0,0 +1,114 @@
+package com.rajugowda.jwt.validator.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded, expiry-aware cache of {@link Claims} that already passed signature verification.
+ * <p>
+ * Entries are keyed by the digest of the raw token (see {@link com.rajugowda.jwt.validator.util.TokenDigests}),
+ * never outlive the token's own {@code exp} claim, and are capped by the configured max TTL.
+ * Eviction is size-bound and driven by Caffeine's W-TinyLFU policy.
+ * </p>
+ * <p>
+ * The cached {@link Claims} instances are shared between requests, so they are stored as {@link ReadOnlyClaims}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(TokenValidatorProperties properties) {
+        var config = properties.getVerifiedTokenCache();
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new ClaimsExpiry(config.getMaxTtl().toNanos()))
+                .recordStats()
+                .build();
+
+        log.info("Verified token cache {} (maximum-size: {}, max-ttl: {}).",
+                enabled ? "enabled" : "disabled", config.getMaximumSize(), config.getMaxTtl());
+    }
+
+    /**
+     * Looks up the verified claims of a token.
+     *
+     * @param tokenDigest the digest of the raw token
+     * @return the cached claims, or {@code null} if the token was not verified recently or has expired since
+     */
+    public Claims get(String tokenDigest) {
+        return enabled ? cache.getIfPresent(tokenDigest) : null;
+    }
+
+    /**
+     * Remembers the claims of a token that just passed signature verification.
+     *
+     * @param tokenDigest the digest of the raw token
+     * @param claims      the verified claims of the token
+     */
+    public void put(String tokenDigest, Claims claims) {
+        if (enabled) {
+            cache.put(tokenDigest, ReadOnlyClaims.of(claims));
+        }
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Expires each entry at the token's {@code exp}, or after the max TTL, whichever comes first.
+     */
+    private record ClaimsExpiry(long maxTtlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return maxTtlNanos;
+            }
+
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(remainingNanos, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.rajugowda.jwt.validator.auth.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rajugowda.jwt.validator.util.TokenType;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The default {@link FailedAuthResponse} of each {@link TokenType}, serialized once when the class is loaded.
+ * <p>
+ * Failed authentications can come in waves (expired tokens, credential stuffing), so the default failure bodies
+ * are written as cached byte arrays instead of serializing a fresh response on every failed request.
+ * The returned arrays are shared and must not be modified.
+ * </p>
+ */
+public class FailedAuthResponses {
+
+    private static final Map<TokenType, byte[]> BODIES = new EnumMap<>(TokenType.class);
+
+    static {
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (TokenType tokenType : TokenType.values()) {
+            try {
+                BODIES.put(tokenType, objectMapper.writeValueAsBytes(create(tokenType)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize failed auth response for " + tokenType, e);
+            }
+        }
+    }
+
+    private FailedAuthResponses() {
+    }
+
+    /**
+     * Creates a new default failure response for the given token type.
+     *
+     * @param tokenType the type of the token that failed authentication
+     * @return a new {@link FailedAuthResponse}
+     */
+    public static FailedAuthResponse create(TokenType tokenType) {
+        return FailedAuthResponse.builder()
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .message("Authentication Failed.")
+                .error(
+                        tokenType.equals(TokenType.ACCESS)
+                                ? "Invalid access token."
+                                : "Invalid refresh token."
+                )
+                .additionalInfo("Please provide a valid token.")
+                .build();
+    }
+
+    /**
+     * Returns the serialized default failure response for the given token type.
+     *
+     * @param tokenType the type of the token that failed authentication
+     * @return the shared JSON bytes of the response
+     */
+    public static byte[] body(TokenType tokenType) {
+        return BODIES.get(tokenType);
+    }
+
+    /**
+     * Writes the default failure response of the given token type as a 401.
+     *
+     * @param response  the {@link HttpServletResponse} to write to
+     * @param tokenType the type of the token that failed authentication
+     * @throws IOException if an I/O error occurs while writing the body
+     */
+    public static void write(HttpServletResponse response, TokenType tokenType) throws IOException {
+        byte[] body = BODIES.get(tokenType);
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
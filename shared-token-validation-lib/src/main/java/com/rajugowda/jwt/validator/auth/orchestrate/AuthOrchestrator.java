@@ -1,17 +1,19 @@
 package com.rajugowda.jwt.validator.auth.orchestrate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rajugowda.jwt.validator.auth.VerifiedAuthentication;
+import com.rajugowda.jwt.validator.auth.cache.AuthenticationCache;
 import com.rajugowda.jwt.validator.auth.dto.FailedAuthResponse;
+import com.rajugowda.jwt.validator.auth.dto.FailedAuthResponses;
+import com.rajugowda.jwt.validator.util.TokenType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.function.Supplier;
 
 /**
@@ -36,12 +38,19 @@ import java.util.function.Supplier;
  *   <li>
  *     If authentication fails, callers can supply a response or an exception
  *     using {@link #handleUnauthenticated(Supplier)} or {@link #throwIfUnauthenticated(Supplier)}.
+ *     {@link #handleUnauthenticated(TokenType)} responds with the default failure body of the token type,
+ *     which is serialized only once (see {@link FailedAuthResponses}).
  *   </li>
  * </ul>
  */
 @Slf4j
 public class AuthOrchestrator {
 
+    /**
+     * Shared, thread-safe mapper for serializing custom failure responses.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     protected String username;
     protected String role;
     protected boolean isValid;
@@ -52,29 +61,48 @@ public class AuthOrchestrator {
      */
     protected final HttpServletRequest request;
 
+    /**
+     * Supplies the shared authentication of each user, or {@code null} to create one per request.
+     */
+    private final AuthenticationCache authenticationCache;
+
     /**
      * Constructs an {@link AuthOrchestrator} instance with the specified request.
      * 
      * @param request the {@link HttpServletRequest} to reference for authentication data.
      */
     public AuthOrchestrator(HttpServletRequest request) {
+        this(request, null);
+    }
+
+    /**
+     * Constructs an {@link AuthOrchestrator} instance that reuses the authentications of the given cache.
+     *
+     * @param request             the {@link HttpServletRequest} to reference for authentication data.
+     * @param authenticationCache the {@link AuthenticationCache} supplying the authentication of each user.
+     */
+    public AuthOrchestrator(HttpServletRequest request, AuthenticationCache authenticationCache) {
         this.request = request;
+        this.authenticationCache = authenticationCache;
     }
 
     /**
      * Updates the Spring Security context with the current {@link #username} and {@link #role}.
      * <p>
      * This method should only be called after a successful validation, as indicated by {@link #isValid}.
+     * The context receives an immutable {@link VerifiedAuthentication}, shared between the requests of the user
+     * when an {@link AuthenticationCache} is available. Since it is shared, it no longer carries the request as its
+     * {@link Authentication#getDetails() details}; components that need the request should obtain it from the
+     * servlet API (e.g. {@code RequestContextHolder}) instead.
      * </p>
      */
     protected void updateSecurityContext() {
-        log.debug("Updating security context with username: {}", username);
-        var authorities = Collections.singletonList(new SimpleGrantedAuthority(role));
-        var authToken = new UsernamePasswordAuthenticationToken(username, null, authorities);
-        authToken.setDetails(request);
+        Authentication authentication = authenticationCache != null
+                ? authenticationCache.get(username, role)
+                : new VerifiedAuthentication(username, role);
 
-        SecurityContextHolder.getContext().setAuthentication(authToken);
-        log.debug("Security context updated successfully.");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        log.debug("Security context updated with username: {}", username);
     }
 
     /**
@@ -94,6 +122,7 @@ public class AuthOrchestrator {
     }
 
     private FailedAuthResponse failedAuthResponse;
+    private byte[] failedAuthBody;
 
     /**
      * Specifies the action to take if authentication has failed. Callers supply a
@@ -109,11 +138,28 @@ public class AuthOrchestrator {
         return this;
     }
 
+    /**
+     * Specifies that the default failure response of the given token type is sent if authentication has failed.
+     * <p>
+     * Unlike {@link #handleUnauthenticated(Supplier)}, nothing is built or serialized per request;
+     * the precomputed body from {@link FailedAuthResponses} is written as is.
+     * </p>
+     *
+     * @param tokenType the type of the token being authenticated.
+     * @return this instance, to allow method chaining for further orchestration.
+     */
+    public AuthOrchestrator handleUnauthenticated(TokenType tokenType) {
+        if (!isValid) {
+            this.failedAuthBody = FailedAuthResponses.body(tokenType);
+        }
+        return this;
+    }
+
     /**
      * If the authentication has failed, writes a failure response to the {@link HttpServletResponse}.
      * <p>
-     * If {@link #failedAuthResponse} is not null, it will be used to generate a JSON output
-     * with relevant error details.
+     * If a default failure body was selected, it is written as is. Otherwise, if {@link #failedAuthResponse}
+     * is not null, it will be used to generate a JSON output with relevant error details.
      * </p>
      *
      * @param response the {@link HttpServletResponse} used to send the failure details.
@@ -121,15 +167,22 @@ public class AuthOrchestrator {
      * @throws IOException if an I/O error occurs while writing response data.
      */
     public AuthOrchestrator with(HttpServletResponse response) throws IOException {
-        if (failedAuthResponse != null) {
-            response.setStatus(failedAuthResponse.getStatus());
-            response.setContentType(MediaType.APPLICATION_JSON.getType());
-            response.setCharacterEncoding("UTF-8");
-            new ObjectMapper().writeValue(response.getOutputStream(), failedAuthResponse);
+        if (failedAuthBody != null) {
+            writeBody(response, HttpServletResponse.SC_UNAUTHORIZED, failedAuthBody);
+        } else if (failedAuthResponse != null) {
+            writeBody(response, failedAuthResponse.getStatus(), OBJECT_MAPPER.writeValueAsBytes(failedAuthResponse));
         }
         return this;
     }
 
+    private static void writeBody(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
     /**
      * Provides the overall result of authentication.
      *
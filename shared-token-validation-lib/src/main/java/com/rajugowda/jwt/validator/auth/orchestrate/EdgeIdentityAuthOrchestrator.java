@@ -0,0 +1,96 @@
+package com.rajugowda.jwt.validator.auth.orchestrate;
+
+import com.rajugowda.jwt.validator.auth.EdgeIdentityCodec;
+import com.rajugowda.jwt.validator.auth.TokenParser;
+import com.rajugowda.jwt.validator.auth.TokenVerifier;
+import com.rajugowda.jwt.validator.auth.cache.AuthenticationCache;
+import com.rajugowda.jwt.validator.metrics.AuthMetrics;
+import com.rajugowda.jwt.validator.revocation.RevocationChecker;
+import com.rajugowda.jwt.validator.util.HeaderNames;
+import com.rajugowda.jwt.validator.util.TokenType;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link JwtAuthOrchestrator} that first trusts the identity forwarded by the gateway.
+ * <p>
+ * When the request carries a valid {@link HeaderNames#EDGE_IDENTITY} header, the user is authenticated from it
+ * through the {@link EdgeIdentityCodec}, which is a single HMAC check instead of an RSA signature verification.
+ * When the header is missing, the codec is disabled, or the header can't be verified, the orchestrator falls back
+ * to the full JWT validation of {@link JwtAuthOrchestrator}.
+ * </p>
+ * <p>
+ * The gateway only forwards the identity of access tokens, so other token types are always validated as JWTs.
+ * </p>
+ */
+@Slf4j
+public class EdgeIdentityAuthOrchestrator extends JwtAuthOrchestrator {
+
+    /**
+     * Constructs an {@link EdgeIdentityAuthOrchestrator}.
+     *
+     * @param parser              the {@link TokenParser} used when falling back to JWT validation.
+     * @param edgeIdentityCodec   the {@link EdgeIdentityCodec} verifying the forwarded identity.
+     * @param request             the {@link HttpServletRequest} carrying the header or the token.
+     * @param metrics             the {@link AuthMetrics} recording the fallback JWT validations.
+     * @param revocations         the {@link RevocationChecker} consulted by the fallback JWT validations.
+     * @param authenticationCache the {@link AuthenticationCache} supplying the authentication of each user,
+     *                            or {@code null} to create one per request.
+     */
+    public EdgeIdentityAuthOrchestrator(TokenParser parser,
+                                        EdgeIdentityCodec edgeIdentityCodec,
+                                        HttpServletRequest request,
+                                        AuthMetrics metrics,
+                                        RevocationChecker revocations,
+                                        AuthenticationCache authenticationCache) {
+        this(new TokenVerifier(parser, edgeIdentityCodec, metrics, revocations), request, authenticationCache);
+    }
+
+    /**
+     * Constructs an {@link EdgeIdentityAuthOrchestrator} that verifies with a shared {@link TokenVerifier}.
+     *
+     * @param verifier            the {@link TokenVerifier} verifying the forwarded identity or the token.
+     * @param request             the {@link HttpServletRequest} carrying the header or the token.
+     * @param authenticationCache the {@link AuthenticationCache} supplying the authentication of each user,
+     *                            or {@code null} to create one per request.
+     */
+    public EdgeIdentityAuthOrchestrator(TokenVerifier verifier,
+                                        HttpServletRequest request,
+                                        AuthenticationCache authenticationCache) {
+        super(verifier, request, authenticationCache);
+    }
+
+    @Override
+    public EdgeIdentityAuthOrchestrator forTokenType(TokenType tokenType) {
+        super.forTokenType(tokenType);
+        return this;
+    }
+
+    @Override
+    public EdgeIdentityAuthOrchestrator fromFilter(Class<?> filterClass) {
+        super.fromFilter(filterClass);
+        return this;
+    }
+
+    /**
+     * Authenticates from the forwarded identity when possible, otherwise from the token.
+     *
+     * @return this {@link EdgeIdentityAuthOrchestrator} instance for method chaining.
+     */
+    @Override
+    public EdgeIdentityAuthOrchestrator orchestrate() {
+        EdgeIdentityCodec.Identity identity = verifier.verifyEdgeIdentity(request, type);
+
+        if (identity != null) {
+            username = identity.username();
+            role = identity.role();
+            isValid = true;
+            log.debug("Edge identity is valid. Updating security context.");
+            this.updateSecurityContext();
+            return this;
+        }
+
+        super.orchestrate();
+        return this;
+    }
+}
@@ -1,11 +1,15 @@
 package com.rajugowda.jwt.validator.auth.orchestrate;
 
 import com.rajugowda.jwt.validator.auth.TokenParser;
+import com.rajugowda.jwt.validator.auth.TokenVerifier;
+import com.rajugowda.jwt.validator.auth.cache.AuthenticationCache;
 import com.rajugowda.jwt.validator.exceptions.InvalidJwtException;
+import com.rajugowda.jwt.validator.metrics.AuthMetrics;
+import com.rajugowda.jwt.validator.revocation.RevocationChecker;
 import com.rajugowda.jwt.validator.util.ClaimNames;
+import com.rajugowda.jwt.validator.util.TokenExtractor;
 import com.rajugowda.jwt.validator.util.TokenType;
 import io.jsonwebtoken.Claims;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,7 +19,7 @@ import lombok.extern.slf4j.Slf4j;
  * {@link JwtAuthOrchestrator} extends {@link AuthOrchestrator} by leveraging a {@link TokenParser}
  * to parse JWT tokens, extract claims, and then update the security context if validation succeeds.
  * This orchestrator supports different token types (e.g., ACCESS, REFRESH) by checking appropriately
- * named cookies.
+ * named cookies; access tokens may also be sent as a bearer token.
  * </p>
  *
  * <h2>Usage</h2>
@@ -24,6 +28,9 @@ import lombok.extern.slf4j.Slf4j;
  *     Instantiate {@link JwtAuthOrchestrator} with a {@link TokenParser} and {@link HttpServletRequest}.
  *   </li>
  *   <li>
+ *     Optionally call {@link #fromFilter(Class)} to tag the recorded {@link AuthMetrics} with the calling filter.
+ *   </li>
+ *   <li>
  *     Call {@link #forTokenType(TokenType)} to specify which token (e.g., {@code ACCESS} or {@code REFRESH})
  *     should be validated.
  *   </li>
@@ -37,8 +44,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class JwtAuthOrchestrator extends AuthOrchestrator {
 
-    private TokenType type;
-    private final TokenParser parser;
+    protected TokenType type;
+    protected String filter = "none";
+    protected final TokenVerifier verifier;
 
     /**
      * Constructs a {@link JwtAuthOrchestrator} with the provided {@link TokenParser} and request.
@@ -47,8 +55,48 @@ public class JwtAuthOrchestrator extends AuthOrchestrator {
      * @param request the {@link HttpServletRequest} where cookies or headers may contain the token.
      */
     public JwtAuthOrchestrator(TokenParser parser, HttpServletRequest request) {
-        super(request);
-        this.parser = parser;
+        this(parser, request, AuthMetrics.NOOP);
+    }
+
+    /**
+     * Constructs a {@link JwtAuthOrchestrator} that records the validation in the given {@link AuthMetrics}.
+     *
+     * @param parser  the {@link TokenParser} responsible for parsing JWT tokens.
+     * @param request the {@link HttpServletRequest} where cookies or headers may contain the token.
+     * @param metrics the {@link AuthMetrics} recording the validation latency and failure reasons.
+     */
+    public JwtAuthOrchestrator(TokenParser parser, HttpServletRequest request, AuthMetrics metrics) {
+        this(parser, request, metrics, RevocationChecker.NONE, null);
+    }
+
+    /**
+     * Constructs a {@link JwtAuthOrchestrator} that also rejects revoked tokens, and shares the authentication
+     * of each user between requests.
+     *
+     * @param parser              the {@link TokenParser} responsible for parsing JWT tokens.
+     * @param request             the {@link HttpServletRequest} where cookies or headers may contain the token.
+     * @param metrics             the {@link AuthMetrics} recording the validation latency and failure reasons.
+     * @param revocations         the {@link RevocationChecker} consulted once the token is verified.
+     * @param authenticationCache the {@link AuthenticationCache} supplying the authentication of each user,
+     *                            or {@code null} to create one per request.
+     */
+    public JwtAuthOrchestrator(TokenParser parser, HttpServletRequest request, AuthMetrics metrics,
+                               RevocationChecker revocations, AuthenticationCache authenticationCache) {
+        this(new TokenVerifier(parser, null, metrics, revocations), request, authenticationCache);
+    }
+
+    /**
+     * Constructs a {@link JwtAuthOrchestrator} that verifies tokens with a shared {@link TokenVerifier}.
+     *
+     * @param verifier            the {@link TokenVerifier} verifying the token.
+     * @param request             the {@link HttpServletRequest} where cookies or headers may contain the token.
+     * @param authenticationCache the {@link AuthenticationCache} supplying the authentication of each user,
+     *                            or {@code null} to create one per request.
+     */
+    public JwtAuthOrchestrator(TokenVerifier verifier, HttpServletRequest request,
+                               AuthenticationCache authenticationCache) {
+        super(request, authenticationCache);
+        this.verifier = verifier;
     }
 
     /**
@@ -62,20 +110,31 @@ public class JwtAuthOrchestrator extends AuthOrchestrator {
         return this;
     }
 
+    /**
+     * Sets the filter requesting the authentication, used to tag the recorded metrics.
+     *
+     * @param filterClass the class of the calling filter.
+     * @return this {@link JwtAuthOrchestrator} instance for chaining further calls.
+     */
+    public JwtAuthOrchestrator fromFilter(Class<?> filterClass) {
+        this.filter = filterClass.getSimpleName();
+        return this;
+    }
+
     /**
      * Executes the core JWT validation and, on success, updates the security context.
      * <p>
-     * This method extracts the token (if present) from the request cookies using the
-     * token type, attempts validation, and sets {@link #isValid} accordingly.
+     * This method extracts the token (if present) from the {@code Authorization} bearer header or the request
+     * cookies using the token type, see {@link TokenExtractor}, attempts validation, and sets {@link #isValid} accordingly.
      * </p>
      *
      * @return this {@link JwtAuthOrchestrator} instance for method chaining.
      */
     public JwtAuthOrchestrator orchestrate() {
-        String token = extractToken(request.getCookies(), type);
+        String token = TokenExtractor.extract(request, type);
 
         if (token != null && !token.isEmpty()) {
-            log.info("Validating token for type: {}", type.getAbbreviation());
+            log.debug("Validating token for type: {}", type.getAbbreviation());
             this.validateAndInitClaims(token);
         } else {
             log.warn("Token not found in request.");
@@ -83,59 +142,28 @@ public class JwtAuthOrchestrator extends AuthOrchestrator {
         }
 
         if (isValid) {
-            log.debug("Token is valid. Updating security context.");
             this.updateSecurityContext();
-            log.info("Authentication successful.");
+            log.debug("Authentication successful.");
         } else {
-            log.error("Token is invalid. Authentication failed.");
+            log.debug("Token is invalid. Authentication failed.");
         }
 
         return this;
     }
 
     /**
-     * Fetches the token from the array of cookies by searching for a cookie named after the {@link TokenType}.
-     *
-     * @param cookies   the array of cookies from the request.
-     * @param tokenType the type of token to look for (the cookie name).
-     * @return the token's string value if found, or {@code null} if unavailable.
-     */
-    private String extractToken(Cookie[] cookies, TokenType tokenType) {
-        if (cookies == null) {
-            log.debug("No cookies found.");
-            return null;
-        }
-
-        for (Cookie cookie : cookies) {
-            if (cookie.getName().equals(tokenType.getAbbreviation())) {
-                log.debug("Found token for type: {}", type.getAbbreviation());
-                return cookie.getValue();
-            } else log.debug("No token found for type: {}", type.getAbbreviation());
-        }
-
-        return null;
-    }
-
-    /**
-     * Validates the token string using the {@link TokenParser} and populates
-     * {@link AuthOrchestrator#username} and {@link AuthOrchestrator#role} from the claims.
+     * Validates the token string using the {@link TokenVerifier}, which rejects it if it has been revoked,
+     * and populates {@link AuthOrchestrator#username} and {@link AuthOrchestrator#role} from the claims.
      *
      * @param token the JWT token string to be validated.
      */
     private void validateAndInitClaims(String token) {
-        if (token != null && !token.isEmpty()) {
-            try {
-                Claims claims = parser.parseToken(token);
-                username = claims.get(ClaimNames.USERNAME, String.class);
-                role = claims.get(ClaimNames.ROLE, String.class);
-
-                isValid = (username != null && !username.isBlank()) && (role != null && !role.isBlank());
-                log.info("Token validated successfully. Username: {}, Role: {}", username, role);
-            } catch (Exception e) {
-                log.error("Failed to validate token", e);
-                isValid = false;
-            }
+        Claims claims = verifier.verify(token, type, filter);
+        if (claims != null) {
+            username = claims.get(ClaimNames.USERNAME, String.class);
+            role = claims.get(ClaimNames.ROLE, String.class);
         }
+        isValid = claims != null;
     }
 
     /**
@@ -2,11 +2,13 @@ package com.rajugowda.jwt.validator.config;
 
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ComponentScan(basePackages = "com.rajugowda.jwt.validator")
+@EnableConfigurationProperties(TokenValidatorProperties.class)
 @Slf4j
 public class TokenValidatorAutoConfiguration {
 
@@ -0,0 +1,264 @@
+package com.rajugowda.jwt.validator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs of the shared token validation library, bound from the {@code token-validator} prefix.
+ * <p>
+ * Every property has a sensible default, so consuming services only need to declare the ones they want to change.
+ * </p>
+ * <pre>
+ * token-validator:
+ *   verified-token-cache:
+ *     enabled: true
+ *     maximum-size: 10000
+ *     max-ttl: 5m
+ *   key-distribution:
+ *     enabled: true
+ *   key-pool:
+ *     rotation-interval: 1d
+ *     max-token-validity: 14d
+ *     maximum-size: 16
+ *     load-timeout: 2s
+ *   negative-cache:
+ *     enabled: true
+ *     ttl: 30s
+ *     maximum-size: 10000
+ *   edge-identity:
+ *     secret: ${EDGE_IDENTITY_SECRET:}
+ *   metrics:
+ *     enabled: true
+ *   warm-up:
+ *     enabled: true
+ *   jwks:
+ *     enabled: false
+ *     uri: http://localhost:8080/api/v1/users/.well-known/jwks.json
+ *     refresh-interval: 5m
+ *     min-refresh-interval: 10s
+ *     timeout: 2s
+ *   revocation:
+ *     enabled: true
+ *     refresh-interval: 30s
+ *     false-positive-probability: 0.001
+ *   authentication-cache:
+ *     enabled: true
+ *     maximum-size: 10000
+ *   concurrency-limit:
+ *     enabled: true
+ *     initial-limit: 20
+ *     min-limit: 5
+ *     max-limit: 200
+ *     rtt-tolerance: 1.5
+ *     smoothing: 0.2
+ *     sample-window: 100ms
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "token-validator")
+public class TokenValidatorProperties {
+
+    private VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+    private KeyDistribution keyDistribution = new KeyDistribution();
+    private KeyPool keyPool = new KeyPool();
+    private NegativeCache negativeCache = new NegativeCache();
+    private EdgeIdentity edgeIdentity = new EdgeIdentity();
+    private Metrics metrics = new Metrics();
+    private WarmUp warmUp = new WarmUp();
+    private Jwks jwks = new Jwks();
+    private Revocation revocation = new Revocation();
+    private AuthenticationCache authenticationCache = new AuthenticationCache();
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    @Getter
+    @Setter
+    public static class VerifiedTokenCache {
+        /**
+         * Whether verified claims are cached so that repeat tokens skip the signature verification.
+         */
+        private boolean enabled = true;
+        /**
+         * Upper bound of tokens held in the cache, beyond which the least valuable entries are evicted.
+         */
+        private long maximumSize = 10_000;
+        /**
+         * Longest time a verified token is trusted from the cache, even if its {@code exp} lies further ahead.
+         */
+        private Duration maxTtl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class KeyDistribution {
+        /**
+         * Whether newly published public keys are received over the public key channel and installed
+         * into the Vault ahead of the first token signed with them.
+         */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class KeyPool {
+        /**
+         * How long the issuer keeps signing with a key before rotating it (the issuer's secret-rotate-interval).
+         */
+        private Duration rotationInterval = Duration.ofDays(1);
+        /**
+         * Validity of the longest-lived token signed by the issuer (the refresh token validity).
+         * A key is retired once the last token it could have signed has expired.
+         */
+        private Duration maxTokenValidity = Duration.ofDays(14);
+        /**
+         * Hard cap on the number of keys held in the Vault.
+         */
+        private long maximumSize = 16;
+        /**
+         * Number of retired key ids remembered, so that tokens signed with them are rejected without a lookup.
+         */
+        private long retiredKeysMaximumSize = 1_024;
+        /**
+         * Longest time a request waits for a missing key to be loaded from the key source.
+         */
+        private Duration loadTimeout = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class NegativeCache {
+        /**
+         * Whether rejected key ids and rejected tokens are remembered, so repeats are refused in-process.
+         */
+        private boolean enabled = true;
+        /**
+         * How long a rejection is remembered.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+        /**
+         * Upper bound of rejected key ids, and separately of rejected tokens, that are remembered.
+         */
+        private long maximumSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class EdgeIdentity {
+        /**
+         * Secret shared by the gateway and the services to sign and verify the forwarded edge identity.
+         * Left empty, the gateway forwards no identity and the services validate the token themselves.
+         */
+        private String secret = "";
+    }
+
+    @Getter
+    @Setter
+    public static class Metrics {
+        /**
+         * Whether validation metrics are published to Micrometer, when Micrometer is available.
+         */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class WarmUp {
+        /**
+         * Whether all active public keys are decoded into the Vault at startup,
+         * when the service provides a {@code PublicKeysPoolBulkLoader}.
+         */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Jwks {
+        /**
+         * Whether public keys are fetched from the issuer's JWKS endpoint instead of the service's own key source.
+         */
+        private boolean enabled = false;
+        /**
+         * The JWKS endpoint of the issuer.
+         */
+        private String uri;
+        /**
+         * How long a fetched key set is used when the endpoint sends no {@code max-age}.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+        /**
+         * Minimum time between two refreshes triggered by tokens carrying an unknown key id.
+         */
+        private Duration minRefreshInterval = Duration.ofSeconds(10);
+        /**
+         * Connect and read timeout of a fetch.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Revocation {
+        /**
+         * Whether verified tokens are checked against the revocation set, when Redis is available.
+         */
+        private boolean enabled = true;
+        /**
+         * How often the revocation snapshot is polled for a new version.
+         * Revocations broadcast in between take effect immediately.
+         */
+        private Duration refreshInterval = Duration.ofSeconds(30);
+        /**
+         * False positive probability the snapshot filter is sized for. False positives cost a lookup in the store.
+         */
+        private double falsePositiveProbability = 0.001;
+    }
+
+    @Getter
+    @Setter
+    public static class AuthenticationCache {
+        /**
+         * Whether the authentication placed in the security context is shared between the requests of a user.
+         */
+        private boolean enabled = true;
+        /**
+         * Upper bound of users whose authentication is kept.
+         */
+        private long maximumSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class ConcurrencyLimit {
+        /**
+         * Whether the concurrency limit filter sheds requests, in the services that register it.
+         */
+        private boolean enabled = true;
+        /**
+         * Limit applied until enough latency samples have been measured.
+         */
+        private int initialLimit = 20;
+        /**
+         * Lowest limit the adaptive limit may shrink to.
+         */
+        private int minLimit = 5;
+        /**
+         * Highest limit the adaptive limit may grow to, typically the size of the servlet container's thread pool.
+         */
+        private int maxLimit = 200;
+        /**
+         * Ratio by which latency may exceed its long-term baseline before the limit starts shrinking.
+         */
+        private double rttTolerance = 1.5;
+        /**
+         * Weight of each new estimate in the limit, between 0 (never moves) and 1 (no smoothing).
+         */
+        private double smoothing = 0.2;
+        /**
+         * Length of the windows over which latency is averaged before the limit is updated.
+         */
+        private Duration sampleWindow = Duration.ofMillis(100);
+    }
+}
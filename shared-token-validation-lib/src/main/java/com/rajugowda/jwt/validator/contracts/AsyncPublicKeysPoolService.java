@@ -0,0 +1,66 @@
+package com.rajugowda.jwt.validator.contracts;
+
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * The non-blocking variant of {@link PublicKeysPoolService}, loading {@link PublicKeyMetaData} asynchronously.
+ * <p>
+ * Key sources with an asynchronous client (e.g. a reactive Redis connection) can implement this interface directly;
+ * since it extends {@link PublicKeysPoolService}, such an implementation is registered like any other
+ * {@code PublicKeysPoolService} bean. Existing synchronous implementations keep working: the
+ * {@link com.rajugowda.jwt.validator.secret.Vault} wraps them with {@link #adapt(PublicKeysPoolService, Executor)},
+ * so their blocking lookups run on a dedicated loader executor instead of the request thread.
+ * </p>
+ *
+ * <pre>
+ * &#064;Bean
+ * PublicKeysPoolService publicKeysPoolService(ReactiveRedisTemplate&lt;String, PublicKeyMetaData&gt; template) {
+ *     return (AsyncPublicKeysPoolService) keyId -&gt; template.opsForValue()
+ *             .get("public-key-pool::" + keyId)
+ *             .toFuture();
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface AsyncPublicKeysPoolService extends PublicKeysPoolService {
+
+    /**
+     * Loads public key metadata based on the provided key ID, without blocking the calling thread.
+     *
+     * @param keyId the unique identifier for the public key metadata
+     * @return a future completed with the {@link PublicKeyMetaData}, or with {@code null} if it could not be located
+     */
+    CompletableFuture<PublicKeyMetaData> loadPublicKeyMetaDataAsync(String keyId);
+
+    /**
+     * Blocks until the asynchronous load completes.
+     */
+    @Override
+    default PublicKeyMetaData loadPublicKeyMetaData(String keyId) {
+        try {
+            return loadPublicKeyMetaDataAsync(keyId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Adapts a {@link PublicKeysPoolService} to the asynchronous contract. Implementations that already are
+     * asynchronous are returned as is; synchronous ones are run on the given executor.
+     *
+     * @param service  the service to adapt
+     * @param executor the executor running the blocking lookups
+     * @return an asynchronous view of the service
+     */
+    static AsyncPublicKeysPoolService adapt(PublicKeysPoolService service, Executor executor) {
+        if (service instanceof AsyncPublicKeysPoolService async) {
+            return async;
+        }
+        return keyId -> CompletableFuture.supplyAsync(() -> service.loadPublicKeyMetaData(keyId), executor);
+    }
+}
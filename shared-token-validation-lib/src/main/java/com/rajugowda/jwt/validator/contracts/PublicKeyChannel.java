@@ -0,0 +1,35 @@
+package com.rajugowda.jwt.validator.contracts;
+
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+
+import java.util.function.Consumer;
+
+/**
+ * This interface defines a broadcast channel over which newly generated public keys are pushed
+ * from the token issuer to every validator.
+ * <p>
+ * The issuer publishes the {@link PublicKeyMetaData} of each new key as soon as it is generated, and validators
+ * subscribe to install the key into their {@link com.rajugowda.jwt.validator.secret.Vault} before any token signed
+ * with it arrives. Pulling keys through {@link PublicKeysPoolService} remains the fallback for keys that were missed.
+ * </p>
+ * <p>
+ * {@link com.rajugowda.jwt.validator.distribution.RedisPublicKeyChannel} is registered automatically when Spring
+ * Data Redis is on the classpath.
+ * </p>
+ */
+public interface PublicKeyChannel {
+
+    /**
+     * Broadcasts the metadata of a newly generated public key to all subscribers.
+     *
+     * @param metaData the metadata of the public key to be distributed
+     */
+    void publish(PublicKeyMetaData metaData);
+
+    /**
+     * Registers a subscriber that is invoked for each public key published on the channel.
+     *
+     * @param subscriber the callback receiving the published {@link PublicKeyMetaData}
+     */
+    void subscribe(Consumer<PublicKeyMetaData> subscriber);
+}
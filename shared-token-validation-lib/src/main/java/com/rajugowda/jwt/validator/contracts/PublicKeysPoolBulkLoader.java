@@ -0,0 +1,28 @@
+package com.rajugowda.jwt.validator.contracts;
+
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+
+import java.util.Collection;
+
+/**
+ * The bulk counterpart of {@link PublicKeysPoolService}: enumerates every public key currently published
+ * by the issuer, so that they can all be decoded into the {@link com.rajugowda.jwt.validator.secret.Vault}
+ * at startup instead of one by one on the first requests.
+ * <p>
+ * When a bean of this type is present, the {@link com.rajugowda.jwt.validator.warmup.VaultWarmUp} runs before the
+ * application reports ready. Services using Spring Data Redis get the
+ * {@link com.rajugowda.jwt.validator.warmup.RedisPublicKeysPoolBulkLoader}, which reads the {@code public-key-pool}
+ * cache, by default; others can implement this interface for their own key source.
+ * </p>
+ */
+@FunctionalInterface
+public interface PublicKeysPoolBulkLoader {
+
+    /**
+     * Loads the metadata of all public keys currently available from the key source.
+     * Keys that can no longer sign valid tokens may be included; the Vault skips them.
+     *
+     * @return the metadata of the available public keys, never {@code null}
+     */
+    Collection<PublicKeyMetaData> loadAllPublicKeyMetaData();
+}
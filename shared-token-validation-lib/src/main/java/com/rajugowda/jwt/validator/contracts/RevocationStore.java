@@ -0,0 +1,74 @@
+package com.rajugowda.jwt.validator.contracts;
+
+import com.rajugowda.jwt.validator.revocation.RevocationEntry;
+import com.rajugowda.jwt.validator.revocation.RevocationSnapshot;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This interface defines the shared store of revoked tokens, written by the issuer and read by every validator.
+ * <p>
+ * Validators never query the store per request. They hold the latest {@link RevocationSnapshot} in-process,
+ * receive the revocations made since through {@link #subscribe(Consumer)}, and only call
+ * {@link #find(String, String)} to confirm the rare tokens the snapshot flags as possibly revoked.
+ * </p>
+ *
+ * <h2>Implementations</h2>
+ * <ul>
+ *   <li>{@link com.rajugowda.jwt.validator.revocation.RedisRevocationStore}, registered automatically when
+ *   Spring Data Redis is on the classpath.</li>
+ * </ul>
+ */
+public interface RevocationStore {
+
+    /**
+     * Stores a revocation until it expires and broadcasts it to all subscribers.
+     *
+     * @param entry the revocation
+     */
+    void revoke(RevocationEntry entry);
+
+    /**
+     * Rebuilds the snapshot from all unexpired revocations and publishes it, unless its content is unchanged.
+     *
+     * @return the current snapshot
+     */
+    RevocationSnapshot rebuildSnapshot();
+
+    /**
+     * Loads the published snapshot, unless it is the one the caller already holds.
+     *
+     * @param knownVersion the version of the snapshot the caller holds, or {@code null}
+     * @return the published snapshot, or {@code null} if there is none or it has the known version
+     */
+    RevocationSnapshot loadSnapshot(String knownVersion);
+
+    /**
+     * Looks up the unexpired revocations of a token id and of a subject.
+     *
+     * @param tokenId the {@code jti} of the token, or {@code null} if it has none
+     * @param subject the username of the token, or {@code null}
+     * @return the revocations found, at most one per non-null argument
+     */
+    List<RevocationEntry> find(String tokenId, String subject);
+
+    /**
+     * Looks up whether a token is revoked, either by its id or through a revocation of its subject.
+     *
+     * @param tokenId  the {@code jti} of the token, or {@code null} if it has none
+     * @param subject  the username of the token, or {@code null}
+     * @param issuedAt the {@code iat} of the token, in epoch millis
+     * @return whether the token is revoked
+     */
+    default boolean isRevoked(String tokenId, String subject, long issuedAt) {
+        return find(tokenId, subject).stream().anyMatch(entry -> entry.revokes(issuedAt));
+    }
+
+    /**
+     * Registers a subscriber that is invoked for each revocation stored from now on.
+     *
+     * @param subscriber the callback receiving the {@link RevocationEntry}
+     */
+    void subscribe(Consumer<RevocationEntry> subscriber);
+}
@@ -0,0 +1,43 @@
+package com.rajugowda.jwt.validator.distribution;
+
+import com.rajugowda.jwt.validator.contracts.PublicKeyChannel;
+import com.rajugowda.jwt.validator.util.ChannelName;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Registers the Redis backed {@link PublicKeyChannel} when Spring Data Redis is available in the consuming service.
+ * <p>
+ * Services can opt out with {@code token-validator.key-distribution.enabled=false}, or replace the channel
+ * by declaring their own {@link PublicKeyChannel} bean.
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(RedisConnectionFactory.class)
+@ConditionalOnProperty(prefix = "token-validator.key-distribution", name = "enabled", matchIfMissing = true)
+public class PublicKeyDistributionConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(PublicKeyChannel.class)
+    RedisMessageListenerContainer publicKeyChannelListenerContainer(RedisConnectionFactory connectionFactory) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PublicKeyChannel.class)
+    PublicKeyChannel publicKeyChannel(RedisConnectionFactory connectionFactory,
+                                      RedisMessageListenerContainer publicKeyChannelListenerContainer) {
+        return new RedisPublicKeyChannel(
+                new StringRedisTemplate(connectionFactory),
+                publicKeyChannelListenerContainer,
+                ChannelName.PUBLIC_KEY_POOL_EVENTS);
+    }
+}
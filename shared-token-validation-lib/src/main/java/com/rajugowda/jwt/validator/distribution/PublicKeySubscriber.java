@@ -0,0 +1,40 @@
+package com.rajugowda.jwt.validator.distribution;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.contracts.PublicKeyChannel;
+import com.rajugowda.jwt.validator.secret.Vault;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Subscribes the {@link Vault} to the {@link PublicKeyChannel}, so that every key broadcast by the issuer is decoded
+ * and installed before the first token signed with it arrives.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class PublicKeySubscriber {
+
+    private final Vault vault;
+    private final ObjectProvider<PublicKeyChannel> publicKeyChannel;
+    private final TokenValidatorProperties properties;
+
+    @PostConstruct
+    public void subscribe() {
+        if (!properties.getKeyDistribution().isEnabled()) {
+            log.info("Public key distribution disabled; keys will be loaded on first use.");
+            return;
+        }
+
+        var channel = publicKeyChannel.getIfAvailable();
+        if (channel == null) {
+            log.info("No PublicKeyChannel available; keys will be loaded on first use.");
+            return;
+        }
+
+        channel.subscribe(vault::install);
+    }
+}
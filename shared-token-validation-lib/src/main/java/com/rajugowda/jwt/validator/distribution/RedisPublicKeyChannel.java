@@ -0,0 +1,61 @@
+package com.rajugowda.jwt.validator.distribution;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rajugowda.jwt.validator.contracts.PublicKeyChannel;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * A {@link PublicKeyChannel} backed by Redis pub/sub.
+ * <p>
+ * Public key metadata is published as JSON on the configured channel and delivered to every subscribed
+ * instance through a {@link RedisMessageListenerContainer}. Redis pub/sub is fire-and-forget: instances that are
+ * down while a key is published still load it lazily through the {@code PublicKeysPoolService}.
+ * </p>
+ */
+@Slf4j
+public class RedisPublicKeyChannel implements PublicKeyChannel {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RedisPublicKeyChannel(StringRedisTemplate redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(PublicKeyMetaData metaData) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(metaData));
+            log.info("Public key {} broadcast on channel: {}", metaData.getId(), topic.getTopic());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize public key {} for broadcast.", metaData.getId(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<PublicKeyMetaData> subscriber) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                var json = new String(message.getBody(), StandardCharsets.UTF_8);
+                subscriber.accept(objectMapper.readValue(json, PublicKeyMetaData.class));
+            } catch (Exception e) {
+                log.error("Failed to handle public key broadcast on channel: {}", topic.getTopic(), e);
+            }
+        }, topic);
+        log.info("Subscribed to public key broadcasts on channel: {}", topic.getTopic());
+    }
+}
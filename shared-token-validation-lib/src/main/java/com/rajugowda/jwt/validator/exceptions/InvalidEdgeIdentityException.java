@@ -0,0 +1,11 @@
+package com.rajugowda.jwt.validator.exceptions;
+
+public class InvalidEdgeIdentityException extends RuntimeException {
+    public InvalidEdgeIdentityException(String message) {
+        super(message);
+    }
+
+    public InvalidEdgeIdentityException(String message, Exception e) {
+        super(message, e);
+    }
+}
@@ -0,0 +1,11 @@
+package com.rajugowda.jwt.validator.exceptions;
+
+public class PublicKeyLoadException extends RuntimeException {
+    public PublicKeyLoadException(String message) {
+        super(message);
+    }
+
+    public PublicKeyLoadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.rajugowda.jwt.validator.exceptions;
+
+public class RejectedTokenException extends InvalidJwtException {
+    public RejectedTokenException(String message) {
+        super(message);
+    }
+}
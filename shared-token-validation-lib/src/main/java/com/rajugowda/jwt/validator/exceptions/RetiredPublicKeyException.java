@@ -0,0 +1,7 @@
+package com.rajugowda.jwt.validator.exceptions;
+
+public class RetiredPublicKeyException extends RuntimeException {
+    public RetiredPublicKeyException(String message) {
+        super(message);
+    }
+}
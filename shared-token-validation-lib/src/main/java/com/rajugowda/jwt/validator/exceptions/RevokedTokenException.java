@@ -0,0 +1,7 @@
+package com.rajugowda.jwt.validator.exceptions;
+
+public class RevokedTokenException extends InvalidJwtException {
+    public RevokedTokenException(String message) {
+        super(message);
+    }
+}
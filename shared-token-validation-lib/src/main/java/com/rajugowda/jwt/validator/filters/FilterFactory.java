@@ -1,8 +1,11 @@
 package com.rajugowda.jwt.validator.filters;
 
 import com.rajugowda.jwt.validator.auth.Authenticator;
+import com.rajugowda.jwt.validator.limiter.ConcurrencyLimitFilter;
+import com.rajugowda.jwt.validator.limiter.ConcurrencyLimiter;
 import com.rajugowda.jwt.validator.util.TokenType;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 
 /**
@@ -42,12 +45,15 @@ import org.springframework.stereotype.Component;
  * This could be problematic when filters like {@link JwtFailFastAuthFilter} will completely restrict unauthenticated
  * requests.
  * </pre>
+ * Only registered in servlet applications.
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @AllArgsConstructor
 public class FilterFactory {
 
     private final Authenticator authenticator;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
     /**
      * Creates an instance of the specified {@code JwtFilter} implementation,
@@ -75,5 +81,15 @@ public class FilterFactory {
         }
     }
 
-
+    /**
+     * Creates a {@link ConcurrencyLimitFilter} shedding the requests beyond the service's adaptive concurrency limit.
+     * <p>
+     * All filters created by this method share the service's single {@link ConcurrencyLimiter}.
+     * </p>
+     *
+     * @return a new {@link ConcurrencyLimitFilter}
+     */
+    public ConcurrencyLimitFilter createConcurrencyLimitFilter() {
+        return new ConcurrencyLimitFilter(concurrencyLimiter);
+    }
 }
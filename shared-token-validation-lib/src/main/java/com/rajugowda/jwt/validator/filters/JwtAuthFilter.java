@@ -80,9 +80,7 @@ public class JwtAuthFilter extends OncePerRequestFilter implements JwtFilter {
          * Attempt to authenticate the user based on the token type and request cookies.
          * Authentication is non-blocking: failure to authenticate will not stop the request.
          */
-        authenticator.authenticateForJwt(request)
-                .forTokenType(tokenType)
-                .orchestrate();
+        authenticator.authenticate(request, tokenType, getClass());
 
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,88 @@
+package com.rajugowda.jwt.validator.filters;
+
+import com.rajugowda.jwt.validator.auth.Authenticator;
+import com.rajugowda.jwt.validator.util.TokenType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * {@code JwtEdgeIdentityAuthFilter} is the non-intrusive counterpart of {@link JwtAuthFilter} for services
+ * behind the gateway. It first authenticates requests from the HMAC-signed identity the gateway forwards
+ * after verifying the access token, and only validates the JWT token itself when no valid identity is forwarded.
+ * <p>
+ * This filter delegates the actual verification to the {@link Authenticator}.
+ * If a valid identity or token is present, it sets the security context with authenticated user details.
+ * Otherwise, the request proceeds without authentication.
+ * <p>
+ * Requires {@code token-validator.edge-identity.secret} to be shared with the gateway; without it the filter
+ * behaves exactly like {@link JwtAuthFilter}.
+ *
+ * <h2>Usage</h2>
+ * <p>
+ * Simply register this filter to the {@link org.springframework.security.web.SecurityFilterChain}
+ * using the {@link FilterFactory}. <br>
+ * <h2>Example</h2>
+ * <pre>
+ *     SecurityFilterChain filterChain = http
+ *                                      .csrf(AbstractHttpConfigurer::disable)
+ *                                      // Other configurations here
+ *                                      .addFilterBefore(
+ *                                          filterFactory.createJwtFilter(JwtEdgeIdentityAuthFilter.class, TokenType.ACCESS),
+ *                                          UsernamePasswordAuthenticationFilter.class
+ *                                          )
+ *                                      .build()
+ * </pre>
+ * </p>
+ *
+ * @see com.rajugowda.jwt.validator.auth.EdgeIdentityCodec
+ * @see TokenType
+ */
+@Slf4j
+public class JwtEdgeIdentityAuthFilter extends OncePerRequestFilter implements JwtFilter {
+
+    private Authenticator authenticator;
+    private TokenType tokenType;
+
+    @Override
+    public void setAuthenticator(Authenticator authenticator) {
+        this.authenticator = authenticator;
+    }
+
+    @Override
+    public void setTokenType(TokenType tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    /**
+     * Filters incoming requests to optionally authenticate based on the forwarded identity or a JWT token.
+     * <p>
+     * If the forwarded identity or the token of the specified type is present in the request,
+     * the filter delegates validation to the {@link Authenticator}.
+     * The request will continue regardless of whether authentication succeeds or fails.
+     *
+     * @param request     the incoming HTTP request
+     * @param response    the outgoing HTTP response
+     * @param filterChain the filter chain to continue request processing
+     * @throws ServletException in case of servlet errors
+     * @throws IOException      in case of I/O errors
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        /*
+         * Attempt to authenticate the user based on the forwarded identity, or the token type and request cookies.
+         * Authentication is non-blocking: failure to authenticate will not stop the request.
+         */
+        authenticator.authenticateWithEdgeIdentity(request, tokenType, getClass());
+
+        filterChain.doFilter(request, response);
+    }
+}
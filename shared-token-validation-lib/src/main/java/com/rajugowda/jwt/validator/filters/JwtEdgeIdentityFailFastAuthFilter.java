@@ -0,0 +1,101 @@
+
+package com.rajugowda.jwt.validator.filters;
+
+import com.rajugowda.jwt.validator.auth.Authenticator;
+import com.rajugowda.jwt.validator.auth.dto.FailedAuthResponses;
+import com.rajugowda.jwt.validator.util.TokenType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * The fail-fast counterpart of {@link JwtEdgeIdentityAuthFilter}, for services behind the gateway.
+ * <p>
+ * This filter runs once per request, authenticating it from the HMAC-signed identity forwarded by the gateway,
+ * and falling back to the {@link Authenticator}'s JWT validation for the specific {@link TokenType}
+ * when no valid identity is forwarded.
+ * If the authentication process fails, an error response is returned to the caller with
+ * relevant status and message details. <br>
+ * If the authentication fails, the request doesn't proceed to the next filter. An early error is thrown to the client.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ * <p>
+ * Simply register this filter to the {@link org.springframework.security.web.SecurityFilterChain}
+ * using the {@link FilterFactory}. <br>
+ * <h2>Example</h2>
+ * <pre>
+ *     SecurityFilterChain filterChain = http
+ *                                      .csrf(AbstractHttpConfigurer::disable)
+ *                                      // Other configurations here
+ *                                      .addFilterBefore(
+ *                                          filterFactory.createJwtFilter(JwtEdgeIdentityFailFastAuthFilter.class, TokenType.ACCESS),
+ *                                          UsernamePasswordAuthenticationFilter.class
+ *                                          )
+ *                                      .build()
+ * </pre>
+ * </p>
+ * <ul>
+ *   <li>Verify the forwarded identity, if any (implementation details in {@link Authenticator}).</li>
+ *   <li>Otherwise, extract the JWT token from the request.</li>
+ *   <li>Validate the token against the configured {@link TokenType}.</li>
+ *   <li>Respond with a 401 (Unauthorized) and appropriate error message if the token is invalid.</li>
+ *   <li>Allow the request lifecycle to proceed if token validation succeeds.</li>
+ * </ul>
+ *
+ * @see com.rajugowda.jwt.validator.auth.EdgeIdentityCodec
+ * @see TokenType
+ */
+@Slf4j
+public class JwtEdgeIdentityFailFastAuthFilter extends OncePerRequestFilter implements JwtFilter {
+
+    private Authenticator authenticator;
+    private TokenType tokenType;
+
+    @Override
+    public void setAuthenticator(Authenticator authenticator) {
+        this.authenticator = authenticator;
+    }
+
+    @Override
+    public void setTokenType(TokenType tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    /**
+     * Executes the token authentication logic once for each incoming HTTP request.
+     * <p>
+     * This method delegates the authentication process to the {@link Authenticator}, specifying
+     * the token type to validate. If authentication fails, the filter writes the precomputed
+     * 401 response of the token type (see {@link FailedAuthResponses}). If the
+     * token is valid, the filter chain continues normally.
+     * </p>
+     *
+     * @param request     the incoming {@link HttpServletRequest}
+     * @param response    the outgoing {@link HttpServletResponse}
+     * @param filterChain the {@link FilterChain} for propagating the request/response
+     * @throws ServletException if an error occurs while processing the request
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        boolean result = authenticator.authenticateWithEdgeIdentity(request, tokenType, getClass());
+
+        // Only continue if authentication was successful. Otherwise, return early.
+        if (result) {
+            log.debug("Authentication successful. Proceeding to the next filter.");
+            filterChain.doFilter(request, response);
+        } else {
+            FailedAuthResponses.write(response, tokenType);
+            log.debug("Authentication failed. Request aborted.");
+        }
+    }
+}
@@ -2,7 +2,7 @@
 package com.rajugowda.jwt.validator.filters;
 
 import com.rajugowda.jwt.validator.auth.Authenticator;
-import com.rajugowda.jwt.validator.auth.dto.FailedAuthResponse;
+import com.rajugowda.jwt.validator.auth.dto.FailedAuthResponses;
 import com.rajugowda.jwt.validator.util.TokenType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -69,8 +69,8 @@ public class JwtFailFastAuthFilter extends OncePerRequestFilter implements JwtFi
      * Executes the token authentication logic once for each incoming HTTP request.
      * <p>
      * This method delegates the authentication process to the {@link Authenticator}, specifying
-     * the token type to validate. If authentication fails, the filter constructs an appropriate
-     * response, setting a 401 status code and an error message based on the token type. If the
+     * the token type to validate. If authentication fails, the filter writes the precomputed
+     * 401 response of the token type (see {@link FailedAuthResponses}). If the
      * token is valid, the filter chain continues normally.
      * </p>
      *
@@ -85,28 +85,15 @@ public class JwtFailFastAuthFilter extends OncePerRequestFilter implements JwtFi
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        boolean result = authenticator.authenticateForJwt(request)
-                .forTokenType(tokenType)
-                .orchestrate()
-                // handling the unauthenticated case (optional in custom implementations)
-                .handleUnauthenticated(() -> FailedAuthResponse.builder()
-                        .status(HttpServletResponse.SC_UNAUTHORIZED)
-                        .message("Authentication Failed.")
-                        .error(
-                                tokenType.equals(TokenType.ACCESS)
-                                        ? "Invalid access token."
-                                        : "Invalid refresh token."
-                        )
-                        .additionalInfo("Please provide a valid token.")
-                        .build())
-                .with(response)
-                .result();
+        boolean result = authenticator.authenticate(request, tokenType, getClass());
 
         // Only continue if authentication was successful. Otherwise, return early.
         if (result) {
-            log.info("Authentication successful. Proceeding to the next filter.");
+            log.debug("Authentication successful. Proceeding to the next filter.");
             filterChain.doFilter(request, response);
-        } else
-            log.error("Authentication failed. Request aborted.");
+        } else {
+            FailedAuthResponses.write(response, tokenType);
+            log.debug("Authentication failed. Request aborted.");
+        }
     }
 }
@@ -0,0 +1,86 @@
+package com.rajugowda.jwt.validator.jwks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyException;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A single RSA signing key of a {@link JsonWebKeySet}, as defined by RFC 7517.
+ * <p>
+ * Next to the standard members, {@code iat} carries the generation time of the key in epoch seconds,
+ * so that validators can retire the key on the same schedule as keys loaded from the key pool cache.
+ * </p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JsonWebKey(String kty, String use, String alg, String kid, String n, String e, Long iat) {
+
+    private static final String KEY_TYPE = "RSA";
+    private static final String USE_SIGNATURE = "sig";
+    private static final String ALGORITHM = "RS256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Describes an RSA public key as a JSON Web Key.
+     *
+     * @param keyId       the id of the key, as carried in the {@code kid} header of the tokens it verifies
+     * @param publicKey   the public key
+     * @param generatedAt the generation time of the key in epoch millis
+     * @return the JSON Web Key
+     */
+    public static JsonWebKey fromRsaPublicKey(String keyId, RSAPublicKey publicKey, long generatedAt) {
+        return new JsonWebKey(KEY_TYPE, USE_SIGNATURE, ALGORITHM, keyId,
+                encode(publicKey.getModulus()),
+                encode(publicKey.getPublicExponent()),
+                generatedAt / 1000);
+    }
+
+    /**
+     * Converts the key into the {@link PublicKeyMetaData} the {@link com.rajugowda.jwt.validator.secret.Vault}
+     * installs, i.e. the Base64-encoded X.509 form of the key.
+     *
+     * @return the metadata of the key
+     * @throws InvalidPublicKeyException if the key is not an RSA key or its parameters are malformed
+     */
+    public PublicKeyMetaData toPublicKeyMetaData() {
+        if (!KEY_TYPE.equals(kty) || kid == null || n == null || e == null) {
+            throw new InvalidPublicKeyException("Unsupported JSON Web Key: " + kid);
+        }
+        if (use != null && !USE_SIGNATURE.equals(use)) {
+            throw new InvalidPublicKeyException("JSON Web Key is not a signing key: " + kid);
+        }
+
+        try {
+            var spec = new RSAPublicKeySpec(new BigInteger(1, DECODER.decode(n)), new BigInteger(1, DECODER.decode(e)));
+            byte[] encoded = KeyFactory.getInstance(KEY_TYPE).generatePublic(spec).getEncoded();
+            return PublicKeyMetaData.builder()
+                    .id(kid)
+                    .generateAt(iat != null ? iat * 1000 : null)
+                    .publicKey(Base64.getEncoder().encodeToString(encoded))
+                    .build();
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw new InvalidPublicKeyException("Malformed JSON Web Key: " + kid, ex);
+        }
+    }
+
+    /**
+     * Encodes an integer as the unsigned big-endian Base64url value RFC 7518 requires, without a sign byte.
+     */
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+}
@@ -0,0 +1,16 @@
+package com.rajugowda.jwt.validator.jwks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * A JSON Web Key Set document ({@code {"keys": [...]}}), as served by the issuer's JWKS endpoint.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JsonWebKeySet(List<JsonWebKey> keys) {
+
+    public JsonWebKeySet {
+        keys = keys != null ? List.copyOf(keys) : List.of();
+    }
+}
@@ -0,0 +1,57 @@
+package com.rajugowda.jwt.validator.jwks;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+
+/**
+ * Registers the {@link JwksPublicKeysPoolService} when {@code token-validator.jwks.enabled=true}.
+ * <p>
+ * The JWKS service is registered as the primary {@link PublicKeysPoolService} and bulk loader, so it takes
+ * precedence over the service's own key source without the service having to remove it. Any other
+ * {@code PublicKeysPoolService} bean the service declares is kept as the fallback for key ids missing from the
+ * key set.
+ * </p>
+ * <pre>
+ * token-validator:
+ *   jwks:
+ *     enabled: true
+ *     uri: http://localhost:8080/api/v1/users/.well-known/jwks.json
+ * </pre>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "token-validator.jwks", name = "enabled", havingValue = "true")
+public class JwksConfiguration {
+
+    @Bean
+    @Primary
+    JwksPublicKeysPoolService jwksPublicKeysPoolService(TokenValidatorProperties properties,
+                                                        ObjectProvider<PublicKeysPoolService> publicKeysPoolServices) {
+        var jwks = properties.getJwks();
+        if (jwks.getUri() == null || jwks.getUri().isBlank()) {
+            throw new IllegalStateException("token-validator.jwks.uri is required when token-validator.jwks.enabled=true");
+        }
+
+        var requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(jwks.getTimeout());
+        requestFactory.setReadTimeout(jwks.getTimeout());
+
+        return new JwksPublicKeysPoolService(
+                RestClient.builder().requestFactory(requestFactory).build(),
+                URI.create(jwks.getUri()),
+                jwks.getRefreshInterval(),
+                jwks.getMinRefreshInterval(),
+                () -> publicKeysPoolServices.stream()
+                        .filter(service -> !(service instanceof JwksPublicKeysPoolService))
+                        .findFirst()
+                        .orElse(null));
+    }
+}
@@ -0,0 +1,183 @@
+package com.rajugowda.jwt.validator.jwks;
+
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolBulkLoader;
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolService;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyException;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link PublicKeysPoolService} backed by the issuer's JWKS endpoint instead of the shared key pool cache.
+ * <p>
+ * The whole key set is fetched at once and kept as an immutable snapshot, so resolving a key id is a map lookup.
+ * The snapshot is refreshed once the {@code max-age} of the last response has passed, and when a token carries a
+ * key id the snapshot does not know (a freshly rotated key). Refreshes are conditional GETs: the {@code ETag} of
+ * the last response is sent as {@code If-None-Match}, and a {@code 304 Not Modified} keeps the current snapshot.
+ * Only one thread refreshes at a time, and refreshes triggered by unknown key ids are spaced by the configured
+ * minimum interval, so tokens with bogus key ids cannot make the validator hammer the issuer.
+ * </p>
+ * <p>
+ * If the endpoint cannot be reached, the last snapshot keeps being served. Key ids missing from the key set are
+ * passed to the fallback service, if any, e.g. to cover keys of issuer instances the endpoint does not know of.
+ * </p>
+ */
+@Slf4j
+public class JwksPublicKeysPoolService implements PublicKeysPoolService, PublicKeysPoolBulkLoader {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final RestClient restClient;
+    private final URI uri;
+    private final long refreshIntervalNanos;
+    private final long minRefreshIntervalNanos;
+    private final Supplier<PublicKeysPoolService> fallback;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param restClient         the client used to fetch the key set
+     * @param uri                the JWKS endpoint of the issuer
+     * @param refreshInterval    how long a key set is used when the response carries no {@code max-age}
+     * @param minRefreshInterval the minimum time between two refreshes triggered by unknown key ids
+     * @param fallback           supplies the service consulted for key ids missing from the key set;
+     *                           may supply {@code null}
+     */
+    public JwksPublicKeysPoolService(RestClient restClient, URI uri, Duration refreshInterval,
+                                     Duration minRefreshInterval, Supplier<PublicKeysPoolService> fallback) {
+        this.restClient = restClient;
+        this.uri = uri;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.fallback = fallback;
+
+        long now = System.nanoTime();
+        this.snapshot = new Snapshot(Map.of(), null, now - minRefreshIntervalNanos, now);
+    }
+
+    @Override
+    public PublicKeyMetaData loadPublicKeyMetaData(String keyId) {
+        Snapshot current = snapshot;
+        PublicKeyMetaData metaData = current.keys().get(keyId);
+        if (metaData != null && !current.isStale(System.nanoTime())) {
+            return metaData;
+        }
+
+        Snapshot refreshed = refresh(current, metaData == null);
+        metaData = refreshed.keys().get(keyId);
+        if (metaData != null) {
+            return metaData;
+        }
+
+        PublicKeysPoolService fallbackService = fallback.get();
+        if (fallbackService != null) {
+            log.debug("Key id {} not in the JWKS of {}, falling back to {}", keyId, uri, fallbackService);
+            return fallbackService.loadPublicKeyMetaData(keyId);
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<PublicKeyMetaData> loadAllPublicKeyMetaData() {
+        return refresh(snapshot, true).keys().values();
+    }
+
+    /**
+     * Refreshes the snapshot if it is still the one the caller has seen and it is due for a refresh.
+     *
+     * @param seen the snapshot the caller found lacking
+     * @param miss whether the caller is missing a key id, which allows an early refresh
+     * @return the current snapshot
+     */
+    private Snapshot refresh(Snapshot seen, boolean miss) {
+        refreshLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != seen) {
+                return current;
+            }
+
+            long now = System.nanoTime();
+            boolean due = current.isStale(now) || (miss && now - current.fetchedAt() >= minRefreshIntervalNanos);
+            if (!due) {
+                return current;
+            }
+
+            try {
+                snapshot = fetch(current);
+            } catch (RestClientException e) {
+                log.warn("Failed to fetch the JWKS from {}, serving {} known keys: {}",
+                        uri, current.keys().size(), e.getMessage());
+                snapshot = new Snapshot(current.keys(), current.etag(), now, now + minRefreshIntervalNanos);
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot fetch(Snapshot current) {
+        ResponseEntity<JsonWebKeySet> response = restClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (current.etag() != null) headers.setIfNoneMatch(current.etag());
+                })
+                .retrieve()
+                .toEntity(JsonWebKeySet.class);
+
+        long now = System.nanoTime();
+        long expiresAt = now + maxAgeNanos(response.getHeaders());
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) || response.getBody() == null) {
+            log.debug("JWKS at {} not modified", uri);
+            return new Snapshot(current.keys(), current.etag(), now, expiresAt);
+        }
+
+        Map<String, PublicKeyMetaData> keys = new HashMap<>();
+        for (JsonWebKey key : response.getBody().keys()) {
+            try {
+                keys.put(key.kid(), key.toPublicKeyMetaData());
+            } catch (InvalidPublicKeyException e) {
+                log.warn("Skipping JSON Web Key from {}: {}", uri, e.getMessage());
+            }
+        }
+
+        log.info("Fetched {} public keys from {}", keys.size(), uri);
+        return new Snapshot(Map.copyOf(keys), response.getHeaders().getETag(), now, expiresAt);
+    }
+
+    private long maxAgeNanos(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Duration.ofSeconds(Long.parseLong(matcher.group(1))).toNanos();
+            }
+        }
+        return refreshIntervalNanos;
+    }
+
+    /**
+     * An immutable view of the key set, with the validator used for conditional refreshes.
+     */
+    private record Snapshot(Map<String, PublicKeyMetaData> keys, String etag, long fetchedAt, long expiresAt) {
+
+        boolean isStale(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.rajugowda.jwt.validator.limiter;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link ConcurrencyLimiter} of servlet applications, and its metrics when Micrometer is available.
+ * <p>
+ * The limiter only takes effect once a service registers the filter created by
+ * {@link com.rajugowda.jwt.validator.filters.FilterFactory#createConcurrencyLimitFilter()};
+ * {@code token-validator.concurrency-limit.enabled=false} turns that filter into a pass-through.
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    ConcurrencyLimiter concurrencyLimiter(TokenValidatorProperties properties) {
+        return new ConcurrencyLimiter(properties);
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class ConcurrencyLimiterMetricsConfiguration {
+
+        @Bean
+        ConcurrencyLimiterMetrics concurrencyLimiterMetrics(ConcurrencyLimiter concurrencyLimiter) {
+            return new ConcurrencyLimiterMetrics(concurrencyLimiter);
+        }
+    }
+}
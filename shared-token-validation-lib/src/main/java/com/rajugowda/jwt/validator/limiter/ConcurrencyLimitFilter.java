@@ -0,0 +1,122 @@
+package com.rajugowda.jwt.validator.limiter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A servlet filter that sheds the requests exceeding the limit of a {@link ConcurrencyLimiter}.
+ * <p>
+ * Rejected requests are answered right away with a 503 and a {@code Retry-After} header, before any
+ * authentication, controller or database work is done for them. Admitted requests are timed until they complete,
+ * including asynchronous requests, and their latency drives the limit.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ * <p>
+ * Create it with the {@link com.rajugowda.jwt.validator.filters.FilterFactory} and register it ahead of the
+ * authentication filters, so that shed requests cost no token validation:
+ * </p>
+ * <pre>
+ *     http.addFilterBefore(filterFactory.createConcurrencyLimitFilter(), SecurityContextHolderFilter.class)
+ * </pre>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] REJECTED_BODY = ("{\"status\":503,\"message\":\"Service Unavailable.\","
+            + "\"error\":\"Too many concurrent requests.\",\"additionalInfo\":\"Please retry shortly.\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            reject(response);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(start);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once it completes, whichever way it completes.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final long start;
+        private boolean released;
+
+        private ReleaseOnCompletion(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                limiter.release(start);
+            }
+        }
+    }
+}
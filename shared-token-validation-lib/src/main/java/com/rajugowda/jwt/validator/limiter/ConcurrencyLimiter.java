@@ -0,0 +1,176 @@
+package com.rajugowda.jwt.validator.limiter;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the number of requests a service processes concurrently, with a limit that adapts to the measured latency.
+ * <p>
+ * The limit follows a gradient algorithm: request latencies are averaged over short sample windows and compared
+ * with a long-term baseline. While the short-term latency stays within {@code rtt-tolerance} of the baseline, the
+ * limit grows by a small headroom ({@code sqrt(limit)}). Once requests start queueing (in Tomcat's thread pool,
+ * Hikari's connection pool or the database) and latency rises, the limit shrinks in proportion, by at most half
+ * per window. Every update is smoothed, and the limit stays between {@code min-limit} and {@code max-limit}.
+ * </p>
+ * <p>
+ * The limit only grows when the service actually used at least half of it during the window, so a quiet service
+ * does not drift up to {@code max-limit} and accept a burst it cannot serve.
+ * </p>
+ * <p>
+ * {@link #tryAcquire()} and {@link #release(long)} are lock-free; the limit is recomputed at most once per window,
+ * by whichever request completes it.
+ * </p>
+ */
+@Slf4j
+public class ConcurrencyLimiter {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final int BASELINE_WINDOWS = 600;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private volatile int limit;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    /* guarded by updateLock */
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private double estimatedLimit;
+    private double baselineRttNanos;
+
+    public ConcurrencyLimiter(TokenValidatorProperties properties) {
+        TokenValidatorProperties.ConcurrencyLimit config = properties.getConcurrencyLimit();
+        if (config.getMinLimit() < 1 || config.getMaxLimit() < config.getMinLimit()) {
+            throw new IllegalStateException("token-validator.concurrency-limit requires 1 <= min-limit <= max-limit");
+        }
+
+        this.enabled = config.isEnabled();
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.smoothing = config.getSmoothing();
+        this.rttTolerance = config.getRttTolerance();
+        this.windowNanos = config.getSampleWindow().toNanos();
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, config.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+
+        log.info("Concurrency limiter {} (initial limit: {}, bounds: {}-{}).",
+                enabled ? "enabled" : "disabled", limit, minLimit, maxLimit);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admits a request if fewer than {@link #getLimit()} requests are in flight.
+     *
+     * @return {@code true} if the request was admitted and {@link #release(long)} must be called once it completes
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        acceptedCount.increment();
+        if (current + 1 > windowMaxInFlight.get()) {
+            windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+        }
+        return true;
+    }
+
+    /**
+     * Releases an admitted request and samples its latency.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the request was admitted
+     */
+    public void release(long startNanos) {
+        long now = System.nanoTime();
+        inFlight.decrementAndGet();
+        windowRttNanos.add(now - startNanos);
+        windowSamples.increment();
+
+        if (now - windowStart.get() >= windowNanos && windowSamples.sum() >= MIN_WINDOW_SAMPLES && updateLock.tryLock()) {
+            try {
+                if (now - windowStart.get() >= windowNanos) {
+                    windowStart.set(now);
+                    long samples = windowSamples.sumThenReset();
+                    long rttNanos = windowRttNanos.sumThenReset();
+                    int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+                    if (samples > 0) {
+                        update((double) rttNanos / samples, maxInFlight);
+                    }
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void update(double rttNanos, int maxInFlight) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+        } else {
+            baselineRttNanos += (rttNanos - baselineRttNanos) * 2 / (BASELINE_WINDOWS + 1);
+        }
+
+        // Latency dropped well below the baseline (e.g. a slow dependency recovered): let the baseline catch up.
+        if (baselineRttNanos / rttNanos > 2) {
+            baselineRttNanos *= 0.95;
+        }
+
+        // Not enough load to tell whether a higher limit would be sustainable.
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * baselineRttNanos / rttNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double next = estimatedLimit * (1 - smoothing) + target * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+
+        int previous = limit;
+        limit = (int) estimatedLimit;
+        if (limit != previous) {
+            log.debug("Concurrency limit {} -> {} (rtt: {} us, baseline: {} us).",
+                    previous, limit, (long) rttNanos / 1000, (long) baselineRttNanos / 1000);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
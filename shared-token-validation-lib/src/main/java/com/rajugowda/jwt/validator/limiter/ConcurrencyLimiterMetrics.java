@@ -0,0 +1,41 @@
+package com.rajugowda.jwt.validator.limiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the state of the {@link ConcurrencyLimiter} to Micrometer:
+ * <ul>
+ *   <li>{@code concurrency.limiter.limit} (gauge): the current adaptive limit.</li>
+ *   <li>{@code concurrency.limiter.in.flight} (gauge): requests being processed.</li>
+ *   <li>{@code concurrency.limiter.requests} (counter, tagged by {@code outcome}: accepted, rejected).</li>
+ * </ul>
+ */
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+
+    private static final String PREFIX = "concurrency.limiter.";
+
+    private final ConcurrencyLimiter limiter;
+
+    public ConcurrencyLimiterMetrics(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PREFIX + "limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder(PREFIX + "in.flight", limiter, ConcurrencyLimiter::getInFlight)
+                .description("Requests currently being processed")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "requests", limiter, ConcurrencyLimiter::getAcceptedCount)
+                .tag("outcome", "accepted")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "requests", limiter, ConcurrencyLimiter::getRejectedCount)
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+}
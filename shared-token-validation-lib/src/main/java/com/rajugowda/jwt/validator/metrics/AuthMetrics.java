@@ -0,0 +1,57 @@
+package com.rajugowda.jwt.validator.metrics;
+
+import com.rajugowda.jwt.validator.util.TokenType;
+
+/**
+ * Instrumentation surface of the token validation path.
+ * <p>
+ * Callers check {@link #isEnabled()} before reading the clock, so that the {@link #NOOP} instance, used when
+ * Micrometer is absent or metrics are disabled, costs no more than a field read and a branch per request.
+ * </p>
+ *
+ * @see MicrometerAuthMetrics
+ */
+public interface AuthMetrics {
+
+    /**
+     * Metrics that record nothing.
+     */
+    AuthMetrics NOOP = new AuthMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordSuccess(TokenType tokenType, String filter, long startNanos) {
+        }
+
+        @Override
+        public void recordFailure(TokenType tokenType, String filter, long startNanos, FailureReason reason) {
+        }
+    };
+
+    /**
+     * @return whether anything is recorded at all.
+     */
+    boolean isEnabled();
+
+    /**
+     * Records a token that passed validation.
+     *
+     * @param tokenType  the type of the validated token
+     * @param filter     the name of the filter that requested the validation
+     * @param startNanos the {@link System#nanoTime()} at which the validation started
+     */
+    void recordSuccess(TokenType tokenType, String filter, long startNanos);
+
+    /**
+     * Records a token that failed validation.
+     *
+     * @param tokenType  the type of the rejected token
+     * @param filter     the name of the filter that requested the validation
+     * @param startNanos the {@link System#nanoTime()} at which the validation started
+     * @param reason     why the token was rejected
+     */
+    void recordFailure(TokenType tokenType, String filter, long startNanos, FailureReason reason);
+}
@@ -0,0 +1,29 @@
+package com.rajugowda.jwt.validator.metrics;
+
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.auth.cache.VerifiedTokenCache;
+import com.rajugowda.jwt.validator.secret.Vault;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link MicrometerAuthMetrics} binder when Micrometer is available in the consuming service.
+ * Spring Boot Actuator binds it to the service's meter registry.
+ * <p>
+ * Services can opt out with {@code token-validator.metrics.enabled=false}, in which case {@link AuthMetrics#NOOP}
+ * is used.
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "token-validator.metrics", name = "enabled", matchIfMissing = true)
+public class AuthMetricsConfiguration {
+
+    @Bean
+    MicrometerAuthMetrics authMetrics(Vault vault, VerifiedTokenCache verifiedTokenCache, RejectionCache rejectionCache) {
+        return new MicrometerAuthMetrics(vault, verifiedTokenCache, rejectionCache);
+    }
+}
@@ -0,0 +1,58 @@
+package com.rajugowda.jwt.validator.metrics;
+
+import com.rajugowda.jwt.validator.exceptions.InvalidJwtException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyIdentifierException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyMetaDataException;
+import com.rajugowda.jwt.validator.exceptions.PublicKeyForTokenNotFoundException;
+import com.rajugowda.jwt.validator.exceptions.PublicKeyLoadException;
+import com.rajugowda.jwt.validator.exceptions.RejectedTokenException;
+import com.rajugowda.jwt.validator.exceptions.RetiredPublicKeyException;
+import com.rajugowda.jwt.validator.exceptions.RevokedTokenException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Why a token failed validation, as published in the {@code reason} tag of the failure counter.
+ */
+@Getter
+@AllArgsConstructor
+public enum FailureReason {
+    EXPIRED("expired"),
+    INVALID_SIGNATURE("invalid_signature"),
+    MALFORMED("malformed"),
+    MISSING_KEY_ID("missing_kid"),
+    UNKNOWN_KEY_ID("unknown_kid"),
+    RETIRED_KEY_ID("retired_kid"),
+    INVALID_KEY("invalid_key"),
+    REJECTED_RECENTLY("rejected_recently"),
+    KEY_LOAD_FAILED("key_load_failed"),
+    REVOKED("revoked"),
+    OTHER("other");
+
+    private final String tag;
+
+    /**
+     * Classifies an exception thrown by the {@link com.rajugowda.jwt.validator.auth.TokenParser}.
+     *
+     * @param e the exception thrown while validating a token
+     * @return the matching reason, {@link #OTHER} if none matches
+     */
+    public static FailureReason of(Throwable e) {
+        if (e instanceof RevokedTokenException) return REVOKED;
+        if (e instanceof RejectedTokenException) return REJECTED_RECENTLY;
+        if (e instanceof RetiredPublicKeyException) return RETIRED_KEY_ID;
+        if (e instanceof InvalidPublicKeyMetaDataException || e instanceof PublicKeyForTokenNotFoundException) return UNKNOWN_KEY_ID;
+        if (e instanceof InvalidPublicKeyIdentifierException) return MISSING_KEY_ID;
+        if (e instanceof InvalidPublicKeyException) return INVALID_KEY;
+        if (e instanceof PublicKeyLoadException) return KEY_LOAD_FAILED;
+        if (e instanceof InvalidJwtException) {
+            if (e.getCause() instanceof ExpiredJwtException) return EXPIRED;
+            if (e.getCause() instanceof SignatureException) return INVALID_SIGNATURE;
+            return MALFORMED;
+        }
+        return OTHER;
+    }
+}
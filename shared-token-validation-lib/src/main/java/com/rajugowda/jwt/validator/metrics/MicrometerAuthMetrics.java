@@ -0,0 +1,134 @@
+package com.rajugowda.jwt.validator.metrics;
+
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.auth.cache.VerifiedTokenCache;
+import com.rajugowda.jwt.validator.secret.Vault;
+import com.rajugowda.jwt.validator.util.TokenType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the metrics of the token validation path to Micrometer.
+ * <p>
+ * Per-request meters, tagged by {@code token.type} and {@code filter}:
+ * </p>
+ * <ul>
+ *   <li>{@code token.validator.validation} (timer, tagged by {@code outcome}): latency of {@code TokenParser.parseToken}.</li>
+ *   <li>{@code token.validator.failures} (counter, tagged by {@code reason}): rejected tokens, see {@link FailureReason}.</li>
+ * </ul>
+ * <p>
+ * Meters read from the counters the components keep anyway, so they add nothing to the request path:
+ * </p>
+ * <ul>
+ *   <li>{@code token.validator.vault.lookups} (tagged by {@code result}: hit, miss).</li>
+ *   <li>{@code token.validator.vault.loads} (tagged by {@code mode}: loaded, coalesced).</li>
+ *   <li>{@code token.validator.vault.key.decode}: time spent decoding public keys.</li>
+ *   <li>{@code token.validator.verified.cache.requests} (tagged by {@code result}: hit, miss).</li>
+ *   <li>{@code token.validator.negative.cache.refusals} (tagged by {@code cause}: kid, token).</li>
+ * </ul>
+ * <p>
+ * Nothing is recorded until the binder is bound to a registry.
+ * </p>
+ */
+@Slf4j
+public class MicrometerAuthMetrics implements AuthMetrics, MeterBinder {
+
+    private static final String PREFIX = "token.validator.";
+
+    private final Vault vault;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RejectionCache rejectionCache;
+
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> failureCounters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public MicrometerAuthMetrics(Vault vault, VerifiedTokenCache verifiedTokenCache, RejectionCache rejectionCache) {
+        this.vault = vault;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.rejectionCache = rejectionCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "vault.lookups", "result", "hit", vault, Vault::getHitCount);
+        counter(registry, "vault.lookups", "result", "miss", vault, Vault::getMissCount);
+        counter(registry, "vault.loads", "mode", "loaded", vault, Vault::getLoadCount);
+        counter(registry, "vault.loads", "mode", "coalesced", vault, Vault::getCoalescedLoadCount);
+        FunctionTimer.builder(PREFIX + "vault.key.decode", vault,
+                        Vault::getKeyDecodeCount, Vault::getKeyDecodeNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent decoding public keys and building their parsers")
+                .register(registry);
+
+        counter(registry, "verified.cache.requests", "result", "hit", verifiedTokenCache, VerifiedTokenCache::hitCount);
+        counter(registry, "verified.cache.requests", "result", "miss", verifiedTokenCache, VerifiedTokenCache::missCount);
+        counter(registry, "negative.cache.refusals", "cause", "kid", rejectionCache, RejectionCache::getRefusedByKeyIdCount);
+        counter(registry, "negative.cache.refusals", "cause", "token", rejectionCache, RejectionCache::getRefusedByTokenCount);
+
+        timers.clear();
+        failureCounters.clear();
+        this.registry = registry;
+        log.info("Token validation metrics bound to {}.", registry.getClass().getSimpleName());
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, String tagKey, String tagValue,
+                                    T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(PREFIX + name, source, count)
+                .tag(tagKey, tagValue)
+                .register(registry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    @Override
+    public void recordSuccess(TokenType tokenType, String filter, long startNanos) {
+        MeterRegistry registry = this.registry;
+        if (registry == null) return;
+
+        long elapsed = System.nanoTime() - startNanos;
+        timers.computeIfAbsent(new MeterKey(tokenType, filter, "success"), key -> timer(registry, key))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFailure(TokenType tokenType, String filter, long startNanos, FailureReason reason) {
+        MeterRegistry registry = this.registry;
+        if (registry == null) return;
+
+        long elapsed = System.nanoTime() - startNanos;
+        timers.computeIfAbsent(new MeterKey(tokenType, filter, "failure"), key -> timer(registry, key))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        failureCounters.computeIfAbsent(new MeterKey(tokenType, filter, reason.getTag()), key -> Counter
+                        .builder(PREFIX + "failures")
+                        .tag("token.type", key.tokenType().name())
+                        .tag("filter", key.filter())
+                        .tag("reason", key.value())
+                        .register(registry))
+                .increment();
+    }
+
+    private static Timer timer(MeterRegistry registry, MeterKey key) {
+        return Timer.builder(PREFIX + "validation")
+                .description("Latency of token validation")
+                .tag("token.type", key.tokenType().name())
+                .tag("filter", key.filter())
+                .tag("outcome", key.value())
+                .register(registry);
+    }
+
+    private record MeterKey(TokenType tokenType, String filter, String value) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.rajugowda.jwt.validator.revocation;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A compact, thread-safe Bloom filter over strings, used to ship the revocation set to every validator.
+ * <p>
+ * Membership tests never allocate and never report a false negative; they report a false positive with roughly
+ * the probability the filter was sized for. Items can be added concurrently with lookups, so revocations
+ * received after a snapshot can be folded into it.
+ * </p>
+ * <p>
+ * The hash is computed over the UTF-16 chars of the item and is stable across JVMs, so a filter serialized with
+ * {@link #toBytes()} by the issuer answers the same on every validator.
+ * </p>
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    private BloomFilter(AtomicLongArray words, int numHashes) {
+        this.words = words;
+        this.numBits = (long) words.length() * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Creates an empty filter sized for the given number of items and false positive probability.
+     *
+     * @param expectedInsertions         the number of items the filter is expected to hold
+     * @param falsePositiveProbability   the false positive probability at that number of items
+     * @return an empty filter
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        int numWords = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        int numHashes = (int) Math.max(1, Math.round((double) numWords * Long.SIZE / n * LN2));
+        return new BloomFilter(new AtomicLongArray(numWords), numHashes);
+    }
+
+    /**
+     * Reads a filter written by {@link #toBytes()}.
+     *
+     * @param bytes the serialized filter
+     * @return the filter
+     * @throws IllegalArgumentException if the bytes are not a serialized filter
+     */
+    public static BloomFilter fromBytes(byte[] bytes) {
+        if (bytes.length < Integer.BYTES + Long.BYTES || (bytes.length - Integer.BYTES) % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Invalid Bloom filter length: " + bytes.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int numHashes = buffer.getInt();
+        if (numHashes < 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter hash count: " + numHashes);
+        }
+
+        long[] words = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(words);
+        return new BloomFilter(new AtomicLongArray(words), numHashes);
+    }
+
+    /**
+     * Adds an item to the filter.
+     *
+     * @param item the item to add
+     */
+    public void put(String item) {
+        long hash1 = hash(item);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = index(hash1 + i * hash2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Tests whether an item may have been added to the filter.
+     *
+     * @param item the item to look up
+     * @return {@code false} if the item was definitely not added, {@code true} if it probably was
+     */
+    public boolean mightContain(String item) {
+        long hash1 = hash(item);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = index(hash1 + i * hash2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Serializes the filter as its hash count followed by its bit words, big-endian.
+     *
+     * @return the serialized filter
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + words.length() * Long.BYTES);
+        buffer.putInt(numHashes);
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+        return buffer.array();
+    }
+
+    private long index(long combinedHash) {
+        return Math.floorMod(combinedHash, numBits);
+    }
+
+    /**
+     * FNV-1a over the chars of the item, finished with the 64-bit MurmurHash3 mixer for a uniform spread.
+     */
+    private static long hash(String item) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < item.length(); i++) {
+            hash ^= item.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
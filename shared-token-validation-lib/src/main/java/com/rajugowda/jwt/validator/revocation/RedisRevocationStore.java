@@ -0,0 +1,163 @@
+package com.rajugowda.jwt.validator.revocation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rajugowda.jwt.validator.contracts.RevocationStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link RevocationStore} backed by Redis.
+ * <p>
+ * Each revocation is stored as JSON under {@code revocations::<jti:id|sub:username>} and expires together with
+ * the last token it covers, so the set only ever holds revocations that still matter. Revocations are broadcast on
+ * the configured pub/sub channel as they are made. The snapshot is stored under {@code revocation-snapshot}, next
+ * to its version under {@code revocation-snapshot-version}, so that validators polling for a new snapshot only
+ * read the version as long as nothing changed.
+ * </p>
+ */
+@Slf4j
+public class RedisRevocationStore implements RevocationStore {
+
+    static final String KEY_PREFIX = "revocations::";
+    static final String SNAPSHOT_KEY = "revocation-snapshot";
+    static final String SNAPSHOT_VERSION_KEY = "revocation-snapshot-version";
+    private static final int MIN_EXPECTED_INSERTIONS = 1_024;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+    private final double falsePositiveProbability;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RedisRevocationStore(StringRedisTemplate redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                String channel,
+                                double falsePositiveProbability) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @Override
+    public void revoke(RevocationEntry entry) {
+        long ttlMillis = entry.expiresAt() - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            log.debug("Revocation {} already expired, not stored.", entry.key());
+            return;
+        }
+
+        var json = write(entry);
+        redisTemplate.opsForValue().set(KEY_PREFIX + entry.key(), json, Duration.ofMillis(ttlMillis));
+        redisTemplate.convertAndSend(topic.getTopic(), json);
+        log.info("Revocation {} stored and broadcast on channel: {}", entry.key(), topic.getTopic());
+    }
+
+    @Override
+    public RevocationSnapshot rebuildSnapshot() {
+        long createdAt = System.currentTimeMillis();
+
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1_000).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+
+        BloomFilter filter = BloomFilter.create(Math.max(MIN_EXPECTED_INSERTIONS, keys.size() * 2L), falsePositiveProbability);
+        keys.forEach(key -> filter.put(key.substring(KEY_PREFIX.length())));
+
+        byte[] bytes = filter.toBytes();
+        var snapshot = new RevocationSnapshot(version(bytes), createdAt, keys.size(), Base64.getEncoder().encodeToString(bytes));
+
+        if (snapshot.version().equals(redisTemplate.opsForValue().get(SNAPSHOT_VERSION_KEY))) {
+            log.debug("Revocation snapshot unchanged ({} entries).", keys.size());
+            return snapshot;
+        }
+
+        redisTemplate.opsForValue().set(SNAPSHOT_KEY, write(snapshot));
+        redisTemplate.opsForValue().set(SNAPSHOT_VERSION_KEY, snapshot.version());
+        log.info("Revocation snapshot {} published ({} entries, {} bytes).", snapshot.version(), keys.size(), bytes.length);
+        return snapshot;
+    }
+
+    @Override
+    public RevocationSnapshot loadSnapshot(String knownVersion) {
+        var version = redisTemplate.opsForValue().get(SNAPSHOT_VERSION_KEY);
+        if (version == null || version.equals(knownVersion)) {
+            return null;
+        }
+
+        var json = redisTemplate.opsForValue().get(SNAPSHOT_KEY);
+        return json != null ? read(json, RevocationSnapshot.class) : null;
+    }
+
+    @Override
+    public List<RevocationEntry> find(String tokenId, String subject) {
+        var keys = Arrays.asList(
+                tokenId != null ? KEY_PREFIX + RevocationEntry.Type.TOKEN.key(tokenId) : null,
+                subject != null ? KEY_PREFIX + RevocationEntry.Type.SUBJECT.key(subject) : null);
+
+        var values = redisTemplate.opsForValue().multiGet(keys.stream().filter(Objects::nonNull).toList());
+        if (values == null) {
+            return List.of();
+        }
+
+        return values.stream()
+                .filter(Objects::nonNull)
+                .map(json -> read(json, RevocationEntry.class))
+                .toList();
+    }
+
+    @Override
+    public void subscribe(Consumer<RevocationEntry> subscriber) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                var json = new String(message.getBody(), StandardCharsets.UTF_8);
+                subscriber.accept(read(json, RevocationEntry.class));
+            } catch (Exception e) {
+                log.error("Failed to handle revocation broadcast on channel: {}", topic.getTopic(), e);
+            }
+        }, topic);
+        log.info("Subscribed to revocation broadcasts on channel: {}", topic.getTopic());
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value, e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize " + type.getSimpleName(), e);
+        }
+    }
+
+    private static String version(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+}
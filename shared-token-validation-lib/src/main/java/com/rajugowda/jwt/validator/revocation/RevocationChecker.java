@@ -0,0 +1,41 @@
+package com.rajugowda.jwt.validator.revocation;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Tells whether the claims of a verified token belong to a revoked token.
+ */
+public interface RevocationChecker {
+
+    /**
+     * A checker for services without a revocation store: no token is ever revoked.
+     */
+    RevocationChecker NONE = new RevocationChecker() {
+        @Override
+        public boolean mightBeRevoked(Claims claims) {
+            return false;
+        }
+
+        @Override
+        public boolean isRevoked(Claims claims) {
+            return false;
+        }
+    };
+
+    /**
+     * An in-process pre-check that never performs I/O. A {@code false} answer is final; a {@code true} answer
+     * must be confirmed with {@link #isRevoked(Claims)}.
+     *
+     * @param claims the claims of a verified token
+     * @return whether the token may be revoked
+     */
+    boolean mightBeRevoked(Claims claims);
+
+    /**
+     * Whether the token is revoked. May query the revocation store when the in-process check is inconclusive.
+     *
+     * @param claims the claims of a verified token
+     * @return whether the token is revoked
+     */
+    boolean isRevoked(Claims claims);
+}
@@ -0,0 +1,52 @@
+package com.rajugowda.jwt.validator.revocation;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.contracts.RevocationStore;
+import com.rajugowda.jwt.validator.util.ChannelName;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Registers the Redis backed {@link RevocationStore} and the {@link RevocationList} checked on every token,
+ * when Spring Data Redis is available in the consuming service.
+ * <p>
+ * Services can opt out with {@code token-validator.revocation.enabled=false}, in which case no token is ever
+ * considered revoked, or replace the store by declaring their own {@link RevocationStore} bean.
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(RedisConnectionFactory.class)
+@ConditionalOnProperty(prefix = "token-validator.revocation", name = "enabled", matchIfMissing = true)
+public class RevocationConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(RevocationStore.class)
+    RedisMessageListenerContainer revocationListenerContainer(RedisConnectionFactory connectionFactory) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RevocationStore.class)
+    RevocationStore revocationStore(RedisConnectionFactory connectionFactory,
+                                    RedisMessageListenerContainer revocationListenerContainer,
+                                    TokenValidatorProperties properties) {
+        return new RedisRevocationStore(
+                new StringRedisTemplate(connectionFactory),
+                revocationListenerContainer,
+                ChannelName.REVOCATION_EVENTS,
+                properties.getRevocation().getFalsePositiveProbability());
+    }
+
+    @Bean
+    RevocationList revocationList(RevocationStore revocationStore, TokenValidatorProperties properties) {
+        return new RevocationList(revocationStore, properties.getRevocation().getRefreshInterval());
+    }
+}
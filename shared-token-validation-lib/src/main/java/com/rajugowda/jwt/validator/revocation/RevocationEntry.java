@@ -0,0 +1,63 @@
+package com.rajugowda.jwt.validator.revocation;
+
+/**
+ * A single revocation, as stored by the issuer and broadcast to the validators.
+ * <p>
+ * A {@link Type#TOKEN} entry revokes the one token whose {@code jti} is the value. A {@link Type#SUBJECT} entry
+ * revokes every token of the user named by the value that was issued before {@link #revokedAt()}; tokens issued
+ * afterwards, e.g. on the next login, stay valid.
+ * </p>
+ *
+ * @param type      what the value identifies
+ * @param value     the token id or the username
+ * @param revokedAt when the revocation was made, in epoch millis
+ * @param expiresAt when the revocation can be forgotten, i.e. when the last token it covers expires, in epoch millis
+ */
+public record RevocationEntry(Type type, String value, long revokedAt, long expiresAt) {
+
+    public enum Type {
+        TOKEN("jti:"),
+        SUBJECT("sub:");
+
+        private final String prefix;
+
+        Type(String prefix) {
+            this.prefix = prefix;
+        }
+
+        /**
+         * @param value the token id or the username
+         * @return the key under which a revocation of the value is stored and filtered
+         */
+        public String key(String value) {
+            return prefix + value;
+        }
+    }
+
+    public static RevocationEntry token(String tokenId, long revokedAt, long expiresAt) {
+        return new RevocationEntry(Type.TOKEN, tokenId, revokedAt, expiresAt);
+    }
+
+    public static RevocationEntry subject(String username, long revokedAt, long expiresAt) {
+        return new RevocationEntry(Type.SUBJECT, username, revokedAt, expiresAt);
+    }
+
+    public String key() {
+        return type.key(value);
+    }
+
+    /**
+     * Whether this entry revokes a token with the given issue time.
+     * <p>
+     * The {@code iat} claim only has second precision, so a subject revocation is compared at second granularity:
+     * it covers the tokens issued in the seconds before the one it was made in. Tokens issued in that same second,
+     * e.g. by a login right after a logout-all, stay valid; the issuer revokes the revoking session's own tokens
+     * by their id.
+     * </p>
+     *
+     * @param issuedAt the {@code iat} of the token, in epoch millis
+     */
+    public boolean revokes(long issuedAt) {
+        return type == Type.TOKEN || issuedAt < Math.floorDiv(revokedAt, 1000L) * 1000L;
+    }
+}
@@ -0,0 +1,194 @@
+package com.rajugowda.jwt.validator.revocation;
+
+import com.rajugowda.jwt.validator.contracts.RevocationStore;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-process view of the revocation set, checked for every verified token without any I/O.
+ * <p>
+ * It holds the latest {@link RevocationSnapshot} as a {@link BloomFilter}, plus the exact revocations broadcast
+ * since that snapshot was built. The snapshot is refreshed incrementally: the store is polled for a new version
+ * at the configured interval, and only downloaded when it changed; in between, broadcast revocations take effect
+ * immediately. Revocations are keyed by token id ({@code jti}) and by username, see {@link RevocationEntry}.
+ * </p>
+ * <p>
+ * Tokens not in the filter and not among the recent revocations are accepted at the cost of a few hash lookups.
+ * Tokens the filter flags (the revoked ones, plus the filter's small share of false positives) are confirmed
+ * against the {@link RevocationStore}. If the store cannot be reached, such tokens are treated as revoked.
+ * </p>
+ * <p>
+ * A subject revocation flags every token of the user, including the ones issued after it, for as long as the
+ * user's refresh tokens live. So the subject revocations read from the store are remembered until the next
+ * refresh, and the user's further tokens are decided in-process; the store is only asked again once per refresh
+ * interval, which also bounds how long a missed broadcast of a newer subject revocation goes unnoticed.
+ * </p>
+ */
+@Slf4j
+public class RevocationList implements RevocationChecker {
+
+    /**
+     * Recent revocations older than the snapshot by less than this are kept, in case they were stored
+     * while the snapshot was being built.
+     */
+    private static final long SNAPSHOT_GRACE_MILLIS = 10_000;
+
+    /**
+     * Stands in for a subject the store holds no revocation of, i.e. a false positive of the filter.
+     */
+    private static final RevocationEntry NOT_REVOKED = RevocationEntry.subject("", Long.MIN_VALUE, Long.MAX_VALUE);
+
+    private final RevocationStore store;
+    private final Duration refreshInterval;
+    private final Map<String, RevocationEntry> recentEntries = new ConcurrentHashMap<>();
+    private final Map<String, RevocationEntry> resolvedSubjects = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile String version;
+    private ScheduledExecutorService scheduler;
+
+    public RevocationList(RevocationStore store, Duration refreshInterval) {
+        this.store = store;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        store.subscribe(this::apply);
+        refresh();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revocation-list-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean mightBeRevoked(Claims claims) {
+        BloomFilter current = filter;
+        if (current == null && recentEntries.isEmpty()) {
+            return false;
+        }
+
+        String tokenKey = claims.getId() != null ? RevocationEntry.Type.TOKEN.key(claims.getId()) : null;
+        String username = claims.get(ClaimNames.USERNAME, String.class);
+        String subjectKey = username != null ? RevocationEntry.Type.SUBJECT.key(username) : null;
+
+        return contains(current, tokenKey) || contains(current, subjectKey);
+    }
+
+    @Override
+    public boolean isRevoked(Claims claims) {
+        if (!mightBeRevoked(claims)) {
+            return false;
+        }
+
+        String tokenId = claims.getId();
+        String username = claims.get(ClaimNames.USERNAME, String.class);
+        String tokenKey = tokenId != null ? RevocationEntry.Type.TOKEN.key(tokenId) : null;
+        String subjectKey = username != null ? RevocationEntry.Type.SUBJECT.key(username) : null;
+        long issuedAt = issuedAt(claims);
+
+        if (revokedRecently(tokenKey, issuedAt) || revokedRecently(subjectKey, issuedAt)) {
+            return true;
+        }
+
+        BloomFilter current = filter;
+        boolean tokenFlagged = tokenKey != null && current != null && current.mightContain(tokenKey);
+        RevocationEntry subjectEntry = subjectKey != null ? knownSubjectRevocation(subjectKey) : null;
+        if (subjectEntry != null && subjectEntry.revokes(issuedAt)) {
+            return true;
+        }
+        boolean subjectFlagged = subjectKey != null && subjectEntry == null && current != null && current.mightContain(subjectKey);
+        if (!tokenFlagged && !subjectFlagged) {
+            return false;
+        }
+
+        try {
+            var entries = store.find(tokenId, username);
+            if (subjectKey != null) {
+                resolvedSubjects.put(subjectKey, entries.stream()
+                        .filter(entry -> entry.type() == RevocationEntry.Type.SUBJECT)
+                        .findFirst()
+                        .orElse(NOT_REVOKED));
+            }
+            return entries.stream().anyMatch(entry -> entry.revokes(issuedAt));
+        } catch (RuntimeException e) {
+            log.warn("Failed to confirm revocation of a flagged token, treating it as revoked: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Polls the store for a new snapshot, replacing the current one if it changed.
+     */
+    void refresh() {
+        try {
+            RevocationSnapshot snapshot = store.loadSnapshot(version);
+            if (snapshot != null) {
+                filter = BloomFilter.fromBytes(Base64.getDecoder().decode(snapshot.filter()));
+                version = snapshot.version();
+                recentEntries.values().removeIf(entry -> entry.revokedAt() < snapshot.createdAt() - SNAPSHOT_GRACE_MILLIS);
+                log.info("Revocation snapshot {} installed ({} entries).", snapshot.version(), snapshot.entries());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the revocation snapshot, keeping version {}: {}", version, e.getMessage());
+        }
+
+        long now = System.currentTimeMillis();
+        recentEntries.values().removeIf(entry -> entry.expiresAt() <= now);
+        resolvedSubjects.clear();
+    }
+
+    private void apply(RevocationEntry entry) {
+        recentEntries.put(entry.key(), entry);
+        log.debug("Revocation {} applied.", entry.key());
+    }
+
+    private boolean contains(BloomFilter current, String key) {
+        return key != null && (recentEntries.containsKey(key) || (current != null && current.mightContain(key)));
+    }
+
+    /**
+     * @return the latest subject revocation known in-process, {@link #NOT_REVOKED} if the store holds none,
+     * or {@code null} if the store has not been asked since the last refresh
+     */
+    private RevocationEntry knownSubjectRevocation(String subjectKey) {
+        RevocationEntry broadcast = recentEntries.get(subjectKey);
+        return broadcast != null ? broadcast : resolvedSubjects.get(subjectKey);
+    }
+
+    private boolean revokedRecently(String key, long issuedAt) {
+        if (key == null) {
+            return false;
+        }
+        RevocationEntry entry = recentEntries.get(key);
+        return entry != null && entry.revokes(issuedAt);
+    }
+
+    private static long issuedAt(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : 0L;
+    }
+}
@@ -0,0 +1,12 @@
+package com.rajugowda.jwt.validator.revocation;
+
+/**
+ * The whole revocation set at a point in time, as a serialized {@link BloomFilter} over the entry keys.
+ *
+ * @param version   identifies the content of the filter; equal versions hold equal filters
+ * @param createdAt when the snapshot was built, in epoch millis; later revocations are not in the filter
+ * @param entries   the number of entries in the filter
+ * @param filter    the Base64-encoded {@link BloomFilter#toBytes() filter}
+ */
+public record RevocationSnapshot(String version, long createdAt, int entries, String filter) {
+}
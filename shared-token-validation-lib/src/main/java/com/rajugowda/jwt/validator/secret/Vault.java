@@ -1,8 +1,21 @@
 package com.rajugowda.jwt.validator.secret;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.contracts.AsyncPublicKeysPoolService;
 import com.rajugowda.jwt.validator.contracts.PublicKeysPoolService;
 import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyException;
 import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyMetaDataException;
+import com.rajugowda.jwt.validator.exceptions.PublicKeyLoadException;
+import com.rajugowda.jwt.validator.exceptions.RetiredPublicKeyException;
+import com.rajugowda.jwt.validator.util.KeyLoaderExecutors;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -11,61 +24,362 @@ import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * In-memory pool of the public keys used to verify tokens, keyed by the key id carried in the token header.
+ * <p>
+ * Next to each {@link PublicKey} the Vault keeps a prebuilt, thread-safe {@link JwtParser} bound to that key,
+ * so that verifying a token does not build a new parser on every request.
+ * Keys missing from the pool are loaded through the {@link PublicKeysPoolService} on first use.
+ * Loading is single-flight: concurrent misses for the same key id wait on the one load in progress
+ * and share its result (or its failure), instead of each querying the pool service and decoding the key.
+ * </p>
+ * <p>
+ * Loads are asynchronous (see {@link AsyncPublicKeysPoolService}) and bounded by the configured load timeout.
+ * Synchronous pool services are run on a dedicated loader executor, so a stalled key source holds request threads
+ * no longer than the timeout. Reactive callers use {@link #getParserAsync(String)} and never block.
+ * </p>
+ * <p>
+ * Keys are retired automatically once no valid token can have been signed with them anymore, i.e. after
+ * {@link PublicKeyMetaData#getGenerateAt()} plus the rotation interval plus the max token validity.
+ * The pool is also capped in size. Retired key ids are remembered, so tokens signed with them are
+ * rejected locally without another lookup.
+ * </p>
+ * <p>
+ * Key ids that could not be resolved are remembered for a short while in the {@link RejectionCache},
+ * so that tokens carrying bogus key ids do not cause a lookup each.
+ * </p>
+ */
 @Component
 @Slf4j
 public class Vault {
 
-    private final PublicKeysPoolService publicKeysPoolService;
-    private final Map<String, PublicKey> publicKeyPool = new ConcurrentHashMap<>();
+    private final AsyncPublicKeysPoolService publicKeysPoolService;
+    private final ExecutorService keyLoaderExecutor;
+    private final long loadTimeoutMillis;
+    private final RejectionCache rejectionCache;
+    private final Cache<String, VerificationKey> publicKeyPool;
+    private final Cache<String, Boolean> retiredKeyIds;
+    private final long keyLifetimeMillis;
+    private final Map<String, CompletableFuture<VerificationKey>> inFlightLoads = new ConcurrentHashMap<>();
 
-    public Vault(PublicKeysPoolService publicKeysPoolService) {
-        this.publicKeysPoolService = publicKeysPoolService;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder coalescedLoadCount = new LongAdder();
+    private final LongAdder keyDecodeCount = new LongAdder();
+    private final LongAdder keyDecodeNanos = new LongAdder();
+
+    public Vault(PublicKeysPoolService publicKeysPoolService,
+                 RejectionCache rejectionCache,
+                 TokenValidatorProperties properties) {
+        this.keyLoaderExecutor = publicKeysPoolService instanceof AsyncPublicKeysPoolService
+                ? null
+                : KeyLoaderExecutors.create();
+        this.publicKeysPoolService = AsyncPublicKeysPoolService.adapt(publicKeysPoolService, keyLoaderExecutor);
+        this.rejectionCache = rejectionCache;
+
+        var config = properties.getKeyPool();
+        this.loadTimeoutMillis = config.getLoadTimeout().toMillis();
+        this.keyLifetimeMillis = config.getRotationInterval().plus(config.getMaxTokenValidity()).toMillis();
+        this.retiredKeyIds = Caffeine.newBuilder()
+                .maximumSize(config.getRetiredKeysMaximumSize())
+                .build();
+        this.publicKeyPool = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new RetirementExpiry())
+                .removalListener(this::onRemoval)
+                .build();
     }
 
     /**
      * Retrieves the public keyId associated with the specified keyId ID from the Vault.
-     * If the keyId is not found returns null;
+     * The keyId is loaded and registered in the Vault if it is not present yet.
+     *
+     * @param keyId a unique identifier for the public keyId
+     * @return the PublicKey object, never null
+     * @throws InvalidPublicKeyMetaDataException if the keyId is unknown to the key source, or was rejected recently
+     * @throws RetiredPublicKeyException         if the keyId is retired
+     * @throws PublicKeyLoadException            if the key source failed or timed out loading the keyId
+     */
+    public PublicKey getPublicKey(String keyId) throws InvalidPublicKeyMetaDataException, RetiredPublicKeyException {
+        return getVerificationKey(keyId).publicKey();
+    }
+
+    /**
+     * Retrieves the prebuilt {@link JwtParser} bound to the public keyId with the specified keyId ID.
+     * The keyId is loaded and registered in the Vault if it is not present yet.
      *
      * @param keyId a unique identifier for the public keyId
-     * @return the PublicKey object if found, otherwise null
+     * @return the thread-safe parser that verifies tokens signed with the corresponding private key
+     * @throws InvalidPublicKeyMetaDataException if the keyId is unknown to the key source, or was rejected recently
+     * @throws RetiredPublicKeyException         if the keyId is retired
+     * @throws PublicKeyLoadException            if the key source failed or timed out loading the keyId
      */
-    public PublicKey getPublicKey(String keyId) throws InvalidPublicKeyMetaDataException {
-        var publicKey = publicKeyPool.get(keyId);
-        if (publicKey == null) {
+    public JwtParser getParser(String keyId) throws InvalidPublicKeyMetaDataException, RetiredPublicKeyException {
+        return getVerificationKey(keyId).parser();
+    }
+
+    /**
+     * Retrieves the prebuilt {@link JwtParser} bound to the public keyId with the specified keyId ID, without blocking.
+     * Pooled keys complete immediately; missing keys are loaded through the asynchronous key source.
+     *
+     * @param keyId a unique identifier for the public keyId
+     * @return a future completed with the parser, or failed with an {@link InvalidPublicKeyMetaDataException},
+     * {@link RetiredPublicKeyException} or {@link PublicKeyLoadException} as {@link #getParser(String)} would throw
+     */
+    public CompletableFuture<JwtParser> getParserAsync(String keyId) {
+        var verificationKey = publicKeyPool.getIfPresent(keyId);
+        if (verificationKey != null) {
+            hitCount.increment();
+            return CompletableFuture.completedFuture(verificationKey.parser());
+        }
+
+        missCount.increment();
+        try {
+            rejectIfRetired(keyId);
+            rejectIfRecentlyRejected(keyId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return loadSingleFlight(keyId).thenApply(VerificationKey::parser);
+    }
 
+    private VerificationKey getVerificationKey(String keyId)
+            throws InvalidPublicKeyMetaDataException, RetiredPublicKeyException {
+        var verificationKey = publicKeyPool.getIfPresent(keyId);
+        if (verificationKey == null) {
+            missCount.increment();
+            rejectIfRetired(keyId);
+            rejectIfRecentlyRejected(keyId);
             log.debug("Public keyId not found in pool; attempting to decode and register from metadata.");
-            var metaData = publicKeysPoolService.loadPublicKeyMetaData(keyId);
-
-            if (metaData != null && metaData.getId() != null && metaData.getPublicKey() != null) {
-                publicKey = addNewToPool(keyId, metaData);
-                log.info("New PublicKey registered successfully.");
-            } else {
-                log.warn("PublicKey MetaData invalid or not found; failed to register new public keyId.");
-                throw new InvalidPublicKeyMetaDataException("Invalid or not found PublicKeyMetaData; failed to register new public keyId.");
-            }
+            return await(loadSingleFlight(keyId));
         }
 
+        hitCount.increment();
         log.debug("Public keyId retrieved from pool.");
-        return publicKey;
+        return verificationKey;
+    }
+
+    /**
+     * Loads the public keyId with the specified keyId ID, making sure only one load per keyId ID is in progress.
+     * Callers arriving while a load is in progress receive the same future, and thereby its outcome.
+     * The load is bounded by the configured load timeout.
+     *
+     * @param keyId a unique identifier for the public keyId
+     * @return a future completed with the registered {@link VerificationKey}
+     */
+    private CompletableFuture<VerificationKey> loadSingleFlight(String keyId) {
+        var load = new CompletableFuture<VerificationKey>();
+        var inFlight = inFlightLoads.putIfAbsent(keyId, load);
+
+        if (inFlight != null) {
+            coalescedLoadCount.increment();
+            log.debug("Public keyId load already in progress; waiting for it to complete.");
+            return inFlight;
+        }
+
+        // A load might have completed between the pool miss and claiming the load.
+        var pooled = publicKeyPool.getIfPresent(keyId);
+        if (pooled != null) {
+            complete(keyId, load, pooled, null);
+            return load;
+        }
+
+        loadCount.increment();
+        CompletableFuture<PublicKeyMetaData> metaData;
+        try {
+            metaData = publicKeysPoolService.loadPublicKeyMetaDataAsync(keyId);
+        } catch (RejectedExecutionException e) {
+            metaData = CompletableFuture.failedFuture(e);
+        }
+
+        metaData.orTimeout(loadTimeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((keyMetaData, error) -> {
+                    if (error != null) {
+                        complete(keyId, load, null, asLoadFailure(keyId, error));
+                        return;
+                    }
+                    try {
+                        complete(keyId, load, register(keyId, keyMetaData), null);
+                    } catch (RuntimeException e) {
+                        complete(keyId, load, null, e);
+                    }
+                });
+        return load;
+    }
+
+    private void complete(String keyId, CompletableFuture<VerificationKey> load,
+                          VerificationKey verificationKey, RuntimeException error) {
+        try {
+            if (error == null) load.complete(verificationKey);
+            else load.completeExceptionally(error);
+        } finally {
+            inFlightLoads.remove(keyId, load);
+        }
+    }
+
+    private VerificationKey register(String keyId, PublicKeyMetaData metaData)
+            throws InvalidPublicKeyMetaDataException, RetiredPublicKeyException {
+        if (metaData != null && metaData.getId() != null && metaData.getPublicKey() != null) {
+            var verificationKey = addNewToPool(keyId, metaData);
+            log.info("New PublicKey registered successfully.");
+            return verificationKey;
+        } else {
+            log.warn("PublicKey MetaData invalid or not found; failed to register new public keyId.");
+            rejectionCache.rejectKeyId(keyId);
+            throw new InvalidPublicKeyMetaDataException("Invalid or not found PublicKeyMetaData; failed to register new public keyId.");
+        }
+    }
+
+    /**
+     * Failures of the key source (timeouts, saturated loader, errors of the store) are not the token's fault,
+     * so they are surfaced as {@link PublicKeyLoadException} and never remembered as rejections.
+     */
+    private static RuntimeException asLoadFailure(String keyId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            log.warn("Loading public keyId {} timed out.", keyId);
+            return new PublicKeyLoadException("Timed out loading public keyId.", cause);
+        }
+        if (cause instanceof RejectedExecutionException) {
+            log.warn("Too many public keyId loads in progress; refusing to load {}.", keyId);
+            return new PublicKeyLoadException("Public keyId loader saturated.", cause);
+        }
+        log.error("Failed to load public keyId {}.", keyId, cause);
+        return new PublicKeyLoadException("Failed to load public keyId.", cause);
+    }
+
+    private static VerificationKey await(CompletableFuture<VerificationKey> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether the public keyId with the specified keyId ID is pooled, i.e. whether it can be retrieved
+     * without loading it through the {@link PublicKeysPoolService}.
+     *
+     * @param keyId a unique identifier for the public keyId
+     * @return {@code true} if the public keyId is present in the pool
+     */
+    public boolean contains(String keyId) {
+        return publicKeyPool.getIfPresent(keyId) != null;
+    }
+
+    /**
+     * Decodes and registers a public keyId that was pushed to this instance ahead of its first use.
+     * Already registered keys are left untouched.
+     *
+     * @param metaData the metadata of the public keyId to be installed.
+     */
+    public void install(PublicKeyMetaData metaData) {
+        if (metaData == null || metaData.getId() == null || metaData.getPublicKey() == null) {
+            log.warn("Ignoring invalid PublicKey MetaData pushed for installation.");
+            return;
+        }
+
+        if (publicKeyPool.getIfPresent(metaData.getId()) != null) {
+            log.debug("Public keyId {} already present in pool.", metaData.getId());
+            return;
+        }
+
+        try {
+            addNewToPool(metaData.getId(), metaData);
+            rejectionCache.forgetKeyId(metaData.getId());
+            log.info("Pushed PublicKey {} installed successfully.", metaData.getId());
+        } catch (RetiredPublicKeyException e) {
+            log.debug("Skipping installation of retired PublicKey {}.", metaData.getId());
+        } catch (InvalidPublicKeyException e) {
+            log.error("Failed to install pushed PublicKey {}.", metaData.getId(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdownKeyLoader() {
+        if (keyLoaderExecutor != null) {
+            keyLoaderExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the number of lookups served from the pool.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of lookups that missed the pool.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of loads that went to the {@link PublicKeysPoolService}.
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * @return the number of callers that missed the pool but joined a load already in progress instead of starting one.
+     */
+    public long getCoalescedLoadCount() {
+        return coalescedLoadCount.sum();
+    }
+
+    /**
+     * @return the number of public keys decoded (and their parsers built).
+     */
+    public long getKeyDecodeCount() {
+        return keyDecodeCount.sum();
+    }
+
+    /**
+     * @return the total time spent decoding public keys and building their parsers, in nanoseconds.
+     */
+    public long getKeyDecodeNanos() {
+        return keyDecodeNanos.sum();
     }
 
     /**
      * Registers a new public keyId with the specified keyId ID in the Vault.
      *
      * @param metaData the metadata of the public keyId to be registered.
-     * @return the PublicKey object if registered successfully, otherwise null
+     * @return the registered {@link VerificationKey} if registered successfully
      */
-    private PublicKey addNewToPool(String keyId, PublicKeyMetaData metaData) {
+    private VerificationKey addNewToPool(String keyId, PublicKeyMetaData metaData) throws RetiredPublicKeyException {
+        long retireAt = retireAt(metaData);
+        if (retireAt <= System.currentTimeMillis()) {
+            log.warn("Public keyId with id: {} is retired; refusing to register it.", keyId);
+            retiredKeyIds.put(keyId, Boolean.TRUE);
+            throw new RetiredPublicKeyException("Public keyId is retired.");
+        }
+
+        long decodeStart = System.nanoTime();
         try {
             PublicKey publicKey = decodePublicKey(metaData.getPublicKey());
-            addPublicKey(keyId, publicKey);
-            return publicKey;
+            return addPublicKey(keyId, publicKey, retireAt);
 
         } catch (Exception e) {
             log.error("Failed to decode public keyId with id: {}", metaData.getId());
             throw new InvalidPublicKeyException("Failed to register new public keyId.", e);
+        } finally {
+            keyDecodeCount.increment();
+            keyDecodeNanos.add(System.nanoTime() - decodeStart);
         }
     }
 
@@ -87,9 +401,78 @@ public class Vault {
      *
      * @param keyId       a unique identifier for the public keyId.
      * @param publicKey the public keyId to be registered.
+     * @param retireAt  the epoch millis at which the public keyId is retired from the pool.
+     * @return the registered {@link VerificationKey}, holding the parser prebuilt for the public keyId.
      */
-    private void addPublicKey(String keyId, PublicKey publicKey) {
+    private VerificationKey addPublicKey(String keyId, PublicKey publicKey, long retireAt) {
         log.info("Registering new public keyId with ID: {}", keyId);
-        publicKeyPool.put(keyId, publicKey);
+        var verificationKey = new VerificationKey(publicKey, Jwts.parserBuilder().setSigningKey(publicKey).build(), retireAt);
+        publicKeyPool.put(keyId, verificationKey);
+        return verificationKey;
+    }
+
+    private void rejectIfRetired(String keyId) throws RetiredPublicKeyException {
+        if (retiredKeyIds.getIfPresent(keyId) != null) {
+            log.warn("Rejecting token signed with retired public keyId: {}", keyId);
+            throw new RetiredPublicKeyException("Public keyId is retired.");
+        }
+    }
+
+    private void rejectIfRecentlyRejected(String keyId) throws InvalidPublicKeyMetaDataException {
+        if (rejectionCache.isKeyIdRejected(keyId)) {
+            log.debug("Public keyId {} was rejected recently; skipping lookup.", keyId);
+            throw new InvalidPublicKeyMetaDataException("Public keyId was rejected recently.");
+        }
+    }
+
+    /**
+     * Computes when the keyId is retired: after the issuer stopped signing with it and the longest-lived token
+     * it could have signed has expired. Keys without a generation time are only bound by the pool size.
+     */
+    private long retireAt(PublicKeyMetaData metaData) {
+        return metaData.getGenerateAt() != null
+                ? metaData.getGenerateAt() + keyLifetimeMillis
+                : Long.MAX_VALUE;
+    }
+
+    private void onRemoval(String keyId, VerificationKey verificationKey, RemovalCause cause) {
+        if (cause == RemovalCause.EXPIRED) {
+            log.info("Public keyId with ID: {} retired from pool.", keyId);
+            retiredKeyIds.put(keyId, Boolean.TRUE);
+        } else if (cause == RemovalCause.SIZE) {
+            log.warn("Public keyId with ID: {} evicted from pool due to size limit.", keyId);
+        }
+    }
+
+    /**
+     * A public keyId paired with the parser prebuilt for it.
+     * {@link JwtParser} instances are immutable and safe to share between threads.
+     */
+    private record VerificationKey(PublicKey publicKey, JwtParser parser, long retireAt) {
+    }
+
+    /**
+     * Expires each {@link VerificationKey} at its retirement time.
+     */
+    private static final class RetirementExpiry implements Expiry<String, VerificationKey> {
+
+        @Override
+        public long expireAfterCreate(String keyId, VerificationKey verificationKey, long currentTime) {
+            if (verificationKey.retireAt() == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long remainingMillis = verificationKey.retireAt() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String keyId, VerificationKey verificationKey, long currentTime, long currentDuration) {
+            return expireAfterCreate(keyId, verificationKey, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String keyId, VerificationKey verificationKey, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,6 @@
+package com.rajugowda.jwt.validator.util;
+
+public class ChannelName {
+    public static final String PUBLIC_KEY_POOL_EVENTS = "public-key-pool-events";
+    public static final String REVOCATION_EVENTS = "revocation-events";
+}
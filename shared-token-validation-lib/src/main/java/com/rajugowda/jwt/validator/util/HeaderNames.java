@@ -0,0 +1,5 @@
+package com.rajugowda.jwt.validator.util;
+
+public class HeaderNames {
+    public static final String EDGE_IDENTITY = "X-Edge-Identity";
+}
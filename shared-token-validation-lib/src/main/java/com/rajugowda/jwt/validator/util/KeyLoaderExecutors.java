@@ -0,0 +1,54 @@
+package com.rajugowda.jwt.validator.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executor on which blocking public key lookups run.
+ * <p>
+ * On Java 21 and later, every lookup gets its own virtual thread. The library targets Java 17, where virtual threads
+ * don't exist, so the factory method is looked up reflectively and a small elastic pool of daemon platform threads
+ * is used as the fallback. The pool is bounded: once {@value #MAX_PLATFORM_THREADS} lookups are in flight, further
+ * ones are rejected rather than queued, shedding load when the key source is stalled.
+ * </p>
+ */
+@Slf4j
+public class KeyLoaderExecutors {
+
+    static final int MAX_PLATFORM_THREADS = 64;
+
+    private KeyLoaderExecutors() {
+    }
+
+    public static ExecutorService create() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Public keys are loaded on virtual threads.");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads unavailable; public keys are loaded on up to {} platform threads.", MAX_PLATFORM_THREADS);
+            return newPlatformThreadPool();
+        }
+    }
+
+    private static ExecutorService newPlatformThreadPool() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                0, MAX_PLATFORM_THREADS,
+                60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "public-key-loader-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,55 @@
+package com.rajugowda.jwt.validator.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Produces compact, fixed-length fingerprints of raw tokens, so tokens can be used as cache keys
+ * without keeping the full token strings in memory.
+ */
+public class TokenDigests {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    });
+
+    /**
+     * Tokens up to this length are encoded into a reused per-thread buffer instead of a fresh byte array.
+     */
+    private static final int MAX_BUFFERED_LENGTH = 4_096;
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[MAX_BUFFERED_LENGTH]);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private TokenDigests() {
+    }
+
+    /**
+     * Computes the SHA-256 digest of the given token.
+     *
+     * @param token the raw token string
+     * @return the Base64-URL encoded digest of the token, without padding
+     */
+    public static String sha256(String token) {
+        MessageDigest digest = SHA_256.get();
+        int length = token.length();
+        if (length > MAX_BUFFERED_LENGTH) {
+            return ENCODER.encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        }
+
+        // Same bytes as US-ASCII encoding: non-ASCII chars become '?', which no well-formed token contains,
+        // so a forged token can never share the digest of a verified one.
+        byte[] buffer = BUFFER.get();
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            buffer[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        digest.update(buffer, 0, length);
+        return ENCODER.encodeToString(digest.digest());
+    }
+}
@@ -0,0 +1,161 @@
+package com.rajugowda.jwt.validator.util;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Locates the token of a request, in the {@code Authorization: Bearer} header or in the token cookie.
+ * <p>
+ * Browsers send tokens as cookies, while service-to-service and mobile callers send the access token as a bearer
+ * token. A bearer token takes precedence; refresh tokens are only ever read from their cookie.
+ * </p>
+ * <p>
+ * Cookies are looked up directly in the raw {@code Cookie} header: the header is scanned for the one cookie name,
+ * and only that value is copied out. No {@link Cookie} objects are materialized for the other cookies, and
+ * the lookup allocates nothing but the token string itself.
+ * </p>
+ */
+public class TokenExtractor {
+
+    public static final String AUTHORIZATION = "Authorization";
+    public static final String COOKIE = "Cookie";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private TokenExtractor() {
+    }
+
+    /**
+     * Extracts the token of the given type from the request.
+     *
+     * @param request   the incoming request
+     * @param tokenType the type of token to look for
+     * @return the token, or {@code null} if the request carries none
+     */
+    public static String extract(HttpServletRequest request, TokenType tokenType) {
+        if (tokenType == TokenType.ACCESS) {
+            String bearer = bearerToken(request.getHeader(AUTHORIZATION));
+            if (bearer != null) {
+                return bearer;
+            }
+        }
+        return cookie(request, tokenType.getAbbreviation());
+    }
+
+    /**
+     * Looks up a cookie of the request by name, from the raw {@code Cookie} headers.
+     * <p>
+     * Falls back to the container's parsed cookies when the request exposes no raw header.
+     * </p>
+     *
+     * @param request the incoming request
+     * @param name    the name of the cookie
+     * @return the value of the cookie, or {@code null} if absent or empty
+     */
+    public static String cookie(HttpServletRequest request, String name) {
+        Enumeration<String> headers = request.getHeaders(COOKIE);
+        if (headers != null && headers.hasMoreElements()) {
+            do {
+                String value = findCookie(headers.nextElement(), name);
+                if (value != null) {
+                    return value;
+                }
+            } while (headers.hasMoreElements());
+            return null;
+        }
+
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookie.getName().equals(name)) {
+                    return emptyToNull(cookie.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a cookie by name across several {@code Cookie} header values (HTTP/2 may split cookies).
+     *
+     * @param headers the values of the {@code Cookie} headers, may be {@code null}
+     * @param name    the name of the cookie
+     * @return the value of the cookie, or {@code null} if absent or empty
+     */
+    public static String findCookie(List<String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (String header : headers) {
+            String value = findCookie(header, name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scans a {@code Cookie} header value ({@code name1=value1; name2=value2}) for the named cookie.
+     *
+     * @param header the value of a {@code Cookie} header
+     * @param name   the name of the cookie
+     * @return the value of the cookie, without surrounding quotes, or {@code null} if absent or empty
+     */
+    public static String findCookie(String header, String name) {
+        final int length = header.length();
+        final int nameLength = name.length();
+        int pairStart = 0;
+
+        while (pairStart < length) {
+            while (pairStart < length && (header.charAt(pairStart) == ' ' || header.charAt(pairStart) == '\t')) {
+                pairStart++;
+            }
+
+            int pairEnd = header.indexOf(';', pairStart);
+            if (pairEnd < 0) {
+                pairEnd = length;
+            }
+
+            int valueStart = pairStart + nameLength;
+            if (valueStart < pairEnd
+                    && header.charAt(valueStart) == '='
+                    && header.regionMatches(pairStart, name, 0, nameLength)) {
+                return value(header, valueStart + 1, pairEnd);
+            }
+
+            pairStart = pairEnd + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the token of an {@code Authorization} header using the bearer scheme.
+     *
+     * @param authorization the value of the {@code Authorization} header, may be {@code null}
+     * @return the bearer token, or {@code null} if the header is absent, empty or uses another scheme
+     */
+    public static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        return emptyToNull(authorization.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    private static String value(String header, int start, int end) {
+        while (end > start && (header.charAt(end - 1) == ' ' || header.charAt(end - 1) == '\t')) {
+            end--;
+        }
+        if (end - start >= 2 && header.charAt(start) == '"' && header.charAt(end - 1) == '"') {
+            start++;
+            end--;
+        }
+        return start < end ? header.substring(start, end) : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rajugowda.jwt.validator.warmup;
+
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolBulkLoader;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * Registers the {@link RedisPublicKeysPoolBulkLoader} feeding the {@link VaultWarmUp}, when Spring Data Redis is
+ * available in the consuming service and keys are not taken from a JWKS endpoint (which loads them in bulk itself).
+ * <p>
+ * Services whose keys live elsewhere can replace it by declaring their own {@link PublicKeysPoolBulkLoader} bean.
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(RedisConnectionFactory.class)
+@ConditionalOnProperty(prefix = "token-validator.jwks", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class RedisBulkLoaderConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(PublicKeysPoolBulkLoader.class)
+    RedisPublicKeysPoolBulkLoader publicKeysPoolBulkLoader(RedisConnectionFactory connectionFactory) {
+        return new RedisPublicKeysPoolBulkLoader(connectionFactory);
+    }
+}
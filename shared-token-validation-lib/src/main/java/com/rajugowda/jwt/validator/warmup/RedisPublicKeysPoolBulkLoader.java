@@ -0,0 +1,61 @@
+package com.rajugowda.jwt.validator.warmup;
+
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolBulkLoader;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import com.rajugowda.jwt.validator.util.CacheName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Loads every public key of the {@link CacheName#PUBLIC_KEY_POOL} Redis cache, where the issuer publishes them.
+ * <p>
+ * The cache entries are found with a {@code SCAN} over the {@code public-key-pool::*} keys (never {@code KEYS},
+ * which would block Redis), fetched with a single {@code MGET}, and read with the JSON serializer the services'
+ * Redis cache managers use. Entries that don't hold a {@link PublicKeyMetaData} are skipped.
+ * </p>
+ */
+@Slf4j
+public class RedisPublicKeysPoolBulkLoader implements PublicKeysPoolBulkLoader {
+
+    private static final String PATTERN = CacheKeyPrefix.simple().compute(CacheName.PUBLIC_KEY_POOL) + "*";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    public RedisPublicKeysPoolBulkLoader(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Collection<PublicKeyMetaData> loadAllPublicKeyMetaData() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            List<byte[]> keys = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands()
+                    .scan(ScanOptions.scanOptions().match(PATTERN).count(100).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+
+            List<PublicKeyMetaData> publicKeys = new ArrayList<>();
+            if (!keys.isEmpty()) {
+                List<byte[]> values = connection.stringCommands().mGet(keys.toArray(byte[][]::new));
+                for (byte[] value : values == null ? List.<byte[]>of() : values) {
+                    if (value != null && serializer.deserialize(value) instanceof PublicKeyMetaData publicKey) {
+                        publicKeys.add(publicKey);
+                    }
+                }
+            }
+
+            log.info("Found {} public keys in cache: {}", publicKeys.size(), CacheName.PUBLIC_KEY_POOL);
+            return publicKeys;
+        }
+    }
+}
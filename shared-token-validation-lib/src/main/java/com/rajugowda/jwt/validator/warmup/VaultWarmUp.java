@@ -0,0 +1,118 @@
+package com.rajugowda.jwt.validator.warmup;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.contracts.PublicKeysPoolBulkLoader;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import com.rajugowda.jwt.validator.secret.Vault;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Decodes every active public key into the {@link Vault} at startup, so the first requests on a fresh instance
+ * don't each pay a key lookup and an X.509 decode.
+ * <p>
+ * Runs as an {@link ApplicationRunner}, i.e. before Spring Boot switches the readiness state to
+ * {@code ACCEPTING_TRAFFIC}; its progress is also reported by the {@code vaultWarmUp} health indicator.
+ * Only runs when the service provides a {@link PublicKeysPoolBulkLoader}, and can be disabled with
+ * {@code token-validator.warm-up.enabled=false}.
+ * </p>
+ * <p>
+ * A failed warm-up doesn't prevent the service from starting: keys keep being loaded on first use.
+ * </p>
+ */
+@Component
+@Slf4j
+public class VaultWarmUp implements ApplicationRunner, Ordered {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, SKIPPED, FAILED
+    }
+
+    private final Vault vault;
+    private final ObjectProvider<PublicKeysPoolBulkLoader> bulkLoader;
+    private final boolean enabled;
+
+    private volatile State state = State.PENDING;
+    private volatile int installedKeys;
+    private volatile long durationMillis;
+    private volatile String failure;
+
+    public VaultWarmUp(Vault vault,
+                       ObjectProvider<PublicKeysPoolBulkLoader> bulkLoader,
+                       TokenValidatorProperties properties) {
+        this.vault = vault;
+        this.bulkLoader = bulkLoader;
+        this.enabled = properties.getWarmUp().isEnabled();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Loads all active public keys through the {@link PublicKeysPoolBulkLoader} and installs them into the Vault.
+     */
+    public void warmUp() {
+        var loader = bulkLoader.getIfAvailable();
+        if (!enabled || loader == null) {
+            log.info("Vault warm-up skipped ({}); keys will be loaded on first use.",
+                    enabled ? "no PublicKeysPoolBulkLoader available" : "disabled");
+            state = State.SKIPPED;
+            return;
+        }
+
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        try {
+            Collection<PublicKeyMetaData> metaData = loader.loadAllPublicKeyMetaData();
+            int installed = 0;
+            for (PublicKeyMetaData keyMetaData : metaData) {
+                vault.install(keyMetaData);
+                if (keyMetaData != null && keyMetaData.getId() != null && vault.contains(keyMetaData.getId())) {
+                    installed++;
+                }
+            }
+
+            installedKeys = installed;
+            durationMillis = (System.nanoTime() - start) / 1_000_000;
+            state = State.COMPLETED;
+            log.info("Vault warmed up with {} of {} published keys in {} ms.", installed, metaData.size(), durationMillis);
+        } catch (RuntimeException e) {
+            durationMillis = (System.nanoTime() - start) / 1_000_000;
+            failure = e.getMessage();
+            state = State.FAILED;
+            log.warn("Vault warm-up failed; keys will be loaded on first use.", e);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getInstalledKeys() {
+        return installedKeys;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Runs ahead of the service's own runners, which may already serve traffic.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,44 @@
+package com.rajugowda.jwt.validator.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@code vaultWarmUp} health indicator when Spring Boot Actuator is available.
+ * <p>
+ * The indicator is {@code OUT_OF_SERVICE} until the {@link VaultWarmUp} has run, and {@code UP} afterwards,
+ * including after a failed warm-up (keys are then loaded on first use). Add it to the readiness group to hold
+ * traffic back until the Vault is warm:
+ * </p>
+ * <pre>
+ * management.endpoint.health.group.readiness.include: readinessState, vaultWarmUp
+ * </pre>
+ */
+@Configuration
+@ConditionalOnClass(HealthIndicator.class)
+public class VaultWarmUpHealthConfiguration {
+
+    @Bean
+    HealthIndicator vaultWarmUpHealthIndicator(VaultWarmUp vaultWarmUp) {
+        return () -> {
+            var state = vaultWarmUp.getState();
+            var health = switch (state) {
+                case PENDING, RUNNING -> Health.outOfService();
+                case COMPLETED, SKIPPED, FAILED -> Health.up();
+            };
+
+            health.withDetail("state", state);
+            if (state == VaultWarmUp.State.COMPLETED || state == VaultWarmUp.State.FAILED) {
+                health.withDetail("installedKeys", vaultWarmUp.getInstalledKeys())
+                        .withDetail("durationMillis", vaultWarmUp.getDurationMillis());
+            }
+            if (state == VaultWarmUp.State.FAILED) {
+                health.withDetail("error", String.valueOf(vaultWarmUp.getFailure()));
+            }
+            return health.build();
+        };
+    }
+}
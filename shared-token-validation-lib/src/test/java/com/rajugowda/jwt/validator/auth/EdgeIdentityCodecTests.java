@@ -0,0 +1,108 @@
+package com.rajugowda.jwt.validator.auth;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.exceptions.InvalidEdgeIdentityException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EdgeIdentityCodecTests {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final EdgeIdentityCodec codec = codec(SECRET);
+    private final long inOneHour = System.currentTimeMillis() / 1000 + 3600;
+
+    @Test
+    void roundTripsTheIdentity() {
+        EdgeIdentityCodec.Identity identity = codec.decode(codec.encode("alice.o'neil", "CUSTOMER", inOneHour));
+
+        assertThat(identity).isEqualTo(new EdgeIdentityCodec.Identity("alice.o'neil", "CUSTOMER", inOneHour));
+    }
+
+    @Test
+    void rejectsATamperedRole() {
+        String[] parts = codec.encode("alice", "CUSTOMER", inOneHour).split("\\.");
+        parts[1] = encode("ADMIN");
+
+        assertThatThrownBy(() -> codec.decode(String.join(".", parts)))
+                .isInstanceOf(InvalidEdgeIdentityException.class)
+                .hasMessageContaining("signature");
+    }
+
+    @Test
+    void rejectsAnExtendedExpiry() {
+        String[] parts = codec.encode("alice", "CUSTOMER", inOneHour).split("\\.");
+        parts[2] = Long.toString(inOneHour + 86_400);
+
+        assertThatThrownBy(() -> codec.decode(String.join(".", parts)))
+                .isInstanceOf(InvalidEdgeIdentityException.class);
+    }
+
+    @Test
+    void rejectsATamperedSignature() {
+        String header = codec.encode("alice", "CUSTOMER", inOneHour);
+        // The first character of the signature is fully significant, unlike the padding bits of the last one
+        int signatureStart = header.lastIndexOf('.') + 1;
+        char first = header.charAt(signatureStart);
+        String tampered = header.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A')
+                + header.substring(signatureStart + 1);
+
+        assertThatThrownBy(() -> codec.decode(tampered)).isInstanceOf(InvalidEdgeIdentityException.class);
+    }
+
+    @Test
+    void rejectsIdentitiesSignedWithAnotherSecret() {
+        String header = codec("fedcba9876543210fedcba9876543210").encode("alice", "CUSTOMER", inOneHour);
+
+        assertThatThrownBy(() -> codec.decode(header)).isInstanceOf(InvalidEdgeIdentityException.class);
+    }
+
+    @Test
+    void rejectsExpiredIdentities() {
+        String header = codec.encode("alice", "CUSTOMER", System.currentTimeMillis() / 1000 - 1);
+
+        assertThatThrownBy(() -> codec.decode(header))
+                .isInstanceOf(InvalidEdgeIdentityException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "no-dots", ".signature", "a.b.c.%%%", "a.b.c.d.e"})
+    void rejectsMalformedHeaders(String header) {
+        assertThatThrownBy(() -> codec.decode(header)).isInstanceOf(InvalidEdgeIdentityException.class);
+    }
+
+    @Test
+    void refusesSecretsShorterThan32Bytes() {
+        assertThatThrownBy(() -> codec("too-short"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("32 bytes");
+    }
+
+    @Test
+    void isDisabledWithoutSecret() {
+        EdgeIdentityCodec disabled = codec("");
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThatThrownBy(() -> disabled.encode("alice", "CUSTOMER", inOneHour)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> disabled.decode(codec.encode("alice", "CUSTOMER", inOneHour)))
+                .isInstanceOf(InvalidEdgeIdentityException.class);
+    }
+
+    private static EdgeIdentityCodec codec(String secret) {
+        var properties = new TokenValidatorProperties();
+        properties.getEdgeIdentity().setSecret(secret);
+        return new EdgeIdentityCodec(properties);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
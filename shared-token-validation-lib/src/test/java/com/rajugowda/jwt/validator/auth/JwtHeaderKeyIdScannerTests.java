@@ -0,0 +1,96 @@
+package com.rajugowda.jwt.validator.auth;
+
+import com.rajugowda.jwt.validator.exceptions.InvalidJwtException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyIdentifierException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtHeaderKeyIdScannerTests {
+
+    private final JwtHeaderKeyIdScanner scanner = new JwtHeaderKeyIdScanner();
+
+    @Test
+    void extractsThePublicKeyId() {
+        assertThat(scanner.extractPublicKeyId(token("{\"alg\":\"RS256\",\"pubkid\":\"key-1\"}"))).isEqualTo("key-1");
+    }
+
+    @Test
+    void toleratesWhitespaceAroundTokens() {
+        String header = "{ \"alg\" : \"RS256\" ,\n\t\"pubkid\" :\r\n \"key-1\" }";
+        assertThat(scanner.extractPublicKeyId(token(header))).isEqualTo("key-1");
+    }
+
+    @Test
+    void doesNotConfuseKidWithPubkid() {
+        assertThat(scanner.extractPublicKeyId(token("{\"kid\":\"other\",\"pubkid\":\"key-1\"}"))).isEqualTo("key-1");
+        assertThat(scanner.extractPublicKeyId(token("{\"pubkid\":\"key-1\",\"kid\":\"other\"}"))).isEqualTo("key-1");
+        assertThatThrownBy(() -> scanner.extractPublicKeyId(token("{\"kid\":\"other\"}")))
+                .isInstanceOf(InvalidPublicKeyIdentifierException.class);
+    }
+
+    @Test
+    void skipsEscapedQuotesInOtherValues() {
+        String header = "{\"x\":\"a\\\",\\\"pubkid\\\":\\\"forged\",\"pubkid\":\"key-1\"}";
+        assertThat(scanner.extractPublicKeyId(token(header))).isEqualTo("key-1");
+    }
+
+    @Test
+    void skipsNestedValues() {
+        String header = "{\"jwk\":{\"pubkid\":\"nested\",\"a\":[1,{\"b\":\"}\"}]},\"n\":12,\"t\":true,\"pubkid\":\"key-1\"}";
+        assertThat(scanner.extractPublicKeyId(token(header))).isEqualTo("key-1");
+    }
+
+    @Test
+    void unescapesNamesAndValues() {
+        assertThat(scanner.extractPublicKeyId(token("{\"pub\\u006bid\":\"key\\\"1\\/2\"}"))).isEqualTo("key\"1/2");
+    }
+
+    @Test
+    void servesRepeatHeadersFromTheCache() {
+        String token = token("{\"pubkid\":\"key-1\"}");
+        assertThat(scanner.extractPublicKeyId(token)).isEqualTo("key-1");
+        assertThat(scanner.extractPublicKeyId(token)).isEqualTo("key-1");
+        assertThat(scanner.extractPublicKeyId(token("{\"pubkid\":\"key-2\"}"))).isEqualTo("key-2");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "{\"alg\":\"RS256\"}", "{\"pubkid\":\"\"}", "{\"pubkid\":42}", "{\"pubkid\":null}"})
+    void rejectsHeadersWithoutAPublicKeyId(String header) {
+        assertThatThrownBy(() -> scanner.extractPublicKeyId(token(header)))
+                .isInstanceOf(InvalidPublicKeyIdentifierException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "[]", "{\"alg\"", "{\"alg\":\"RS256\"", "{\"alg\":\"RS256\" \"pubkid\":\"k\"}", "{\"pubkid\":\"k"})
+    void rejectsMalformedJson(String header) {
+        assertThatThrownBy(() -> scanner.extractPublicKeyId(token(header)))
+                .isInstanceOf(InvalidJwtException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"e%30.payload.signature", "eyJ*.payload.signature", "a.payload.signature"})
+    void rejectsMalformedBase64Url(String token) {
+        assertThatThrownBy(() -> scanner.extractPublicKeyId(token))
+                .isInstanceOf(InvalidPublicKeyException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"no-dots", ".payload.signature"})
+    void rejectsTokensWithoutAHeader(String token) {
+        assertThatThrownBy(() -> scanner.extractPublicKeyId(token))
+                .isInstanceOf(InvalidJwtException.class);
+    }
+
+    private static String token(String headerJson) {
+        String header = Base64.getUrlEncoder().withoutPadding().encodeToString(headerJson.getBytes(StandardCharsets.UTF_8));
+        return header + ".payload.signature";
+    }
+}
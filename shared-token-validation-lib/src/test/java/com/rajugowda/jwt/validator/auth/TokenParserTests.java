@@ -0,0 +1,101 @@
+package com.rajugowda.jwt.validator.auth;
+
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.auth.cache.VerifiedTokenCache;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.exceptions.InvalidJwtException;
+import com.rajugowda.jwt.validator.exceptions.InvalidPublicKeyMetaDataException;
+import com.rajugowda.jwt.validator.exceptions.RejectedTokenException;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import com.rajugowda.jwt.validator.secret.Vault;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenParserTests {
+
+    private static final KeyPair KEY_PAIR = generateKeyPair();
+    private static final KeyPair OTHER_KEY_PAIR = generateKeyPair();
+
+    private final TokenValidatorProperties properties = new TokenValidatorProperties();
+    private final RejectionCache rejectionCache = new RejectionCache(properties);
+
+    /** The key source knows no key until it is pushed to the vault. */
+    private final Vault vault = new Vault(keyId -> null, rejectionCache, properties);
+    private final TokenParser tokenParser =
+            new TokenParser(vault, new VerifiedTokenCache(properties), rejectionCache, new JwtHeaderKeyIdScanner());
+
+    @Test
+    void tokenRejectedForAnUnknownKeyIsAcceptedOnceTheKeyIsInstalled() {
+        String token = token("key-1", KEY_PAIR);
+        assertThatThrownBy(() -> tokenParser.parseToken(token)).isInstanceOf(InvalidPublicKeyMetaDataException.class);
+        // Refused by key id, without reaching the key source again
+        assertThatThrownBy(() -> tokenParser.parseToken(token)).isInstanceOf(InvalidPublicKeyMetaDataException.class);
+        assertThat(rejectionCache.getTokenRejectionCount()).isZero();
+
+        vault.install(metaData("key-1"));
+
+        assertThat(tokenParser.parseToken(token).get(ClaimNames.USERNAME, String.class)).isEqualTo("alice");
+    }
+
+    @Test
+    void tokenRejectedForAnUnknownKeyIsAcceptedAsynchronouslyOnceTheKeyIsInstalled() {
+        String token = token("key-1", KEY_PAIR);
+        assertThatThrownBy(() -> tokenParser.parseTokenAsync(token).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InvalidPublicKeyMetaDataException.class);
+
+        vault.install(metaData("key-1"));
+
+        assertThat(tokenParser.parseTokenAsync(token).join().get(ClaimNames.USERNAME, String.class)).isEqualTo("alice");
+    }
+
+    @Test
+    void tokenWithAnInvalidSignatureIsRefusedFromTheNegativeCache() {
+        vault.install(metaData("key-1"));
+        String forged = token("key-1", OTHER_KEY_PAIR);
+
+        assertThatThrownBy(() -> tokenParser.parseToken(forged)).isInstanceOf(InvalidJwtException.class);
+        assertThatThrownBy(() -> tokenParser.parseToken(forged)).isInstanceOf(RejectedTokenException.class);
+    }
+
+    private static PublicKeyMetaData metaData(String keyId) {
+        return PublicKeyMetaData.builder()
+                .id(keyId)
+                .generateAt(System.currentTimeMillis())
+                .publicKey(Base64.getEncoder().encodeToString(KEY_PAIR.getPublic().getEncoded()))
+                .build();
+    }
+
+    private static String token(String keyId, KeyPair keyPair) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setHeaderParam(ClaimNames.PUB_KEY_ID, keyId)
+                .claim(ClaimNames.USERNAME, "alice")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(300)))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.rajugowda.jwt.validator.auth.cache;
+
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedTokenCacheTests {
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(new TokenValidatorProperties());
+
+    @Test
+    void cachedClaimsAreReadOnly() {
+        Claims claims = Jwts.claims();
+        claims.setSubject("alice");
+        claims.put("role", "USER");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        cache.put("digest", claims);
+
+        Claims cached = cache.get("digest");
+
+        assertThat(cached.getSubject()).isEqualTo("alice");
+        assertThat(cached.get("role", String.class)).isEqualTo("USER");
+        assertThatThrownBy(() -> cached.put("role", "ADMIN")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> cached.setSubject("mallory")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> cached.entrySet().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> cached.remove("role")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void returnedDatesDoNotExposeTheCachedInstance() {
+        Claims claims = Jwts.claims();
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        claims.setExpiration(expiration);
+        cache.put("digest", claims);
+
+        cache.get("digest").getExpiration().setTime(0);
+
+        assertThat(cache.get("digest").getExpiration()).isEqualTo(new Date(expiration.getTime() / 1000 * 1000));
+    }
+
+    @Test
+    void expiredTokensAreNotServed() {
+        Claims claims = Jwts.claims();
+        claims.setExpiration(new Date(System.currentTimeMillis() - 1_000));
+        cache.put("digest", claims);
+
+        assertThat(cache.get("digest")).isNull();
+    }
+}
@@ -0,0 +1,30 @@
+package com.rajugowda.jwt.validator.distribution;
+
+import com.rajugowda.jwt.validator.contracts.PublicKeyChannel;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A {@link PublicKeyChannel} that delivers published keys synchronously to subscribers within the same JVM.
+ * It stands in for the message broker in tests.
+ */
+@Slf4j
+public class InProcessPublicKeyChannel implements PublicKeyChannel {
+
+    private final List<Consumer<PublicKeyMetaData>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(PublicKeyMetaData metaData) {
+        log.debug("Delivering public key {} to {} in-process subscriber(s).", metaData.getId(), subscribers.size());
+        subscribers.forEach(subscriber -> subscriber.accept(metaData));
+    }
+
+    @Override
+    public void subscribe(Consumer<PublicKeyMetaData> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
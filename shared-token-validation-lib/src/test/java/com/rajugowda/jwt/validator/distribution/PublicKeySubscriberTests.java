@@ -0,0 +1,86 @@
+package com.rajugowda.jwt.validator.distribution;
+
+import com.rajugowda.jwt.validator.auth.cache.RejectionCache;
+import com.rajugowda.jwt.validator.config.TokenValidatorProperties;
+import com.rajugowda.jwt.validator.contracts.PublicKeyChannel;
+import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
+import com.rajugowda.jwt.validator.secret.Vault;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublicKeySubscriberTests {
+
+    private final TokenValidatorProperties properties = new TokenValidatorProperties();
+    private final AtomicInteger poolLookups = new AtomicInteger();
+    private final Vault vault = new Vault(keyId -> {
+        poolLookups.incrementAndGet();
+        return null;
+    }, new RejectionCache(properties), properties);
+    private final InProcessPublicKeyChannel channel = new InProcessPublicKeyChannel();
+
+    @Test
+    void publishedKeysAreInstalledWithoutPoolLookup() throws Exception {
+        subscriber().subscribe();
+
+        KeyPair keyPair = generateKeyPair();
+        channel.publish(metaData("key-1", keyPair));
+
+        String token = Jwts.builder()
+                .setSubject("alice")
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        assertThat(vault.getParser("key-1").parseClaimsJws(token).getBody().getSubject()).isEqualTo("alice");
+        assertThat(poolLookups).hasValue(0);
+    }
+
+    @Test
+    void invalidKeysAreIgnored() {
+        subscriber().subscribe();
+
+        channel.publish(PublicKeyMetaData.builder().id("key-1").build());
+
+        assertThatThrownBy(() -> vault.getParser("key-1")).isInstanceOf(RuntimeException.class);
+        assertThat(poolLookups).hasValue(1);
+    }
+
+    @Test
+    void doesNotSubscribeWhenDistributionIsDisabled() throws Exception {
+        properties.getKeyDistribution().setEnabled(false);
+        subscriber().subscribe();
+
+        channel.publish(metaData("key-1", generateKeyPair()));
+
+        assertThatThrownBy(() -> vault.getParser("key-1")).isInstanceOf(RuntimeException.class);
+        assertThat(poolLookups).hasValue(1);
+    }
+
+    private PublicKeySubscriber subscriber() {
+        var beanFactory = new StaticListableBeanFactory(Map.of("publicKeyChannel", channel));
+        return new PublicKeySubscriber(vault, beanFactory.getBeanProvider(PublicKeyChannel.class), properties);
+    }
+
+    private static PublicKeyMetaData metaData(String keyId, KeyPair keyPair) {
+        return PublicKeyMetaData.builder()
+                .id(keyId)
+                .generateAt(System.currentTimeMillis())
+                .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                .build();
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
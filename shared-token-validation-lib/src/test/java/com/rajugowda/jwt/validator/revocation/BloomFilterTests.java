@@ -0,0 +1,112 @@
+package com.rajugowda.jwt.validator.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTests {
+
+    @Test
+    void neverReportsAFalseNegative() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("jti:" + i);
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("jti:" + i)).as("jti:%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertThat(filter.mightContain("jti:1")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredProbability() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("sub:user-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("sub:other-" + i)) falsePositives++;
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void serializedFilterAnswersTheSame() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.001);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("jti:" + i);
+        }
+
+        BloomFilter copy = BloomFilter.fromBytes(filter.toBytes());
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(copy.mightContain("jti:" + i)).isTrue();
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(copy.mightContain("sub:" + i)).isEqualTo(filter.mightContain("sub:" + i));
+        }
+        assertThat(copy.toBytes()).isEqualTo(filter.toBytes());
+    }
+
+    @Test
+    void concurrentPutsAreAllRetained() throws InterruptedException {
+        BloomFilter filter = BloomFilter.create(40_000, 0.01);
+        int threads = 8;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        filter.put("jti:" + (offset + i));
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < threads * perThread; i++) {
+            if (!filter.mightContain("jti:" + i)) missing.add("jti:" + i);
+        }
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    void rejectsBytesThatAreNotAFilter() {
+        assertThatThrownBy(() -> BloomFilter.fromBytes(new byte[3])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.fromBytes(new byte[Integer.BYTES + 5])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.fromBytes(new byte[Integer.BYTES + Long.BYTES]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,158 @@
+package com.rajugowda.jwt.validator.revocation;
+
+import com.rajugowda.jwt.validator.contracts.RevocationStore;
+import com.rajugowda.jwt.validator.util.ClaimNames;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationListTests {
+
+    private static final long REVOKED_AT = 1_700_000_000_500L;
+
+    private final StubRevocationStore store = new StubRevocationStore();
+    private RevocationList revocationList;
+
+    @AfterEach
+    void stop() {
+        if (revocationList != null) revocationList.stop();
+    }
+
+    @Test
+    void subjectRevocationComparesAtSecondGranularity() {
+        RevocationEntry entry = RevocationEntry.subject("alice", REVOKED_AT, Long.MAX_VALUE);
+
+        assertThat(entry.revokes(1_699_999_999_000L)).isTrue();
+        // iat of a token issued in the same second, before or after the revocation
+        assertThat(entry.revokes(1_700_000_000_000L)).isFalse();
+        assertThat(entry.revokes(1_700_000_001_000L)).isFalse();
+        assertThat(RevocationEntry.token("jti-1", REVOKED_AT, Long.MAX_VALUE).revokes(1_700_000_001_000L)).isTrue();
+    }
+
+    @Test
+    void resolvesASubjectRevocationFromTheStoreOncePerRefresh() {
+        store.add(RevocationEntry.subject("alice", REVOKED_AT, Long.MAX_VALUE));
+        revocationList = start();
+
+        assertThat(revocationList.isRevoked(claims("jti-1", "alice", 1_699_999_000_000L))).isTrue();
+        assertThat(revocationList.isRevoked(claims("jti-2", "alice", 1_700_000_100_000L))).isFalse();
+        assertThat(revocationList.isRevoked(claims("jti-3", "alice", 1_700_000_200_000L))).isFalse();
+        assertThat(revocationList.isRevoked(claims("jti-4", "alice", 1_699_999_500_000L))).isTrue();
+        assertThat(store.finds.get()).isEqualTo(1);
+
+        revocationList.refresh();
+
+        assertThat(revocationList.isRevoked(claims("jti-5", "alice", 1_700_000_300_000L))).isFalse();
+        assertThat(store.finds.get()).isEqualTo(2);
+    }
+
+    @Test
+    void tokensOfOtherUsersNeverReachTheStore() {
+        store.add(RevocationEntry.subject("alice", REVOKED_AT, Long.MAX_VALUE));
+        revocationList = start();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(revocationList.isRevoked(claims("jti-" + i, "bob-" + i, 1_700_000_100_000L))).isFalse();
+        }
+        assertThat(store.finds.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void broadcastSubjectRevocationIsDecidedInProcess() {
+        revocationList = start();
+
+        store.broadcast(RevocationEntry.subject("alice", REVOKED_AT, Long.MAX_VALUE));
+
+        assertThat(revocationList.isRevoked(claims("jti-1", "alice", 1_699_999_000_000L))).isTrue();
+        assertThat(revocationList.isRevoked(claims("jti-2", "alice", 1_700_000_100_000L))).isFalse();
+        assertThat(store.finds.get()).isZero();
+    }
+
+    @Test
+    void revokedTokenIdIsConfirmedByTheStore() {
+        store.add(RevocationEntry.token("jti-1", REVOKED_AT, Long.MAX_VALUE));
+        revocationList = start();
+
+        assertThat(revocationList.isRevoked(claims("jti-1", "alice", 1_700_000_100_000L))).isTrue();
+        assertThat(revocationList.isRevoked(claims("jti-2", "alice", 1_700_000_100_000L))).isFalse();
+    }
+
+    private RevocationList start() {
+        var list = new RevocationList(store, Duration.ofHours(1));
+        list.start();
+        return list;
+    }
+
+    private static Claims claims(String tokenId, String username, long issuedAt) {
+        Claims claims = Jwts.claims();
+        claims.setId(tokenId);
+        claims.put(ClaimNames.USERNAME, username);
+        claims.setIssuedAt(new Date(issuedAt));
+        return claims;
+    }
+
+    private static final class StubRevocationStore implements RevocationStore {
+        private final Map<String, RevocationEntry> entries = new ConcurrentHashMap<>();
+        private final List<Consumer<RevocationEntry>> subscribers = new ArrayList<>();
+        private final AtomicInteger finds = new AtomicInteger();
+
+        void add(RevocationEntry entry) {
+            entries.put(entry.key(), entry);
+        }
+
+        void broadcast(RevocationEntry entry) {
+            add(entry);
+            subscribers.forEach(subscriber -> subscriber.accept(entry));
+        }
+
+        @Override
+        public void revoke(RevocationEntry entry) {
+            broadcast(entry);
+        }
+
+        @Override
+        public RevocationSnapshot rebuildSnapshot() {
+            BloomFilter filter = BloomFilter.create(1_024, 0.001);
+            entries.keySet().forEach(filter::put);
+            return new RevocationSnapshot("v" + entries.size(), System.currentTimeMillis(), entries.size(),
+                    Base64.getEncoder().encodeToString(filter.toBytes()));
+        }
+
+        @Override
+        public RevocationSnapshot loadSnapshot(String knownVersion) {
+            RevocationSnapshot snapshot = rebuildSnapshot();
+            return snapshot.version().equals(knownVersion) ? null : snapshot;
+        }
+
+        @Override
+        public List<RevocationEntry> find(String tokenId, String subject) {
+            finds.incrementAndGet();
+            List<RevocationEntry> found = new ArrayList<>();
+            if (tokenId != null && entries.containsKey(RevocationEntry.Type.TOKEN.key(tokenId))) {
+                found.add(entries.get(RevocationEntry.Type.TOKEN.key(tokenId)));
+            }
+            if (subject != null && entries.containsKey(RevocationEntry.Type.SUBJECT.key(subject))) {
+                found.add(entries.get(RevocationEntry.Type.SUBJECT.key(subject)));
+            }
+            return found;
+        }
+
+        @Override
+        public void subscribe(Consumer<RevocationEntry> subscriber) {
+            subscribers.add(subscriber);
+        }
+    }
+}
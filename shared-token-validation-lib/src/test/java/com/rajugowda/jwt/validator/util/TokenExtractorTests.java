@@ -0,0 +1,114 @@
+package com.rajugowda.jwt.validator.util;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenExtractorTests {
+
+    @Test
+    void findsCookieAnywhereInTheHeader() {
+        assertThat(TokenExtractor.findCookie("at=token", "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie("theme=dark; at=token", "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie("theme=dark;at=token;lang=en", "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie("theme=dark;  \tat=token  ; lang=en", "at")).isEqualTo("token");
+    }
+
+    @Test
+    void doesNotMatchCookiesWhoseNameContainsTheName() {
+        assertThat(TokenExtractor.findCookie("xat=other", "at")).isNull();
+        assertThat(TokenExtractor.findCookie("xat=other; at=token", "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie("att=other; at=token", "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie("at_x=other", "at")).isNull();
+        assertThat(TokenExtractor.findCookie("AT=other", "at")).isNull();
+    }
+
+    @Test
+    void doesNotMatchTheNameInsideAValue() {
+        assertThat(TokenExtractor.findCookie("theme=at=token", "at")).isNull();
+        assertThat(TokenExtractor.findCookie("theme=x;at=token", "at")).isEqualTo("token");
+    }
+
+    @Test
+    void stripsQuotesAroundTheValue() {
+        assertThat(TokenExtractor.findCookie("at=\"token\"", "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie("theme=dark; at=\"token\" ; lang=en", "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie("at=\"", "at")).isEqualTo("\"");
+        assertThat(TokenExtractor.findCookie("at=\"\"", "at")).isNull();
+    }
+
+    @Test
+    void emptyOrMissingValuesAreAbsent() {
+        assertThat(TokenExtractor.findCookie("", "at")).isNull();
+        assertThat(TokenExtractor.findCookie("at=", "at")).isNull();
+        assertThat(TokenExtractor.findCookie("at=; rt=refresh", "at")).isNull();
+        assertThat(TokenExtractor.findCookie("at", "at")).isNull();
+        assertThat(TokenExtractor.findCookie("theme=dark;", "at")).isNull();
+    }
+
+    @Test
+    void searchesEveryCookieHeader() {
+        assertThat(TokenExtractor.findCookie(List.of("theme=dark", "lang=en; at=token"), "at")).isEqualTo("token");
+        assertThat(TokenExtractor.findCookie(List.of("at=first", "at=second"), "at")).isEqualTo("first");
+        assertThat(TokenExtractor.findCookie(Arrays.asList("theme=dark", "lang=en"), "at")).isNull();
+        assertThat(TokenExtractor.findCookie((List<String>) null, "at")).isNull();
+    }
+
+    @Test
+    void readsTheCookieFromAnyCookieHeaderOfTheRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(TokenExtractor.COOKIE, "theme=dark");
+        request.addHeader(TokenExtractor.COOKIE, "xat=other; at=token");
+
+        assertThat(TokenExtractor.cookie(request, "at")).isEqualTo("token");
+        assertThat(TokenExtractor.cookie(request, "rt")).isNull();
+    }
+
+    @Test
+    void fallsBackToTheParsedCookies() {
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public String getHeader(String name) {
+                return TokenExtractor.COOKIE.equalsIgnoreCase(name) ? null : super.getHeader(name);
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return TokenExtractor.COOKIE.equalsIgnoreCase(name)
+                        ? Collections.emptyEnumeration()
+                        : super.getHeaders(name);
+            }
+        };
+        request.setCookies(new Cookie("theme", "dark"), new Cookie("at", "token"));
+
+        assertThat(TokenExtractor.cookie(request, "at")).isEqualTo("token");
+        assertThat(TokenExtractor.cookie(request, "rt")).isNull();
+    }
+
+    @Test
+    void bearerTokenTakesPrecedenceForAccessTokens() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(TokenExtractor.AUTHORIZATION, "Bearer bearer-token");
+        request.addHeader(TokenExtractor.COOKIE, "at=cookie-token; rt=refresh-token");
+
+        assertThat(TokenExtractor.extract(request, TokenType.ACCESS)).isEqualTo("bearer-token");
+        assertThat(TokenExtractor.extract(request, TokenType.REFRESH)).isEqualTo("refresh-token");
+    }
+
+    @Test
+    void parsesTheBearerScheme() {
+        assertThat(TokenExtractor.bearerToken("Bearer token")).isEqualTo("token");
+        assertThat(TokenExtractor.bearerToken("bearer token ")).isEqualTo("token");
+        assertThat(TokenExtractor.bearerToken("Bearer ")).isNull();
+        assertThat(TokenExtractor.bearerToken("Basic dXNlcjpwYXNz")).isNull();
+        assertThat(TokenExtractor.bearerToken("Bearertoken")).isNull();
+        assertThat(TokenExtractor.bearerToken(null)).isNull();
+    }
+}
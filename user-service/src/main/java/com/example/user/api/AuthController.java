@@ -7,11 +7,14 @@ import com.example.user.application.dto.AuthRecord;
 import com.example.user.application.dto.LoginRequest;
 import com.example.user.application.dto.RegistrationRequest;
 import com.example.user.application.dto.UserResponse;
+import com.example.user.security.service.TokenRevocationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,6 +28,7 @@ public class AuthController {
     private final LoginCredentialGenerator authenticateService;
     private final UserLoginServiceImpl userLoginService;
     private final UserRegistrationService userRegistrationService;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/register")
     public ResponseEntity<UserResponse> registerUser(@RequestBody @Valid RegistrationRequest request) {
@@ -38,4 +42,16 @@ public class AuthController {
         HttpHeaders headers = authenticateService.grantAccessAndRefreshTokenCookies(authRecord);
         return ResponseEntity.status(HttpStatus.OK).headers(headers).body(authRecord);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logoutUser(HttpServletRequest request) {
+        HttpHeaders headers = tokenRevocationService.revokeSession(request);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).headers(headers).build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutUserEverywhere(Authentication authentication, HttpServletRequest request) {
+        HttpHeaders headers = tokenRevocationService.revokeAllSessions(authentication.getName(), request);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).headers(headers).build();
+    }
 }
@@ -0,0 +1,91 @@
+package com.example.user.api;
+
+import com.example.user.security.jwt.secret.IssuerVault;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rajugowda.jwt.validator.jwks.JsonWebKey;
+import com.rajugowda.jwt.validator.jwks.JsonWebKeySet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Serves the active public keys of the {@link IssuerVault} as a JSON Web Key Set, so that validators can fetch
+ * them over HTTP instead of reading the shared key pool cache.
+ * <p>
+ * The document is serialized once per key set and reused until the key set changes. It is sent with an
+ * {@code ETag} derived from its content, so that conditional requests are answered with
+ * {@code 304 Not Modified} (by Spring MVC), and with a {@code Cache-Control: max-age} bounding how long
+ * validators and caches may reuse it. A key set served by another instance is byte-for-byte identical
+ * only if it holds the same keys, so the ETag stays correct behind a load balancer.
+ * </p>
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("${app.base-url}")
+public class JwksController {
+
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final IssuerVault issuerVault;
+    private final ObjectMapper objectMapper;
+    private volatile JwksDocument document;
+
+    @GetMapping(value = JWKS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getJsonWebKeySet() throws JsonProcessingException {
+        JwksDocument current = currentDocument();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CACHE_CONTROL)
+                .eTag(current.etag())
+                .body(current.body());
+    }
+
+    /**
+     * Returns the serialized key set, rebuilding it only when the keys of the vault have changed.
+     */
+    private JwksDocument currentDocument() throws JsonProcessingException {
+        var keys = Map.copyOf(issuerVault.getPublicKeyPool());
+        JwksDocument current = document;
+        if (current != null && current.keys().equals(keys)) {
+            return current;
+        }
+
+        var jwks = new JsonWebKeySet(keys.entrySet().stream()
+                .sorted(Comparator.comparing(Map.Entry::getKey))
+                .map(entry -> JsonWebKey.fromRsaPublicKey(
+                        entry.getKey(),
+                        (RSAPublicKey) entry.getValue().publicKey(),
+                        entry.getValue().generatedAt()))
+                .toList());
+        byte[] body = objectMapper.writeValueAsBytes(jwks);
+
+        current = new JwksDocument(keys, body, '"' + digest(body) + '"');
+        document = current;
+        return current;
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    private record JwksDocument(Map<String, IssuerVault.IssuedPublicKey> keys, byte[] body, String etag) {
+    }
+}
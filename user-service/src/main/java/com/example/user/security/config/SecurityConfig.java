@@ -1,5 +1,6 @@
 package com.example.user.security.config;
 
+import com.example.user.api.JwksController;
 import com.example.user.shared.config.Env;
 import com.rajugowda.jwt.validator.filters.FilterFactory;
 import com.rajugowda.jwt.validator.filters.JwtAuthFilter;
@@ -39,6 +40,7 @@ public class SecurityConfig {
                         .requestMatchers(
                                 env.getBaseUrl() + "/login",
                                 env.getBaseUrl() + "/register",
+                                env.getBaseUrl() + JwksController.JWKS_PATH,
                                 "/actuator/**").permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
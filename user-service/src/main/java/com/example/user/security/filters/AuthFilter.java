@@ -20,7 +20,7 @@ public class AuthFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         log.info("AuthFilter is processing request: {}", request.getRequestURI());
-        String token = filterHelper.getTokenFromRequestCookies(TokenType.ACCESS, request.getCookies());
+        String token = filterHelper.getToken(TokenType.ACCESS, request);
 
         if (token != null) {
             log.info("Access token found");
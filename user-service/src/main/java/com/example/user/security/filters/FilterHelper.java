@@ -4,8 +4,8 @@ import com.example.user.domain.model.UserRole;
 import com.example.user.security.jwt.TokenType;
 import com.rajugowda.jwt.validator.auth.TokenParser;
 import com.rajugowda.jwt.validator.util.ClaimNames;
+import com.rajugowda.jwt.validator.util.TokenExtractor;
 import io.jsonwebtoken.Claims;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -23,24 +23,25 @@ public class FilterHelper {
     private final TokenParser tokenParser;
 
     /**
-     * Gets the access token from the request cookies.
-     * <p>
-     * The method iterates through the request cookies and checks if the cookie name matches the token type. If a match is found, the cookie value is returned.
+     * Gets the token of the given type from the request.
      * <p>
+     * An access token may be sent in the {@code Authorization} header using the bearer scheme, which takes precedence
+     * over the cookie. Otherwise, the cookie named after the token type is looked up directly in the raw
+     * {@code Cookie} header, without parsing the other cookies of the request.
+     * </p>
      *
      * @param tokenType the type of token to retrieve.
-     * @param cookies   the request cookies.
+     * @param request   the incoming request.
      * @return the token if found, otherwise null.
      */
-    public String getTokenFromRequestCookies(TokenType tokenType, Cookie[] cookies) {
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals(tokenType.type())) {
-                    return cookie.getValue();
-                }
+    public String getToken(TokenType tokenType, HttpServletRequest request) {
+        if (tokenType == TokenType.ACCESS) {
+            String bearer = TokenExtractor.bearerToken(request.getHeader(TokenExtractor.AUTHORIZATION));
+            if (bearer != null) {
+                return bearer;
             }
         }
-        return null;
+        return TokenExtractor.cookie(request, tokenType.type());
     }
 
     /**
@@ -10,11 +10,13 @@ import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * TokenGenerator is a Spring-managed bean responsible for generating JWT access and refresh tokens.
  * <p>
  * It uses RSA (RS256) for signing tokens and leverages configuration properties for token validity.
+ * Every token gets a unique id ({@code jti}), by which it can be revoked before it expires.
  * </p>
  */
 @Component
@@ -38,6 +40,7 @@ public class TokenGenerator {
             String token = Jwts.builder()
                     .setHeaderParam(ClaimNames.PUB_KEY_ID, issuerVault.getCurrentPublicKeyId())
                     .setClaims(claims)
+                    .setId(UUID.randomUUID().toString())
                     .setIssuedAt(issuedAt)
                     .setExpiration(expiration)
                     .signWith(issuerVault.getPrivateKey(), SignatureAlgorithm.RS256)
@@ -10,13 +10,17 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * InMemory Repository for storing Private and Public Keys.
+ * <p>
+ * The public key pool holds every key this instance has signed with that can still verify a valid token,
+ * and is served to validators through the JWKS endpoint.
+ * </p>
  */
 @Component
 @Getter
 public class IssuerVault {
     private PrivateKey privateKey;
     private String currentPublicKeyId;
-    private final Map<String, PublicKey> publicKeyPool = new ConcurrentHashMap<>();
+    private final Map<String, IssuedPublicKey> publicKeyPool = new ConcurrentHashMap<>();
 
     public void setNewPrivateKey(PrivateKey privateKey, String correspondingPublicKeyId) {
         this.privateKey = privateKey;
@@ -26,5 +30,20 @@ public class IssuerVault {
     public void currentPublicKeyIdentifier(String keyId) {
         this.currentPublicKeyId = keyId;
     }
-}
 
+    public void addPublicKey(String keyId, PublicKey publicKey, long generatedAt) {
+        publicKeyPool.put(keyId, new IssuedPublicKey(publicKey, generatedAt));
+    }
+
+    /**
+     * Removes the public keys generated before the given time, i.e. keys that can no longer have signed a valid token.
+     *
+     * @param cutoff the epoch millis before which keys are removed
+     */
+    public void retirePublicKeysGeneratedBefore(long cutoff) {
+        publicKeyPool.values().removeIf(issued -> issued.generatedAt() < cutoff);
+    }
+
+    public record IssuedPublicKey(PublicKey publicKey, long generatedAt) {
+    }
+}
@@ -2,10 +2,13 @@ package com.example.user.security.jwt.secret;
 
 import java.security.*;
 
+import com.example.user.shared.config.Env;
+import com.rajugowda.jwt.validator.contracts.PublicKeyChannel;
 import com.rajugowda.jwt.validator.secret.PublicKeyMetaData;
 import com.rajugowda.jwt.validator.util.CacheName;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -21,6 +24,8 @@ public class SecretManager {
 
     private final IssuerVault issuerVault;
     private final CacheManager cacheManager;
+    private final ObjectProvider<PublicKeyChannel> publicKeyChannel;
+    private final Env env;
 
     /**
      * Scheduled method that generates a new RSA key pair, updates the IssuerVault with the new private key,
@@ -36,25 +41,35 @@ public class SecretManager {
         PublicKey publicKey = keyPair.getPublic();
         String publicKeyString = encodePublicKey(publicKey);
         String key = UUID.randomUUID().toString();
+        long generatedAt = System.currentTimeMillis();
 
         // Cache the public key and the key id in the cache.
-        publishPublicKey(key, publicKeyString);
+        publishPublicKey(key, publicKeyString, generatedAt);
 
         // Store the public key along with the key id in the publicKeyPool.
+        issuerVault.addPublicKey(key, publicKey, generatedAt);
         issuerVault.setNewPrivateKey(keyPair.getPrivate(), key);
         issuerVault.currentPublicKeyIdentifier(key);
+
+        // Drop the keys whose tokens have all expired: a key signs for one rotation interval,
+        // and the longest-lived token it signed stays valid for the refresh validity after that.
+        long retention = env.getSecurity().getSecretRotateIntervalMillis()
+                + env.getSecurity().getTokenValidity().getRefreshValidity() * 1000;
+        issuerVault.retirePublicKeysGeneratedBefore(generatedAt - retention);
     }
 
     /**
      * Publishes the given public key string (Base64-encoded) into the PUBLIC_KEY_POOL cache
      * with an assigned key ID and the time at which it was generated.
+     * The metadata is also broadcast on the {@link PublicKeyChannel}, so that validators install the key
+     * before receiving any token signed with it, instead of looking it up on their first request.
      *
      * @param keyId           a unique identifier for the public key
      * @param publicKeyString Base64-encoded public key string
+     * @param generatedAt     the time at which the key was generated, in epoch millis
      */
-    private void publishPublicKey(String keyId, String publicKeyString) {
+    private void publishPublicKey(String keyId, String publicKeyString, long generatedAt) {
         log.info("Publishing new Public Key: {}", keyId);
-        Long generatedAt = System.currentTimeMillis();
 
         PublicKeyMetaData publicKeyMetaData = PublicKeyMetaData.builder()
                 .id(keyId)
@@ -70,6 +85,8 @@ public class SecretManager {
         else {
             log.error("Failed to publish new Public Key, Cache: {} not found.", CacheName.PUBLIC_KEY_POOL);
         }
+
+        publicKeyChannel.ifAvailable(channel -> channel.publish(publicKeyMetaData));
     }
 
     /**
@@ -0,0 +1,121 @@
+package com.example.user.security.service;
+
+import com.example.user.security.filters.FilterHelper;
+import com.example.user.security.jwt.TokenType;
+import com.example.user.shared.config.Env;
+import com.rajugowda.jwt.validator.auth.TokenParser;
+import com.rajugowda.jwt.validator.contracts.RevocationStore;
+import com.rajugowda.jwt.validator.revocation.RevocationEntry;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Revokes issued tokens ahead of their expiry, through the shared {@link RevocationStore}.
+ * <p>
+ * Revocations are broadcast to every validator as they are made. The compact snapshot of the whole revocation
+ * set, which validators load at startup and poll for changes, is rebuilt on a fixed schedule.
+ * </p>
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final Env env;
+    private final TokenParser tokenParser;
+    private final FilterHelper filterHelper;
+    private final CookieGenerator cookieGenerator;
+    private final ObjectProvider<RevocationStore> revocationStore;
+
+    /**
+     * Revokes the access and refresh tokens carried by the request.
+     *
+     * @param request the incoming request
+     * @return HttpHeaders clearing the token cookies
+     */
+    public HttpHeaders revokeSession(HttpServletRequest request) {
+        revokeToken(TokenType.ACCESS, request);
+        revokeToken(TokenType.REFRESH, request);
+        return clearTokenCookies();
+    }
+
+    /**
+     * Revokes every token issued to the user so far, on all devices.
+     * <p>
+     * The subject revocation covers the tokens issued before the current second (see
+     * {@link RevocationEntry#revokes(long)}); the tokens carried by the request are revoked by their id as well,
+     * in case they were issued within that second.
+     * </p>
+     *
+     * @param username the user whose tokens are revoked
+     * @param request  the incoming request
+     * @return HttpHeaders clearing the token cookies
+     */
+    public HttpHeaders revokeAllSessions(String username, HttpServletRequest request) {
+        long now = System.currentTimeMillis();
+        long refreshValidityMillis = env.getSecurity().getTokenValidity().getRefreshValidity() * 1000;
+        store().revoke(RevocationEntry.subject(username, now, now + refreshValidityMillis));
+        revokeToken(TokenType.ACCESS, request);
+        revokeToken(TokenType.REFRESH, request);
+        log.info("Revoked all tokens of user: {}", username);
+        return clearTokenCookies();
+    }
+
+    /**
+     * Rebuilds the revocation snapshot from the current revocation set, dropping the expired revocations.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.security.revocation-snapshot-interval-millis}")
+    public void publishRevocationSnapshot() {
+        var store = revocationStore.getIfAvailable();
+        if (store == null) {
+            return;
+        }
+
+        try {
+            store.rebuildSnapshot();
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild the revocation snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void revokeToken(TokenType tokenType, HttpServletRequest request) {
+        String token = filterHelper.getToken(tokenType, request);
+        if (token == null) {
+            return;
+        }
+
+        Claims claims;
+        try {
+            claims = tokenParser.parseToken(token);
+        } catch (RuntimeException e) {
+            log.debug("No valid {} token to revoke: {}", tokenType, e.getMessage());
+            return;
+        }
+
+        if (claims.getId() == null) {
+            log.warn("Cannot revoke a {} token issued without an id.", tokenType);
+            return;
+        }
+
+        store().revoke(RevocationEntry.token(claims.getId(), System.currentTimeMillis(), claims.getExpiration().getTime()));
+    }
+
+    private RevocationStore store() {
+        return revocationStore.getIfAvailable(() -> {
+            throw new IllegalStateException("Token revocation requires a RevocationStore");
+        });
+    }
+
+    private HttpHeaders clearTokenCookies() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, cookieGenerator.generateCookie(TokenType.ACCESS.type(), "", 0));
+        headers.add(HttpHeaders.SET_COOKIE, cookieGenerator.generateCookie(TokenType.REFRESH.type(), "", 0));
+        return headers;
+    }
+}
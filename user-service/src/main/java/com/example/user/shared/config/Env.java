@@ -17,6 +17,7 @@ public class Env {
     @Setter
     public static class Security {
         private Long secretRotateIntervalMillis;
+        private Long revocationSnapshotIntervalMillis;
         private TokenValidity tokenValidity;
         private Cookie cookie;
 